@@ -0,0 +1,56 @@
+package com.apiwatcher.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import com.apiwatcher.shared.http.LeaseTimingConnectionManager;
+
+/**
+ * Cliente HTTP compartilhado pelos testes de cadastro e pelos health checks.
+ * 
+ * Sem timeout, um alvo lento prende a thread (e o que ela estiver segurando)
+ * indefinidamente. O pool é dimensionado por http.client (o padrão do
+ * HttpClient, 25 no total e 5 por alvo, enfileira health checks e amostras
+ * de latência do mesmo host); a espera por conexão é medida à parte
+ * (LeaseTimingConnectionManager) para não contaminar as amostras.
+ */
+@Configuration
+public class HttpClientConfig {
+
+  @Bean
+  public CloseableHttpClient httpClient(HttpClientProperties properties) {
+    ConnectionConfig connectionConfig = ConnectionConfig.custom()
+        .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+        .setSocketTimeout(Timeout.of(properties.readTimeout()))
+        .build();
+    RequestConfig requestConfig = RequestConfig.custom()
+        .setConnectionRequestTimeout(Timeout.of(properties.connectionRequestTimeout()))
+        .setResponseTimeout(Timeout.of(properties.readTimeout()))
+        .build();
+
+    return HttpClients.custom()
+        .setConnectionManager(new LeaseTimingConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.maxTotal())
+            .setMaxConnPerRoute(properties.maxPerRoute())
+            .setDefaultConnectionConfig(connectionConfig)
+            .build()))
+        .setDefaultRequestConfig(requestConfig)
+        .build();
+  }
+
+  @Bean
+  public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+    return builder
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+        .build();
+  }
+}
@@ -0,0 +1,23 @@
+package com.apiwatcher.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Timeouts e pool de conexões do cliente HTTP usado nos testes e health
+ * checks.
+ *
+ * @param maxTotal                 conexões abertas no total
+ * @param maxPerRoute              conexões por alvo (scheme://host:porta)
+ * @param connectionRequestTimeout espera máxima por uma conexão livre do pool
+ */
+@ConfigurationProperties(prefix = "http.client")
+public record HttpClientProperties(
+    @DefaultValue("2s") Duration connectTimeout,
+    @DefaultValue("10s") Duration readTimeout,
+    @DefaultValue("200") int maxTotal,
+    @DefaultValue("20") int maxPerRoute,
+    @DefaultValue("5s") Duration connectionRequestTimeout) {
+}
@@ -15,6 +15,9 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
+import com.apiwatcher.monitoring.infrastructure.messaging.PollMetricsInterceptor;
+import com.apiwatcher.shared.metrics.PipelineMetrics;
+
 /**
  * Configuração do Kafka Consumer.
  * 
@@ -22,6 +25,7 @@ import org.springframework.kafka.support.serializer.JsonDeserializer;
  * - Deserialização de JSON para objetos Java
  * - Configuração de retry e error handling
  * - Group ID para coordenação de consumidores
+ * - Métrica de registros por poll (PollMetricsInterceptor)
  */
 @Configuration
 @EnableKafka
@@ -33,6 +37,12 @@ public class KafkaConsumerConfig {
   @Value("${spring.kafka.consumer.group-id}")
   private String groupId;
 
+  private final PipelineMetrics pipelineMetrics;
+
+  public KafkaConsumerConfig(PipelineMetrics pipelineMetrics) {
+    this.pipelineMetrics = pipelineMetrics;
+  }
+
   /**
    * Configurações base do consumer
    */
@@ -55,6 +65,9 @@ public class KafkaConsumerConfig {
     config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
     config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, Object.class);
 
+    config.put(ConsumerConfig.INTERCEPTOR_CLASSES_CONFIG, PollMetricsInterceptor.class.getName());
+    config.put(PollMetricsInterceptor.METRICS_CONFIG, pipelineMetrics);
+
     return new DefaultKafkaConsumerFactory<>(config);
   }
 
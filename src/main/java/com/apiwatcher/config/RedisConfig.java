@@ -2,6 +2,7 @@ package com.apiwatcher.config;
 
 import java.time.Duration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -10,50 +11,82 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.apiwatcher.monitoring.infrastructure.persistence.MonitoredApiRedisSerializer;
+import com.apiwatcher.shared.cache.CacheInvalidationBus;
+import com.apiwatcher.shared.cache.TwoLevelCacheManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Configuração do Redis para Cache.
  * 
  * Estratégia:
  * - Cache de APIs monitoradas para reduzir carga no PostgreSQL
  * - TTL configurável por tipo de cache
- * - Serialização JSON para facilitar inspeção
+ * - Serialização binária versionada para APIs monitoradas; JSON para o
+ * restante
+ * - Cache local (L1) na frente do Redis, invalidado entre instâncias via
+ * pub/sub
  */
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
   /**
-   * Cache Manager configurado com TTL específicos por cache.
+   * Cache Manager de dois níveis: L1 local + Redis com TTL específicos por
+   * cache.
    */
   @Bean
-  public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+  public CacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheInvalidationBus invalidationBus,
+      MeterRegistry meterRegistry,
+      @Value("${cache.near.maximum-size:1000}") long nearMaximumSize,
+      @Value("${cache.near.ttl-seconds:30}") long nearTtlSeconds) {
     RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
         .entryTtl(Duration.ofMinutes(10)) // TTL padrão: 10 minutos
         .serializeKeysWith(
             RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
         .serializeValuesWith(
-            RedisSerializationContext.SerializationPair.fromSerializer(createJsonSerializer()))
+            RedisSerializationContext.SerializationPair.fromSerializer(createValueSerializer()))
         .disableCachingNullValues();
 
     // Configurações específicas por cache
+    // As listas de APIs ficam no MonitoredApiRegistryCache (hash por entrada)
     var cacheConfigurations = java.util.Map.of(
-        "monitored-apis", defaultConfig.entryTtl(Duration.ofMinutes(5)), // APIs ativas
-        "monitored-api-by-id", defaultConfig.entryTtl(Duration.ofMinutes(15)), // API individual
-        "all-apis", defaultConfig.entryTtl(Duration.ofMinutes(10)) // Todas as APIs
+        "monitored-api-by-id", defaultConfig.entryTtl(Duration.ofMinutes(15)) // API individual
     );
 
-    return RedisCacheManager.builder(connectionFactory)
+    RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
         .cacheDefaults(defaultConfig)
         .withInitialCacheConfigurations(cacheConfigurations)
         .build();
+    // Não é um bean: inicializa os caches com as configurações acima
+    redisCacheManager.afterPropertiesSet();
+
+    return new TwoLevelCacheManager(redisCacheManager, invalidationBus, meterRegistry,
+        nearMaximumSize, Duration.ofSeconds(nearTtlSeconds));
+  }
+
+  @Bean
+  public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    return container;
+  }
+
+  @Bean
+  public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+      RedisMessageListenerContainer redisMessageListenerContainer) {
+    return new CacheInvalidationBus(stringRedisTemplate, redisMessageListenerContainer);
   }
 
   /**
@@ -66,21 +99,29 @@ public class RedisConfig {
 
     // Serializadores
     StringRedisSerializer stringSerializer = new StringRedisSerializer();
-    GenericJackson2JsonRedisSerializer jsonSerializer = createJsonSerializer();
+    RedisSerializer<Object> valueSerializer = createValueSerializer();
 
     template.setKeySerializer(stringSerializer);
-    template.setValueSerializer(jsonSerializer);
+    template.setValueSerializer(valueSerializer);
     template.setHashKeySerializer(stringSerializer);
-    template.setHashValueSerializer(jsonSerializer);
+    template.setHashValueSerializer(valueSerializer);
 
     template.afterPropertiesSet();
     return template;
   }
 
+  /**
+   * Serializer de valores: binário para MonitoredApi (e listas), JSON para o
+   * restante e para entradas gravadas antes do formato binário.
+   */
+  public static RedisSerializer<Object> createValueSerializer() {
+    return new MonitoredApiRedisSerializer(createJsonSerializer());
+  }
+
   /**
    * Cria serializer JSON customizado com suporte a Java 8 Time API.
    */
-  private GenericJackson2JsonRedisSerializer createJsonSerializer() {
+  public static GenericJackson2JsonRedisSerializer createJsonSerializer() {
     ObjectMapper objectMapper = new ObjectMapper();
     objectMapper.registerModule(new JavaTimeModule());
     objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -0,0 +1,23 @@
+package com.apiwatcher.monitoring.application.baseline;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da medição de latência no teste de APIs.
+ *
+ * - warmup: requisições descartadas (DNS, TCP e TLS frios)
+ * - samples: requisições medidas, já com conexões aquecidas
+ * - concurrency: requisições simultâneas (não deve passar do limite de
+ * conexões por host do pool HTTP)
+ * - pacing: intervalo entre o início de duas amostras
+ */
+@ConfigurationProperties(prefix = "test.baseline")
+public record BaselineProperties(
+    @DefaultValue("2") int warmup,
+    @DefaultValue("10") int samples,
+    @DefaultValue("2") int concurrency,
+    @DefaultValue("100ms") Duration pacing) {
+}
@@ -0,0 +1,65 @@
+package com.apiwatcher.monitoring.application.baseline;
+
+import java.util.Arrays;
+
+/**
+ * Distribuição de latência medida com conexões aquecidas.
+ *
+ * Percentis por nearest-rank; jitter = média da diferença absoluta entre
+ * amostras consecutivas (na ordem de envio).
+ */
+public record LatencyBaseline(
+    int samples,
+    int failedSamples,
+    long minMs,
+    long p50Ms,
+    long p95Ms,
+    long p99Ms,
+    long maxMs,
+    double jitterMs) {
+
+  private static final int MIN_THRESHOLD_MS = 500;
+  private static final int MAX_THRESHOLD_MS = 30_000;
+
+  /**
+   * @param latencies latências das amostras bem-sucedidas, na ordem de envio
+   */
+  public static LatencyBaseline of(long[] latencies, int failedSamples) {
+    if (latencies.length == 0) {
+      throw new IllegalArgumentException("Nenhuma amostra bem-sucedida");
+    }
+    double jitter = 0;
+    for (int i = 1; i < latencies.length; i++) {
+      jitter += Math.abs(latencies[i] - latencies[i - 1]);
+    }
+    if (latencies.length > 1) {
+      jitter /= latencies.length - 1;
+    }
+
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    return new LatencyBaseline(
+        sorted.length,
+        failedSamples,
+        sorted[0],
+        percentile(sorted, 0.50),
+        percentile(sorted, 0.95),
+        percentile(sorted, 0.99),
+        sorted[sorted.length - 1],
+        Math.round(jitter * 10) / 10.0);
+  }
+
+  /**
+   * Threshold sugerido: p95 + 50% de margem, nunca abaixo do p99 (a cauda
+   * normal da API não deve gerar alertas), entre 500ms e 30s.
+   */
+  public int suggestedThresholdMs() {
+    long threshold = Math.max(Math.round(p95Ms * 1.5), p99Ms);
+    return (int) Math.max(MIN_THRESHOLD_MS, Math.min(threshold, MAX_THRESHOLD_MS));
+  }
+
+  private static long percentile(long[] sorted, double p) {
+    int rank = (int) Math.ceil(p * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+}
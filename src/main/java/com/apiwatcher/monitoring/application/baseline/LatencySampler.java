@@ -0,0 +1,126 @@
+package com.apiwatcher.monitoring.application.baseline;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.apiwatcher.shared.exceptions.DomainException;
+import com.apiwatcher.shared.http.LeaseTimingConnectionManager;
+
+/**
+ * Mede a latência de uma URL com várias amostras.
+ *
+ * As requisições de aquecimento abrem (e deixam no pool) as conexões; as
+ * amostras seguintes medem só a requisição, com até concurrency em voo e
+ * início espaçado por pacing, para não sobrecarregar o alvo. A espera por
+ * uma conexão livre do pool compartilhado (health checks e outras medições
+ * no mesmo host) é descontada de cada amostra.
+ */
+@Component
+public class LatencySampler {
+
+  private final RestTemplate restTemplate;
+  private final BaselineProperties properties;
+
+  public LatencySampler(RestTemplate restTemplate, BaselineProperties properties) {
+    this.restTemplate = restTemplate;
+    this.properties = properties;
+  }
+
+  /**
+   * @throws RuntimeException erro da primeira requisição, se nenhuma
+   *                          amostra tiver sucesso
+   */
+  public Measurement measure(String url) {
+    Round warmup = run(url, properties.warmup());
+    if (warmup.successes() == 0 && warmup.count() > 0) {
+      throw warmup.firstError();
+    }
+
+    Round samples = run(url, Math.max(1, properties.samples()));
+    if (samples.successes() == 0) {
+      throw samples.firstError();
+    }
+    long[] latencies = new long[samples.successes()];
+    int statusCode = 0;
+    for (int i = 0, n = 0; i < samples.count(); i++) {
+      if (samples.errors()[i] == null) {
+        latencies[n++] = samples.latencies()[i];
+        statusCode = samples.statusCodes()[i];
+      }
+    }
+    return new Measurement(statusCode, LatencyBaseline.of(latencies, samples.count() - samples.successes()));
+  }
+
+  private Round run(String url, int count) {
+    long[] latencies = new long[count];
+    int[] statusCodes = new int[count];
+    RuntimeException[] errors = new RuntimeException[count];
+    Semaphore permits = new Semaphore(Math.max(1, properties.concurrency()));
+    long pacingMillis = properties.pacing().toMillis();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < count; i++) {
+        if (i > 0 && pacingMillis > 0) {
+          Thread.sleep(pacingMillis);
+        }
+        permits.acquire();
+        int index = i;
+        executor.execute(() -> {
+          try {
+            LeaseTimingConnectionManager.reset();
+            long start = System.nanoTime();
+            var response = restTemplate.getForEntity(url, String.class);
+            latencies[index] = TimeUnit.NANOSECONDS.toMillis(
+                System.nanoTime() - start - LeaseTimingConnectionManager.leaseNanos());
+            statusCodes[index] = response.getStatusCode().value();
+          } catch (RuntimeException e) {
+            errors[index] = e;
+          } finally {
+            permits.release();
+          }
+        });
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DomainException("Teste interrompido", e);
+    }
+    return new Round(latencies, statusCodes, errors);
+  }
+
+  /**
+   * Resultado da medição: status da última amostra bem-sucedida + distribuição.
+   */
+  public record Measurement(int statusCode, LatencyBaseline baseline) {
+  }
+
+  private record Round(long[] latencies, int[] statusCodes, RuntimeException[] errors) {
+
+    int count() {
+      return errors.length;
+    }
+
+    int successes() {
+      int successes = 0;
+      for (RuntimeException error : errors) {
+        if (error == null) {
+          successes++;
+        }
+      }
+      return successes;
+    }
+
+    RuntimeException firstError() {
+      for (RuntimeException error : errors) {
+        if (error != null) {
+          return error;
+        }
+      }
+      return new IllegalStateException("Nenhuma requisição executada");
+    }
+  }
+}
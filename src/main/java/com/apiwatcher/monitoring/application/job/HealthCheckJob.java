@@ -0,0 +1,140 @@
+package com.apiwatcher.monitoring.application.job;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.apiwatcher.monitoring.domain.model.CheckResult;
+
+/**
+ * Job manual de health check: progresso e resultados, atualizados pelas
+ * threads de probe e lidos pela API de status (snapshot()).
+ */
+public class HealthCheckJob {
+
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  private final String id;
+  private final List<String> notFound;
+  private final int maxResults;
+  private final LocalDateTime createdAt = LocalDateTime.now();
+  private final AtomicInteger completed = new AtomicInteger();
+  private final AtomicInteger healthy = new AtomicInteger();
+  private final List<Result> results = new ArrayList<>();
+
+  private volatile Status status = Status.QUEUED;
+  private volatile int total;
+  private volatile LocalDateTime startedAt;
+  private volatile LocalDateTime finishedAt;
+  private volatile String errorMessage;
+  private boolean truncated;
+
+  HealthCheckJob(String id, List<String> notFound, int maxResults) {
+    this.id = id;
+    this.notFound = List.copyOf(notFound);
+    this.maxResults = maxResults;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  void start(int total) {
+    this.total = total;
+    this.startedAt = LocalDateTime.now();
+    this.status = Status.RUNNING;
+  }
+
+  /**
+   * Registra um resultado. Jobs grandes guardam apenas as falhas (até
+   * maxResults); os contadores cobrem todas as APIs.
+   */
+  void record(String apiName, CheckResult result) {
+    boolean ok = result.isHealthy();
+    if (ok) {
+      healthy.incrementAndGet();
+    }
+    synchronized (results) {
+      if ((total <= maxResults || !ok) && results.size() < maxResults) {
+        results.add(Result.of(apiName, result));
+      } else {
+        truncated = true;
+      }
+    }
+    completed.incrementAndGet();
+  }
+
+  void finish() {
+    finishedAt = LocalDateTime.now();
+    status = Status.COMPLETED;
+  }
+
+  void fail(String message) {
+    errorMessage = message;
+    finishedAt = LocalDateTime.now();
+    status = Status.FAILED;
+  }
+
+  boolean isFinished() {
+    return status == Status.COMPLETED || status == Status.FAILED;
+  }
+
+  LocalDateTime finishedAt() {
+    return finishedAt;
+  }
+
+  public Snapshot snapshot() {
+    List<Result> copy;
+    boolean partial;
+    synchronized (results) {
+      copy = List.copyOf(results);
+      partial = truncated;
+    }
+    int done = completed.get();
+    return new Snapshot(id, status, total, done, healthy.get(), done - healthy.get(), notFound,
+        createdAt, startedAt, finishedAt, errorMessage, partial, copy);
+  }
+
+  /**
+   * Visão do job para a API (resultsTruncated = apenas falhas foram guardadas).
+   */
+  public record Snapshot(
+      String id,
+      Status status,
+      int total,
+      int completed,
+      int healthy,
+      int unhealthy,
+      List<String> notFound,
+      LocalDateTime createdAt,
+      LocalDateTime startedAt,
+      LocalDateTime finishedAt,
+      String errorMessage,
+      boolean resultsTruncated,
+      List<Result> results) {
+  }
+
+  /**
+   * Resultado de uma API no job.
+   */
+  public record Result(
+      String apiId,
+      String apiName,
+      boolean healthy,
+      int statusCode,
+      long latencyMs,
+      String errorMessage,
+      LocalDateTime checkedAt) {
+
+    static Result of(String apiName, CheckResult result) {
+      return new Result(result.getApiId(), apiName, result.isHealthy(), result.getStatusCode(),
+          result.getLatencyMs(), result.getErrorMessage(), result.getCheckedAt());
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.apiwatcher.monitoring.application.job;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração dos jobs manuais de health check.
+ *
+ * - probeConcurrency: checks simultâneos dentro de um job
+ * - maxPending: jobs aguardando execução (acima disso, novos são recusados)
+ * - maxResults: resultados guardados por job; acima disso, apenas as falhas
+ * - retention: tempo que um job concluído permanece consultável
+ */
+@ConfigurationProperties(prefix = "health-check.jobs")
+public record HealthCheckJobProperties(
+    @DefaultValue("16") int probeConcurrency,
+    @DefaultValue("10") int maxPending,
+    @DefaultValue("1000") int maxResults,
+    @DefaultValue("1h") Duration retention) {
+}
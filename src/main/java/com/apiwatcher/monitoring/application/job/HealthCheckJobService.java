@@ -0,0 +1,170 @@
+package com.apiwatcher.monitoring.application.job;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.apiwatcher.monitoring.application.registry.ActiveApiRegistry;
+import com.apiwatcher.monitoring.application.registry.CompactApiRegistry;
+import com.apiwatcher.monitoring.application.usecase.ExecuteHealthCheckUseCase;
+import com.apiwatcher.shared.exceptions.DomainException;
+import com.apiwatcher.shared.metrics.PipelineMetrics;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Jobs manuais de health check, executados fora da thread da requisição.
+ *
+ * submit() resolve as APIs alvo no registro em memória (todas, por ids ou
+ * por host), enfileira o job e retorna imediatamente. Os jobs rodam um por
+ * vez, em ordem de chegada; dentro de um job os checks rodam em virtual
+ * threads, limitados a probeConcurrency simultâneos.
+ */
+@Service
+public class HealthCheckJobService {
+
+  private static final Logger logger = LoggerFactory.getLogger(HealthCheckJobService.class);
+
+  private final ActiveApiRegistry activeApiRegistry;
+  private final ExecuteHealthCheckUseCase executeHealthCheckUseCase;
+  private final HealthCheckJobProperties properties;
+  private final PipelineMetrics pipelineMetrics;
+  private final Map<String, HealthCheckJob> jobs = new ConcurrentHashMap<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final ExecutorService runner = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform().name("health-check-job").daemon().factory());
+
+  public HealthCheckJobService(ActiveApiRegistry activeApiRegistry,
+      ExecuteHealthCheckUseCase executeHealthCheckUseCase,
+      HealthCheckJobProperties properties,
+      PipelineMetrics pipelineMetrics) {
+    this.activeApiRegistry = activeApiRegistry;
+    this.executeHealthCheckUseCase = executeHealthCheckUseCase;
+    this.properties = properties;
+    this.pipelineMetrics = pipelineMetrics;
+  }
+
+  /**
+   * Enfileira um job. Sem ids nem host, verifica todas as APIs ativas; ids e
+   * host juntos são rejeitados.
+   */
+  public HealthCheckJob submit(Collection<String> ids, String host) {
+    boolean byIds = ids != null && !ids.isEmpty();
+    boolean byHost = host != null && !host.isBlank();
+    if (byIds && byHost) {
+      throw new DomainException("Informe a lista de ids ou o host (apenas um dos dois)");
+    }
+    evictExpired();
+
+    // Resolve antes de reservar a vaga: activeApis() pode consultar o banco e
+    // falhar, e a vaga só é devolvida quando o job começa a rodar
+    CompactApiRegistry apis = activeApiRegistry.activeApis();
+    List<Integer> targets = new ArrayList<>();
+    List<String> notFound = new ArrayList<>();
+    if (byIds) {
+      for (String id : new LinkedHashSet<>(ids)) {
+        int index = apis.indexOf(id);
+        if (index >= 0) {
+          targets.add(index);
+        } else {
+          notFound.add(id);
+        }
+      }
+    } else {
+      for (int i = 0; i < apis.size(); i++) {
+        if (!byHost || host.equalsIgnoreCase(hostOf(apis.url(i)))) {
+          targets.add(i);
+        }
+      }
+    }
+
+    if (pending.incrementAndGet() > properties.maxPending()) {
+      pending.decrementAndGet();
+      throw new DomainException("Limite de " + properties.maxPending() + " jobs de health check pendentes atingido");
+    }
+    HealthCheckJob job = new HealthCheckJob(UUID.randomUUID().toString(), notFound, properties.maxResults());
+    try {
+      runner.execute(() -> {
+        pending.decrementAndGet();
+        run(job, apis, targets);
+      });
+    } catch (RejectedExecutionException e) {
+      pending.decrementAndGet();
+      throw new DomainException("Servico de jobs de health check encerrando");
+    }
+    jobs.put(job.getId(), job);
+    logger.info("[HEALTH-CHECK-JOB] Job {} enfileirado: {} APIs", job.getId(), targets.size());
+    return job;
+  }
+
+  public Optional<HealthCheckJob> find(String id) {
+    return Optional.ofNullable(jobs.get(id));
+  }
+
+  private void run(HealthCheckJob job, CompactApiRegistry apis, List<Integer> targets) {
+    job.start(targets.size());
+    Semaphore permits = new Semaphore(properties.probeConcurrency());
+    pipelineMetrics.probesQueued(targets.size());
+    int started = 0;
+    try (ExecutorService probes = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int index : targets) {
+        permits.acquire();
+        pipelineMetrics.probesDequeued(1);
+        started++;
+        probes.execute(() -> {
+          try {
+            job.record(apis.name(index), executeHealthCheckUseCase.check(apis, index));
+          } finally {
+            permits.release();
+          }
+        });
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.fail("Job interrompido");
+      return;
+    } catch (RuntimeException e) {
+      logger.error("[HEALTH-CHECK-JOB] Job {} falhou: {}", job.getId(), e.getMessage(), e);
+      job.fail(e.getMessage());
+      return;
+    } finally {
+      pipelineMetrics.probesDequeued(targets.size() - started);
+    }
+    job.finish();
+    logger.info("[HEALTH-CHECK-JOB] Job {} concluido: {} APIs verificadas", job.getId(), targets.size());
+  }
+
+  private void evictExpired() {
+    LocalDateTime limit = LocalDateTime.now().minus(properties.retention());
+    jobs.values().removeIf(job -> job.isFinished() && job.finishedAt().isBefore(limit));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    runner.shutdownNow();
+  }
+
+  private static String hostOf(String url) {
+    try {
+      return URI.create(url).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
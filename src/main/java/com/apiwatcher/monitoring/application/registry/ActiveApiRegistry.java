@@ -0,0 +1,107 @@
+package com.apiwatcher.monitoring.application.registry;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.apiwatcher.monitoring.domain.repository.RegistryDelta;
+import com.apiwatcher.monitoring.domain.repository.RegistryDeltaSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registro em memória das APIs ativas usado pelo motor de probes.
+ *
+ * A cada ciclo busca apenas as linhas com updatedAt posterior ao último
+ * watermark (menos uma margem de sobreposição) e os tombstones de APIs
+ * removidas; o custo por ciclo cresce com o número de alterações, não com
+ * o número de APIs. Uma recarga completa periódica serve de rede de
+ * segurança. O estado é um CompactApiRegistry (colunar), substituído a cada
+ * alteração.
+ *
+ * Métricas: apiwatcher.registry.size, apiwatcher.registry.sync.rows{type}
+ */
+@Component
+public class ActiveApiRegistry {
+
+  private static final Logger logger = LoggerFactory.getLogger(ActiveApiRegistry.class);
+
+  private final RegistryDeltaSource deltaSource;
+  private final RegistrySyncProperties properties;
+  private volatile CompactApiRegistry apis = CompactApiRegistry.EMPTY;
+  private final Counter changedRows;
+  private final Counter deletedRows;
+  private final Counter fullRows;
+
+  private LocalDateTime watermark;
+  private long nextFullResyncAt;
+
+  public ActiveApiRegistry(RegistryDeltaSource deltaSource, RegistrySyncProperties properties,
+      MeterRegistry meterRegistry) {
+    this.deltaSource = deltaSource;
+    this.properties = properties;
+
+    Gauge.builder("apiwatcher.registry.size", this, ActiveApiRegistry::size)
+        .description("APIs ativas no registro em memoria")
+        .register(meterRegistry);
+    this.changedRows = syncCounter("changed", meterRegistry);
+    this.deletedRows = syncCounter("deleted", meterRegistry);
+    this.fullRows = syncCounter("full", meterRegistry);
+  }
+
+  /**
+   * Sincroniza com o banco e retorna o registro (imutável) das APIs ativas.
+   */
+  public synchronized CompactApiRegistry activeApis() {
+    long now = System.currentTimeMillis();
+    if (watermark == null || now >= nextFullResyncAt) {
+      fullResync(now);
+    } else {
+      applyDelta(deltaSource.changesSince(watermark.minus(properties.overlap())));
+    }
+    return apis;
+  }
+
+  private void fullResync(long now) {
+    RegistryDelta snapshot = deltaSource.activeSnapshot();
+    apis = CompactApiRegistry.of(snapshot.changed());
+    fullRows.increment(snapshot.changed().size());
+
+    // Sem linhas, o watermark parte do instante atual
+    watermark = snapshot.watermark() != null ? snapshot.watermark() : LocalDateTime.now();
+    nextFullResyncAt = now + properties.fullResync().toMillis();
+
+    int purged = deltaSource.purgeTombstones(LocalDateTime.now().minus(properties.tombstoneRetention()));
+    logger.info("[REGISTRY-SYNC] Recarga completa: {} APIs ativas ({} tombstones expirados)", apis.size(), purged);
+  }
+
+  private void applyDelta(RegistryDelta delta) {
+    apis = apis.apply(delta.changed(), delta.deletedIds());
+
+    if (delta.watermark() != null && delta.watermark().isAfter(watermark)) {
+      watermark = delta.watermark();
+    }
+    changedRows.increment(delta.changed().size());
+    deletedRows.increment(delta.deletedIds().size());
+
+    if (!delta.changed().isEmpty() || !delta.deletedIds().isEmpty()) {
+      logger.debug("[REGISTRY-SYNC] Delta: {} alteradas, {} removidas", delta.changed().size(),
+          delta.deletedIds().size());
+    }
+  }
+
+  private int size() {
+    return apis.size();
+  }
+
+  private static Counter syncCounter(String type, MeterRegistry meterRegistry) {
+    return Counter.builder("apiwatcher.registry.sync.rows")
+        .description("Linhas lidas do banco pela sincronizacao do registro")
+        .tag("type", type)
+        .register(meterRegistry);
+  }
+}
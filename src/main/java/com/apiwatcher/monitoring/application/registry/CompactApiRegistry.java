@@ -0,0 +1,255 @@
+package com.apiwatcher.monitoring.application.registry;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+
+/**
+ * Registro imutável e colunar das APIs ativas, para o caminho de probe.
+ *
+ * Em vez de um MonitoredApi por API (Integer, LocalDateTime e Strings
+ * separados), cada atributo fica em um array primitivo indexado por um
+ * inteiro (0..size-1):
+ * - método HTTP e status esperado em byte[]/short[]
+ * - threshold e meta de SLO em int[]/double[] (NaN = meta padrão)
+ * - URL decomposta uma única vez em origem (scheme://host:porta,
+ * deduplicada entre APIs) + path
+ * - índice id -> posição em endereçamento aberto sobre um int[]
+ *
+ * Alterações geram um novo registro (apply), copiando colunas sem
+ * materializar objetos por API.
+ */
+public final class CompactApiRegistry {
+
+  private static final String[] METHODS = { "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS" };
+
+  public static final CompactApiRegistry EMPTY = new Builder(0).build();
+
+  private final int size;
+  private final String[] ids;
+  private final String[] names;
+  private final byte[] methods;
+  private final short[] expectedStatus;
+  private final int[] thresholdMs;
+  private final double[] sloTargets;
+  private final int[] originIndex;
+  private final String[] origins;
+  private final String[] paths;
+  private final int[] idSlots; // posição + 1; 0 = vazio
+
+  private CompactApiRegistry(Builder builder) {
+    this.size = builder.size;
+    this.ids = Arrays.copyOf(builder.ids, size);
+    this.names = Arrays.copyOf(builder.names, size);
+    this.methods = Arrays.copyOf(builder.methods, size);
+    this.expectedStatus = Arrays.copyOf(builder.expectedStatus, size);
+    this.thresholdMs = Arrays.copyOf(builder.thresholdMs, size);
+    this.sloTargets = Arrays.copyOf(builder.sloTargets, size);
+    this.originIndex = Arrays.copyOf(builder.originIndex, size);
+    this.origins = new String[builder.origins.size()];
+    for (Map.Entry<String, Integer> origin : builder.origins.entrySet()) {
+      this.origins[origin.getValue()] = origin.getKey();
+    }
+    this.paths = Arrays.copyOf(builder.paths, size);
+    this.idSlots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, size)) << 2)];
+    for (int i = 0; i < size; i++) {
+      int slot = slotOf(ids[i]);
+      while (idSlots[slot] != 0) {
+        slot = (slot + 1) & (idSlots.length - 1);
+      }
+      idSlots[slot] = i + 1;
+    }
+  }
+
+  public static CompactApiRegistry of(Collection<MonitoredApi> apis) {
+    Builder builder = new Builder(apis.size());
+    apis.forEach(builder::add);
+    return builder.build();
+  }
+
+  /**
+   * Novo registro com as alterações aplicadas: APIs alteradas substituem as
+   * existentes (ou são removidas, se inativas) e ids removidos saem.
+   */
+  public CompactApiRegistry apply(Collection<MonitoredApi> changed, Collection<String> deletedIds) {
+    if (changed.isEmpty() && deletedIds.isEmpty()) {
+      return this;
+    }
+    Set<String> replaced = new HashSet<>(deletedIds);
+    changed.forEach(api -> replaced.add(api.getId()));
+
+    Builder builder = new Builder(size + changed.size());
+    for (int i = 0; i < size; i++) {
+      if (!replaced.contains(ids[i])) {
+        builder.copy(this, i);
+      }
+    }
+    for (MonitoredApi api : changed) {
+      if (api.isActive()) {
+        builder.add(api);
+      }
+    }
+    return builder.build();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Posição da API no registro, ou -1.
+   */
+  public int indexOf(String id) {
+    int slot = slotOf(id);
+    while (idSlots[slot] != 0) {
+      int index = idSlots[slot] - 1;
+      if (ids[index].equals(id)) {
+        return index;
+      }
+      slot = (slot + 1) & (idSlots.length - 1);
+    }
+    return -1;
+  }
+
+  public String id(int index) {
+    return ids[index];
+  }
+
+  public String name(int index) {
+    return names[index];
+  }
+
+  public String httpMethod(int index) {
+    return METHODS[methods[index]];
+  }
+
+  public int expectedStatusCode(int index) {
+    return expectedStatus[index];
+  }
+
+  public int latencyThresholdMs(int index) {
+    return thresholdMs[index];
+  }
+
+  public Double sloTarget(int index) {
+    return Double.isNaN(sloTargets[index]) ? null : sloTargets[index];
+  }
+
+  public String url(int index) {
+    return origins[originIndex[index]] + paths[index];
+  }
+
+  public URI uri(int index) {
+    return URI.create(url(index));
+  }
+
+  /**
+   * Origens distintas (scheme://host:porta) no registro.
+   */
+  public int originCount() {
+    return origins.length;
+  }
+
+  private int slotOf(String id) {
+    int h = id.hashCode();
+    return (h ^ (h >>> 16)) & (idSlots.length - 1);
+  }
+
+  private static byte methodCode(String method) {
+    for (byte i = 0; i < METHODS.length; i++) {
+      if (METHODS[i].equalsIgnoreCase(method)) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+  private static final class Builder {
+
+    private int size;
+    private String[] ids;
+    private String[] names;
+    private byte[] methods;
+    private short[] expectedStatus;
+    private int[] thresholdMs;
+    private double[] sloTargets;
+    private int[] originIndex;
+    private String[] paths;
+    private final Map<String, Integer> origins = new HashMap<>();
+
+    Builder(int capacity) {
+      int initial = Math.max(capacity, 1);
+      ids = new String[initial];
+      names = new String[initial];
+      methods = new byte[initial];
+      expectedStatus = new short[initial];
+      thresholdMs = new int[initial];
+      sloTargets = new double[initial];
+      originIndex = new int[initial];
+      paths = new String[initial];
+    }
+
+    void add(MonitoredApi api) {
+      String url = api.getUrl();
+      String origin = "";
+      String path = url;
+      try {
+        URI uri = URI.create(url);
+        String candidate = uri.getScheme() + "://" + uri.getRawAuthority();
+        if (uri.getRawAuthority() != null && url.startsWith(candidate)) {
+          origin = candidate;
+          path = url.substring(origin.length());
+        }
+      } catch (IllegalArgumentException e) {
+        // URL fora do padrão RFC 2396: mantida inteira no path
+      }
+
+      int i = next();
+      ids[i] = api.getId();
+      names[i] = api.getName();
+      methods[i] = methodCode(api.getHttpMethod());
+      expectedStatus[i] = api.getExpectedStatusCode().shortValue();
+      thresholdMs[i] = api.getLatencyThresholdMs();
+      sloTargets[i] = api.getSloTarget() != null ? api.getSloTarget() : Double.NaN;
+      originIndex[i] = origins.computeIfAbsent(origin, o -> origins.size());
+      paths[i] = path;
+    }
+
+    void copy(CompactApiRegistry source, int index) {
+      int i = next();
+      ids[i] = source.ids[index];
+      names[i] = source.names[index];
+      methods[i] = source.methods[index];
+      expectedStatus[i] = source.expectedStatus[index];
+      thresholdMs[i] = source.thresholdMs[index];
+      sloTargets[i] = source.sloTargets[index];
+      originIndex[i] = origins.computeIfAbsent(source.origins[source.originIndex[index]], o -> origins.size());
+      paths[i] = source.paths[index];
+    }
+
+    CompactApiRegistry build() {
+      return new CompactApiRegistry(this);
+    }
+
+    private int next() {
+      if (size == ids.length) {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        methods = Arrays.copyOf(methods, capacity);
+        expectedStatus = Arrays.copyOf(expectedStatus, capacity);
+        thresholdMs = Arrays.copyOf(thresholdMs, capacity);
+        sloTargets = Arrays.copyOf(sloTargets, capacity);
+        originIndex = Arrays.copyOf(originIndex, capacity);
+        paths = Arrays.copyOf(paths, capacity);
+      }
+      return size++;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.apiwatcher.monitoring.application.registry;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da sincronização incremental do registro de APIs ativas.
+ *
+ * - overlap: margem relida antes do watermark (commits atrasados e relógios
+ * levemente divergentes entre instâncias)
+ * - fullResync: intervalo entre recargas completas (rede de segurança)
+ * - tombstoneRetention: tempo mantido para tombstones de APIs removidas
+ */
+@ConfigurationProperties(prefix = "registry.sync")
+public record RegistrySyncProperties(
+    @DefaultValue("5s") Duration overlap,
+    @DefaultValue("1h") Duration fullResync,
+    @DefaultValue("1d") Duration tombstoneRetention) {
+}
@@ -0,0 +1,60 @@
+package com.apiwatcher.monitoring.application.slo;
+
+import java.util.Arrays;
+
+/**
+ * Contador de checks totais/ruins em uma janela deslizante.
+ *
+ * A janela é dividida em um número fixo de slots (anel); slots de períodos
+ * já expirados são reaproveitados. Memória constante, independente do
+ * volume de checks. Não é thread-safe (sincronizado pelo SloTracker).
+ */
+final class RollingCounter {
+
+  private final long slotMillis;
+  private final long[] slotIds;
+  private final long[] total;
+  private final long[] bad;
+
+  RollingCounter(long windowMillis, int slots) {
+    this.slotMillis = Math.max(1, windowMillis / slots);
+    this.slotIds = new long[slots];
+    this.total = new long[slots];
+    this.bad = new long[slots];
+    Arrays.fill(slotIds, Long.MIN_VALUE);
+  }
+
+  void record(long timestamp, boolean good) {
+    long slotId = Math.floorDiv(timestamp, slotMillis);
+    int index = (int) Math.floorMod(slotId, (long) slotIds.length);
+    if (slotIds[index] != slotId) {
+      if (slotIds[index] > slotId) {
+        return; // Mais antigo que a janela
+      }
+      slotIds[index] = slotId;
+      total[index] = 0;
+      bad[index] = 0;
+    }
+    total[index]++;
+    if (!good) {
+      bad[index]++;
+    }
+  }
+
+  /**
+   * Soma [total, ruins] dos slots ainda dentro da janela em {@code now}.
+   */
+  long[] sum(long now) {
+    long currentSlot = Math.floorDiv(now, slotMillis);
+    long oldestSlot = currentSlot - slotIds.length + 1;
+    long sumTotal = 0;
+    long sumBad = 0;
+    for (int i = 0; i < slotIds.length; i++) {
+      if (slotIds[i] >= oldestSlot && slotIds[i] <= currentSlot) {
+        sumTotal += total[i];
+        sumBad += bad[i];
+      }
+    }
+    return new long[] { sumTotal, sumBad };
+  }
+}
@@ -0,0 +1,117 @@
+package com.apiwatcher.monitoring.application.slo;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.events.HealthCheckListener;
+import com.apiwatcher.shared.metrics.ApiTagLimiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Motor de SLO em streaming.
+ *
+ * Consome cada health check (HealthCheckListener) e mantém, por API, burn
+ * rates em múltiplas janelas (ex.: 5m/1h/6h) e o error budget do período,
+ * sem consultar o histórico. Check bom = sucesso e latência dentro do
+ * threshold da API.
+ *
+ * Métricas (Micrometer):
+ * - apiwatcher.slo.burn.rate{api, window}
+ * - apiwatcher.slo.error.budget.remaining{api}
+ *
+ * Só APIs admitidas pelo ApiTagLimiter têm gauges (burn rate e budget não se
+ * agregam em api="other"); o status das demais continua em /slo. Os gauges
+ * leem o status calculado no último check da API.
+ */
+@Service
+public class SloEngine implements HealthCheckListener {
+
+  private final SloProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ApiTagLimiter limiter;
+  private final Map<String, SloTracker> trackers = new ConcurrentHashMap<>();
+  private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+
+  public SloEngine(SloProperties properties, MeterRegistry meterRegistry, ApiTagLimiter limiter) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.limiter = limiter;
+  }
+
+  @Override
+  public void onHealthCheck(HealthCheckEvent event) {
+    double target = event.getSloTarget() != null ? event.getSloTarget() : properties.defaultTarget();
+    tracker(event.getApiId(), target)
+        .record(event.getCheckedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), event.isGood(), target);
+  }
+
+  public Optional<SloStatus> status(String apiId) {
+    SloTracker tracker = trackers.get(apiId);
+    return tracker == null ? Optional.empty() : Optional.of(tracker.status(System.currentTimeMillis()));
+  }
+
+  public List<SloStatus> statuses() {
+    long now = System.currentTimeMillis();
+    List<SloStatus> statuses = new ArrayList<>(trackers.size());
+    for (SloTracker tracker : trackers.values()) {
+      statuses.add(tracker.status(now));
+    }
+    statuses.sort(Comparator.comparing(SloStatus::apiId));
+    return statuses;
+  }
+
+  /**
+   * Descarta o estado e as métricas de uma API removida.
+   */
+  public void remove(String apiId) {
+    trackers.remove(apiId);
+    limiter.release(apiId);
+    List<Meter> registered = meters.remove(apiId);
+    if (registered != null) {
+      registered.forEach(meterRegistry::remove);
+    }
+  }
+
+  private SloTracker tracker(String apiId, double target) {
+    return trackers.computeIfAbsent(apiId, id -> {
+      SloTracker tracker = new SloTracker(id, target, properties.windows(), properties.budgetPeriod(),
+          properties.slots());
+      if (!ApiTagLimiter.OTHER.equals(limiter.tag(id))) {
+        registerMeters(id, tracker);
+      }
+      return tracker;
+    });
+  }
+
+  private void registerMeters(String apiId, SloTracker tracker) {
+    List<Meter> registered = new ArrayList<>();
+    List<Duration> windows = properties.windows();
+
+    for (int i = 0; i < windows.size(); i++) {
+      int windowIndex = i;
+      registered.add(Gauge.builder("apiwatcher.slo.burn.rate", tracker, t -> t.lastBurnRate(windowIndex))
+          .description("Burn rate do error budget na janela")
+          .tag("api", apiId)
+          .tag("window", SloTracker.format(windows.get(i)))
+          .register(meterRegistry));
+    }
+    registered.add(Gauge.builder("apiwatcher.slo.error.budget.remaining", tracker, SloTracker::lastRemainingBudget)
+        .description("Fracao do error budget restante no periodo")
+        .tag("api", apiId)
+        .register(meterRegistry));
+
+    meters.put(apiId, registered);
+  }
+}
@@ -0,0 +1,23 @@
+package com.apiwatcher.monitoring.application.slo;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do motor de SLO.
+ *
+ * - defaultTarget: meta usada quando a API não define sloTarget
+ * - windows: janelas de burn rate (ex.: 5m, 1h, 6h)
+ * - budgetPeriod: período do error budget (ex.: 30d)
+ * - slots: resolução de cada janela (memória constante por API)
+ */
+@ConfigurationProperties(prefix = "slo")
+public record SloProperties(
+    @DefaultValue("0.999") double defaultTarget,
+    @DefaultValue({ "5m", "1h", "6h" }) List<Duration> windows,
+    @DefaultValue("30d") Duration budgetPeriod,
+    @DefaultValue("12") int slots) {
+}
@@ -0,0 +1,22 @@
+package com.apiwatcher.monitoring.application.slo;
+
+import java.util.List;
+
+/**
+ * Situação do SLO de uma API: burn rate por janela e error budget restante.
+ *
+ * burnRate = taxa de erro / (1 - meta). 1.0 consome o budget exatamente no
+ * período; valores acima disso esgotam o budget antes do fim do período.
+ */
+public record SloStatus(
+    String apiId,
+    double target,
+    List<WindowBurn> windows,
+    ErrorBudget budget) {
+
+  public record WindowBurn(String window, long total, long bad, double errorRate, double burnRate) {
+  }
+
+  public record ErrorBudget(String period, long total, long bad, double consumed, double remaining) {
+  }
+}
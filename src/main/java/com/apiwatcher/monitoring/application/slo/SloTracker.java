@@ -0,0 +1,96 @@
+package com.apiwatcher.monitoring.application.slo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado de SLO de uma API: um RollingCounter por janela de burn rate e um
+ * para o período do error budget. Memória O(1) por API.
+ */
+final class SloTracker {
+
+  private final String apiId;
+  private final List<Duration> windows;
+  private final Duration budgetPeriod;
+  private final RollingCounter[] windowCounters;
+  private final RollingCounter budgetCounter;
+  private volatile double target;
+  private volatile SloStatus last;
+
+  SloTracker(String apiId, double target, List<Duration> windows, Duration budgetPeriod, int slots) {
+    this.apiId = apiId;
+    this.target = target;
+    this.windows = windows;
+    this.budgetPeriod = budgetPeriod;
+    this.windowCounters = new RollingCounter[windows.size()];
+    for (int i = 0; i < windows.size(); i++) {
+      windowCounters[i] = new RollingCounter(windows.get(i).toMillis(), slots);
+    }
+    // Budget com resolução diária (ou mais fina para períodos curtos)
+    this.budgetCounter = new RollingCounter(budgetPeriod.toMillis(),
+        (int) Math.max(slots, Math.min(budgetPeriod.toDays(), 90)));
+  }
+
+  /**
+   * Registra o check e recalcula o status exportado nas métricas (last):
+   * uma vez por check, não a cada leitura de gauge.
+   */
+  synchronized void record(long timestamp, boolean good, double target) {
+    this.target = target;
+    for (RollingCounter counter : windowCounters) {
+      counter.record(timestamp, good);
+    }
+    budgetCounter.record(timestamp, good);
+    last = status(System.currentTimeMillis());
+  }
+
+  synchronized SloStatus status(long now) {
+    double allowedErrorRate = 1 - target;
+
+    List<SloStatus.WindowBurn> burns = new ArrayList<>(windows.size());
+    for (int i = 0; i < windows.size(); i++) {
+      long[] sum = windowCounters[i].sum(now);
+      double errorRate = sum[0] == 0 ? 0 : (double) sum[1] / sum[0];
+      burns.add(new SloStatus.WindowBurn(format(windows.get(i)), sum[0], sum[1], errorRate,
+          errorRate / allowedErrorRate));
+    }
+
+    long[] budget = budgetCounter.sum(now);
+    double consumed = budget[0] == 0 ? 0 : ((double) budget[1] / budget[0]) / allowedErrorRate;
+    return new SloStatus(apiId, target, burns,
+        new SloStatus.ErrorBudget(format(budgetPeriod), budget[0], budget[1], consumed, 1 - consumed));
+  }
+
+  /**
+   * Burn rate da janela no último check (NaN antes do primeiro).
+   */
+  double lastBurnRate(int windowIndex) {
+    SloStatus status = last;
+    return status == null ? Double.NaN : status.windows().get(windowIndex).burnRate();
+  }
+
+  /**
+   * Error budget restante no último check (NaN antes do primeiro).
+   */
+  double lastRemainingBudget() {
+    SloStatus status = last;
+    return status == null ? Double.NaN : status.budget().remaining();
+  }
+
+  /**
+   * Formata a janela como "5m", "1h", "30d".
+   */
+  static String format(Duration duration) {
+    if (duration.toDays() > 0 && duration.equals(Duration.ofDays(duration.toDays()))) {
+      return duration.toDays() + "d";
+    }
+    if (duration.toHours() > 0 && duration.equals(Duration.ofHours(duration.toHours()))) {
+      return duration.toHours() + "h";
+    }
+    if (duration.toMinutes() > 0 && duration.equals(Duration.ofMinutes(duration.toMinutes()))) {
+      return duration.toMinutes() + "m";
+    }
+    return duration.toSeconds() + "s";
+  }
+}
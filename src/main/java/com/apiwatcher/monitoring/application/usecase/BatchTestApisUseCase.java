@@ -0,0 +1,113 @@
+package com.apiwatcher.monitoring.application.usecase;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.apiwatcher.monitoring.infrastructure.http.dto.TestApiResponse;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+/**
+ * Caso de uso: Testar várias APIs (sem cadastrar), em paralelo.
+ *
+ * Os testes rodam em virtual threads, limitados por requisição; cada
+ * resultado é entregue ao chamador assim que fica pronto (ordem de
+ * conclusão, não de envio), sempre na thread chamadora.
+ */
+@Service
+public class BatchTestApisUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(BatchTestApisUseCase.class);
+
+  private final TestAndRegisterApiUseCase testAndRegisterApiUseCase;
+  private final int maxItems;
+  private final int maxConcurrency;
+
+  public BatchTestApisUseCase(TestAndRegisterApiUseCase testAndRegisterApiUseCase,
+      @Value("${test.batch.max-items:1000}") int maxItems,
+      @Value("${test.batch.max-concurrency:32}") int maxConcurrency) {
+    this.testAndRegisterApiUseCase = testAndRegisterApiUseCase;
+    this.maxItems = maxItems;
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public void validate(List<BatchItem> items) {
+    if (items == null || items.isEmpty()) {
+      throw new DomainException("Lista de APIs vazia");
+    }
+    if (items.size() > maxItems) {
+      throw new DomainException("Lote excede o limite de " + maxItems + " APIs");
+    }
+  }
+
+  /**
+   * Testa os itens e entrega cada resultado ao sink. Se o sink falhar (ex.:
+   * cliente desconectou), os testes pendentes são cancelados.
+   *
+   * @param concurrency testes simultâneos pedidos (limitado ao máximo
+   *                    configurado; null = máximo)
+   */
+  public void testAll(List<BatchItem> items, Integer concurrency, Consumer<ItemResult> sink) {
+    validate(items);
+    int permits = concurrency != null ? Math.max(1, Math.min(concurrency, maxConcurrency)) : maxConcurrency;
+    logger.info("[TESTE-LOTE] Testando {} APIs ({} simultaneas)", items.size(), permits);
+
+    BlockingQueue<ItemResult> completed = new LinkedBlockingQueue<>();
+    Semaphore semaphore = new Semaphore(permits);
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      for (int i = 0; i < items.size(); i++) {
+        int index = i;
+        BatchItem item = items.get(i);
+        executor.execute(() -> {
+          try {
+            semaphore.acquire();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+          try {
+            completed.add(new ItemResult(index, item.url(), item.httpMethod(),
+                testAndRegisterApiUseCase.testApi(item.url(), item.httpMethod())));
+          } finally {
+            semaphore.release();
+          }
+        });
+      }
+
+      for (int n = 0; n < items.size(); n++) {
+        sink.accept(completed.take());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DomainException("Teste em lote interrompido", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Item do lote.
+   */
+  public record BatchItem(String url, String httpMethod) {
+  }
+
+  /**
+   * Resultado de um item (index = posição no lote).
+   */
+  public record ItemResult(
+      int index,
+      String url,
+      String httpMethod,
+      TestApiResponse result) {
+  }
+}
@@ -0,0 +1,234 @@
+package com.apiwatcher.monitoring.application.usecase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.apiwatcher.monitoring.domain.events.ApiRegisteredEvent;
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.domain.repository.MonitoredApiRepository;
+import com.apiwatcher.monitoring.infrastructure.http.dto.TestApiResponse;
+import com.apiwatcher.shared.events.EventPublisher;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+/**
+ * Caso de uso: Cadastrar APIs em lote (testa e cadastra cada uma).
+ *
+ * Fluxo:
+ * 1. Valida os itens e descarta URLs repetidas no próprio lote
+ * 2. Verifica URLs já cadastradas com uma única consulta
+ * 3. Testa os candidatos em paralelo (concorrência limitada)
+ * 4. Insere tudo em uma transação, com batch JDBC; se outra requisição
+ * cadastrou uma das URLs nesse intervalo, insere item a item
+ * 5. Publica os eventos de registro em lote
+ *
+ * Cada item recebe seu próprio resultado.
+ */
+@Service
+public class BulkRegisterApisUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkRegisterApisUseCase.class);
+
+  private final MonitoredApiRepository repository;
+  private final TestAndRegisterApiUseCase testAndRegisterApiUseCase;
+  private final EventPublisher eventPublisher;
+  private final int maxItems;
+  private final int probeConcurrency;
+
+  public BulkRegisterApisUseCase(MonitoredApiRepository repository,
+      TestAndRegisterApiUseCase testAndRegisterApiUseCase,
+      EventPublisher eventPublisher,
+      @Value("${registration.bulk.max-items:1000}") int maxItems,
+      @Value("${registration.bulk.probe-concurrency:32}") int probeConcurrency) {
+    this.repository = repository;
+    this.testAndRegisterApiUseCase = testAndRegisterApiUseCase;
+    this.eventPublisher = eventPublisher;
+    this.maxItems = maxItems;
+    this.probeConcurrency = probeConcurrency;
+  }
+
+  public List<ItemResult> register(List<BulkItem> items) {
+    if (items.isEmpty()) {
+      throw new DomainException("Lista de APIs vazia");
+    }
+    if (items.size() > maxItems) {
+      throw new DomainException("Lote excede o limite de " + maxItems + " APIs");
+    }
+    logger.info("[REGISTRO-LOTE] Recebidas {} APIs", items.size());
+
+    ItemResult[] results = new ItemResult[items.size()];
+
+    // 1. Validação e duplicados dentro do lote
+    Map<String, Integer> firstByUrl = new HashMap<>();
+    List<Integer> candidates = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      BulkItem item = items.get(i);
+      try {
+        new MonitoredApi(item.name(), item.url(), item.httpMethod(), 200, 0);
+      } catch (DomainException e) {
+        results[i] = ItemResult.of(i, item, Status.INVALID, e.getMessage());
+        continue;
+      }
+      Integer first = firstByUrl.putIfAbsent(item.url(), i);
+      if (first != null) {
+        results[i] = ItemResult.of(i, item, Status.DUPLICATE, "URL repetida no lote (item " + first + ")");
+        continue;
+      }
+      candidates.add(i);
+    }
+
+    // 2. URLs já cadastradas: uma consulta para o lote todo
+    Set<String> existing = repository.findExistingUrls(candidates.stream().map(i -> items.get(i).url()).toList());
+    candidates.removeIf(i -> {
+      if (existing.contains(items.get(i).url())) {
+        results[i] = ItemResult.of(i, items.get(i), Status.DUPLICATE,
+            "Já existe uma API cadastrada com esta URL");
+        return true;
+      }
+      return false;
+    });
+
+    // 3. Testes em paralelo
+    TestApiResponse[] tests = probeAll(items, candidates);
+
+    // 4. Inserção em lote
+    List<MonitoredApi> apis = new ArrayList<>(candidates.size());
+    for (int i : candidates) {
+      BulkItem item = items.get(i);
+      TestApiResponse test = tests[i];
+      apis.add(new MonitoredApi(item.name(), item.url(), item.httpMethod(),
+          test.suggestedExpectedStatusCode(), test.suggestedThreshold()));
+    }
+
+    List<MonitoredApi> created;
+    try {
+      repository.insertAll(apis);
+      created = apis;
+      for (int n = 0; n < candidates.size(); n++) {
+        int i = candidates.get(n);
+        results[i] = ItemResult.created(i, items.get(i), apis.get(n).getId(), tests[i]);
+      }
+    } catch (DataIntegrityViolationException e) {
+      // URL cadastrada por outra requisição após a verificação: o lote foi
+      // desfeito, insere item a item para isolar os conflitos
+      logger.warn("[REGISTRO-LOTE] Conflito ao inserir lote, inserindo item a item: {}", e.getMessage());
+      created = insertEach(items, candidates, apis, tests, results);
+    } catch (DataAccessException e) {
+      logger.error("[REGISTRO-LOTE] Falha ao inserir lote: {}", e.getMessage());
+      for (int i : candidates) {
+        results[i] = ItemResult.of(i, items.get(i), Status.FAILED, "Falha ao gravar o lote: " + e.getMessage());
+      }
+      return Arrays.asList(results);
+    }
+
+    // 5. Eventos em lote
+    eventPublisher.publishAll(created.stream().map(ApiRegisteredEvent::from).toList());
+
+    logger.info("[REGISTRO-LOTE] {} de {} APIs cadastradas", created.size(), items.size());
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Uma transação por item: só as linhas em conflito ficam como DUPLICATE.
+   */
+  private List<MonitoredApi> insertEach(List<BulkItem> items, List<Integer> candidates, List<MonitoredApi> apis,
+      TestApiResponse[] tests, ItemResult[] results) {
+    List<MonitoredApi> created = new ArrayList<>(apis.size());
+    for (int n = 0; n < candidates.size(); n++) {
+      int i = candidates.get(n);
+      MonitoredApi api = apis.get(n);
+      try {
+        repository.insertAll(List.of(api));
+        created.add(api);
+        results[i] = ItemResult.created(i, items.get(i), api.getId(), tests[i]);
+      } catch (DataIntegrityViolationException e) {
+        results[i] = ItemResult.of(i, items.get(i), Status.DUPLICATE, "Já existe uma API cadastrada com esta URL");
+      } catch (DataAccessException e) {
+        logger.error("[REGISTRO-LOTE] Falha ao inserir {}: {}", api.getUrl(), e.getMessage());
+        results[i] = ItemResult.of(i, items.get(i), Status.FAILED, "Falha ao gravar a API: " + e.getMessage());
+      }
+    }
+    return created;
+  }
+
+  private TestApiResponse[] probeAll(List<BulkItem> items, List<Integer> candidates) {
+    TestApiResponse[] tests = new TestApiResponse[items.size()];
+    Semaphore permits = new Semaphore(probeConcurrency);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Map<Integer, Future<TestApiResponse>> futures = new HashMap<>();
+      for (int i : candidates) {
+        BulkItem item = items.get(i);
+        futures.put(i, executor.submit(() -> {
+          permits.acquire();
+          try {
+            return testAndRegisterApiUseCase.testApi(item.url(), item.httpMethod());
+          } finally {
+            permits.release();
+          }
+        }));
+      }
+
+      for (Map.Entry<Integer, Future<TestApiResponse>> entry : futures.entrySet()) {
+        try {
+          tests[entry.getKey()] = entry.getValue().get();
+        } catch (ExecutionException e) {
+          tests[entry.getKey()] = TestApiResponse.error(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new DomainException("Registro em lote interrompido", e);
+        }
+      }
+    }
+    return tests;
+  }
+
+  /**
+   * Item do lote.
+   */
+  public record BulkItem(String name, String url, String httpMethod) {
+  }
+
+  public enum Status {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+  }
+
+  /**
+   * Resultado de um item (index = posição no lote).
+   */
+  public record ItemResult(
+      int index,
+      String name,
+      String url,
+      Status status,
+      String apiId,
+      TestApiResponse test,
+      String message) {
+
+    static ItemResult of(int index, BulkItem item, Status status, String message) {
+      return new ItemResult(index, item.name(), item.url(), status, null, null, message);
+    }
+
+    static ItemResult created(int index, BulkItem item, String apiId, TestApiResponse test) {
+      return new ItemResult(index, item.name(), item.url(), Status.CREATED, apiId, test, null);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.apiwatcher.monitoring.application.usecase;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.apiwatcher.monitoring.domain.events.ApisUpdatedEvent;
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.domain.repository.MonitoredApiRepository;
+import com.apiwatcher.shared.events.EventPublisher;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+/**
+ * Caso de uso: Ativar, desativar ou alterar o threshold de APIs em lote.
+ *
+ * Fluxo:
+ * 1. Resolve as APIs alvo (lista de ids ou host) a partir do registro,
+ * até registration.bulk.max-items
+ * 2. Descarta as que já estão no estado pedido
+ * 3. Aplica a alteração com um único UPDATE (caches atualizados só para as
+ * APIs afetadas)
+ * 4. Publica um único evento com todas as APIs alteradas
+ */
+@Service
+public class BulkUpdateApisUseCase {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkUpdateApisUseCase.class);
+
+  private final MonitoredApiRepository repository;
+  private final EventPublisher eventPublisher;
+  private final int maxItems;
+
+  public BulkUpdateApisUseCase(MonitoredApiRepository repository,
+      EventPublisher eventPublisher,
+      @Value("${registration.bulk.max-items:1000}") int maxItems) {
+    this.repository = repository;
+    this.eventPublisher = eventPublisher;
+    this.maxItems = maxItems;
+  }
+
+  public Result activate(List<String> ids, String host) {
+    return execute(Operation.ACTIVATE, ids, host, api -> !api.isActive(), null);
+  }
+
+  public Result deactivate(List<String> ids, String host) {
+    return execute(Operation.DEACTIVATE, ids, host, MonitoredApi::isActive, null);
+  }
+
+  public Result updateThreshold(List<String> ids, String host, Integer latencyThresholdMs) {
+    if (latencyThresholdMs == null || latencyThresholdMs < 0) {
+      throw new DomainException("Threshold de latência deve ser informado e não pode ser negativo");
+    }
+    return execute(Operation.THRESHOLD, ids, host,
+        api -> !latencyThresholdMs.equals(api.getLatencyThresholdMs()), latencyThresholdMs);
+  }
+
+  private Result execute(Operation operation, List<String> ids, String host,
+      Predicate<MonitoredApi> needsChange, Integer latencyThresholdMs) {
+    boolean byIds = ids != null && !ids.isEmpty();
+    boolean byHost = host != null && !host.isBlank();
+    if (byIds == byHost) {
+      throw new DomainException("Informe a lista de ids ou o host (apenas um dos dois)");
+    }
+    if (byIds && ids.size() > maxItems) {
+      throw new DomainException("Lote excede o limite de " + maxItems + " APIs");
+    }
+
+    // 1. APIs alvo, pelo registro em cache (sem consulta ao banco)
+    Map<String, MonitoredApi> registry = repository.findAll().stream()
+        .collect(Collectors.toMap(MonitoredApi::getId, Function.identity()));
+    List<MonitoredApi> targets = new ArrayList<>();
+    List<String> notFound = new ArrayList<>();
+    if (byIds) {
+      for (String id : new LinkedHashSet<>(ids)) {
+        MonitoredApi api = registry.get(id);
+        if (api != null) {
+          targets.add(api);
+        } else {
+          notFound.add(id);
+        }
+      }
+    } else {
+      registry.values().stream()
+          .filter(api -> host.equalsIgnoreCase(hostOf(api.getUrl())))
+          .forEach(targets::add);
+      // Mesmo limite dos ids: o UPDATE roda numa transação só, e uma
+      // transação longa deixaria o updatedAt para trás da marca d'água da
+      // sincronização incremental do registro
+      if (targets.size() > maxItems) {
+        throw new DomainException("Host com " + targets.size() + " APIs excede o limite de " + maxItems
+            + " por lote; use a lista de ids");
+      }
+    }
+
+    // 2. Apenas as que mudam de fato
+    List<String> toUpdate = targets.stream().filter(needsChange).map(MonitoredApi::getId).toList();
+
+    // 3. UPDATE em lote
+    List<MonitoredApi> updated = switch (operation) {
+      case ACTIVATE -> toUpdate.isEmpty() ? List.of() : repository.updateActive(toUpdate, true);
+      case DEACTIVATE -> toUpdate.isEmpty() ? List.of() : repository.updateActive(toUpdate, false);
+      case THRESHOLD -> toUpdate.isEmpty() ? List.of()
+          : repository.updateLatencyThreshold(toUpdate, latencyThresholdMs);
+    };
+    List<String> updatedIds = updated.stream().map(MonitoredApi::getId).toList();
+
+    // 4. Um único evento para o lote
+    if (!updatedIds.isEmpty()) {
+      eventPublisher.publish(new ApisUpdatedEvent(operation.name(), updatedIds, latencyThresholdMs));
+    }
+
+    logger.info("[ALTERACAO-LOTE] {}: {} alvo(s), {} alterada(s), {} nao encontrada(s)",
+        operation, targets.size(), updatedIds.size(), notFound.size());
+    return new Result(operation, targets.size(), updatedIds, targets.size() - updatedIds.size(), notFound);
+  }
+
+  private static String hostOf(String url) {
+    try {
+      return URI.create(url).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  public enum Operation {
+    ACTIVATE,
+    DEACTIVATE,
+    THRESHOLD
+  }
+
+  /**
+   * Resultado da operação (unchanged = alvos que já estavam no estado pedido).
+   */
+  public record Result(
+      Operation operation,
+      int matched,
+      List<String> updatedIds,
+      int unchanged,
+      List<String> notFound) {
+  }
+}
@@ -0,0 +1,82 @@
+package com.apiwatcher.monitoring.application.usecase;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.apiwatcher.monitoring.infrastructure.http.dto.TestApiResponse;
+import com.apiwatcher.shared.cache.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caso de uso: Testar API sem cadastrar, compartilhando o resultado.
+ *
+ * Testes simultâneos do mesmo método + URL aguardam um único teste em
+ * andamento (SingleFlight), e o resultado fica em cache local por alguns
+ * segundos (test.cache.ttl). A resposta informa a idade do resultado
+ * (ageMs). Falhas também são guardadas: um pico de testes contra um alvo
+ * fora do ar custa uma única tentativa.
+ *
+ * Métricas: apiwatcher.test.requests{result=cached|shared},
+ * apiwatcher.test.probes (testes efetivamente executados).
+ */
+@Service
+public class CachedTestApiUseCase {
+
+  private final TestAndRegisterApiUseCase testAndRegisterApiUseCase;
+  private final SingleFlight<String, Result> inFlight = new SingleFlight<>();
+  private final Cache<String, Result> recent;
+  private final Counter cachedRequests;
+  private final Counter sharedRequests;
+  private final Counter probes;
+
+  public CachedTestApiUseCase(TestAndRegisterApiUseCase testAndRegisterApiUseCase,
+      @Value("${test.cache.ttl:5s}") Duration ttl,
+      @Value("${test.cache.maximum-size:1000}") long maximumSize,
+      MeterRegistry meterRegistry) {
+    this.testAndRegisterApiUseCase = testAndRegisterApiUseCase;
+    this.recent = Caffeine.newBuilder()
+        .expireAfterWrite(ttl)
+        .maximumSize(maximumSize)
+        .build();
+    this.cachedRequests = requestCounter("cached", meterRegistry);
+    this.sharedRequests = requestCounter("shared", meterRegistry);
+    this.probes = Counter.builder("apiwatcher.test.probes")
+        .description("Testes de API executados contra o alvo")
+        .register(meterRegistry);
+  }
+
+  public TestApiResponse test(String url, String httpMethod) {
+    String key = httpMethod.toUpperCase(Locale.ROOT) + " " + url;
+
+    Result result = recent.getIfPresent(key);
+    if (result != null) {
+      cachedRequests.increment();
+    } else {
+      sharedRequests.increment();
+      result = inFlight.execute(key, () -> {
+        probes.increment();
+        Result fresh = new Result(testAndRegisterApiUseCase.testApi(url, httpMethod), System.currentTimeMillis());
+        recent.put(key, fresh);
+        return fresh;
+      });
+    }
+    return result.response().withAge(System.currentTimeMillis() - result.completedAt());
+  }
+
+  private static Counter requestCounter(String result, MeterRegistry meterRegistry) {
+    return Counter.builder("apiwatcher.test.requests")
+        .description("Requisições de teste de API por origem do resultado")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private record Result(TestApiResponse response, long completedAt) {
+  }
+}
@@ -1,18 +1,24 @@
 package com.apiwatcher.monitoring.application.usecase;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.apiwatcher.monitoring.application.registry.ActiveApiRegistry;
+import com.apiwatcher.monitoring.application.registry.CompactApiRegistry;
 import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.events.HealthCheckListener;
 import com.apiwatcher.monitoring.domain.model.CheckResult;
-import com.apiwatcher.monitoring.domain.model.MonitoredApi;
-import com.apiwatcher.monitoring.domain.repository.MonitoredApiRepository;
 import com.apiwatcher.shared.events.EventPublisher;
+import com.apiwatcher.shared.jfr.ProbeEvent;
+import com.apiwatcher.shared.metrics.PipelineMetrics;
+import com.apiwatcher.shared.tracing.Tracer;
 
 /**
  * Caso de uso: Executar health check nas APIs monitoradas.
@@ -24,97 +30,174 @@ public class ExecuteHealthCheckUseCase {
 
   private static final Logger logger = LoggerFactory.getLogger(ExecuteHealthCheckUseCase.class);
 
-  private final MonitoredApiRepository repository;
+  private final ActiveApiRegistry activeApiRegistry;
   private final RestTemplate restTemplate;
-
-  public ExecuteHealthCheckUseCase(MonitoredApiRepository repository,
-      EventPublisher eventPublisher) {
-    this.repository = repository;
-    this.restTemplate = new RestTemplate();
+  private final List<HealthCheckListener> listeners;
+  private final PipelineMetrics pipelineMetrics;
+  private final Tracer tracer;
+
+  public ExecuteHealthCheckUseCase(ActiveApiRegistry activeApiRegistry,
+      EventPublisher eventPublisher,
+      List<HealthCheckListener> listeners,
+      RestTemplate restTemplate,
+      PipelineMetrics pipelineMetrics,
+      Tracer tracer) {
+    this.activeApiRegistry = activeApiRegistry;
+    this.restTemplate = restTemplate;
     this.eventPublisher = eventPublisher;
+    this.listeners = listeners;
+    this.pipelineMetrics = pipelineMetrics;
+    this.tracer = tracer;
   }
 
   public List<CheckResult> execute() {
     logger.info("[HEALTH-CHECK] Executando health check de todas as APIs ativas");
 
-    List<MonitoredApi> apis = repository.findAllActive();
-    List<CheckResult> results = new ArrayList<>();
+    CompactApiRegistry apis = activeApiRegistry.activeApis();
+    List<CheckResult> results = new ArrayList<>(apis.size());
 
-    for (MonitoredApi api : apis) {
-      CheckResult result = checkApi(api);
-      results.add(result);
-      logResult(api, result);
+    // Fila do ciclo: APIs que ainda não começaram a ser verificadas
+    pipelineMetrics.probesQueued(apis.size());
+    int started = 0;
+    try {
+      for (int i = 0; i < apis.size(); i++) {
+        pipelineMetrics.probesDequeued(1);
+        started++;
+        CheckResult result = checkApi(apis, i);
+        results.add(result);
+        logResult(apis, i, result);
+      }
+    } finally {
+      pipelineMetrics.probesDequeued(apis.size() - started);
     }
 
     logger.info("[HEALTH-CHECK] Concluido: {} APIs verificadas", results.size());
     return results;
   }
 
-  private CheckResult checkApi(MonitoredApi api) {
+  /**
+   * Verifica uma única API do registro (jobs manuais). Pode ser chamado em
+   * paralelo: eventos e listeners são os mesmos do ciclo periódico.
+   */
+  public CheckResult check(CompactApiRegistry apis, int index) {
+    CheckResult result = checkApi(apis, index);
+    logResult(apis, index, result);
+    return result;
+  }
+
+  private CheckResult checkApi(CompactApiRegistry apis, int index) {
+    String traceId = tracer.start();
+    try {
+      return checkApi(apis, index, traceId);
+    } finally {
+      tracer.end();
+    }
+  }
+
+  private CheckResult checkApi(CompactApiRegistry apis, int index, String traceId) {
+    ProbeEvent probeEvent = new ProbeEvent();
+    probeEvent.begin();
+    long startedAt = System.currentTimeMillis();
+    long requestStart = System.nanoTime();
+    CheckResult result;
+    String outcome;
     try {
       long startTime = System.currentTimeMillis();
 
-      // Faz a requisição HTTP
-      var response = restTemplate.getForEntity(api.getUrl(), String.class);
+      // Faz a requisição HTTP (URI já decomposta no registro, sem template)
+      var response = restTemplate.getForEntity(apis.uri(index), String.class);
 
       long latencyMs = System.currentTimeMillis() - startTime;
       int statusCode = response.getStatusCode().value();
 
-      CheckResult result;
       // Verifica se o status code é o esperado
-      if (statusCode == api.getExpectedStatusCode()) {
-        return CheckResult.success(api.getId(), statusCode, latencyMs);
+      if (statusCode == apis.expectedStatusCode(index)) {
+        result = CheckResult.success(apis.id(index), statusCode, latencyMs);
+        outcome = "success";
       } else {
         String errorMsg = String.format("Status esperado: %d, recebido: %d",
-            api.getExpectedStatusCode(), statusCode);
-        result = CheckResult.failure(api.getId(), statusCode, latencyMs, errorMsg);
+            apis.expectedStatusCode(index), statusCode);
+        result = CheckResult.failure(apis.id(index), statusCode, latencyMs, errorMsg);
+        outcome = "failure";
       }
 
-      // Publica Evento no Kafka
-      publishHealthCheckEvent(result, api);
-
-      return result;
-
     } catch (Exception e) {
-      logger.error("Erro ao verificar API {}: {}", api.getName(), e.getMessage());
-      CheckResult result = CheckResult.error(api.getId(), e.getMessage());
+      logger.error("Erro ao verificar API {}: {}", apis.name(index), e.getMessage());
+      result = CheckResult.error(apis.id(index), e.getMessage());
+      outcome = "error";
+    }
+    long publishStart = System.nanoTime();
+
+    // Publica evento no Kafka (mesmo em caso de erro)
+    publishHealthCheckEvent(result, apis, index);
+    long publishEnd = System.nanoTime();
+
+    if (traceId != null) {
+      Map<String, String> attributes = Map.of("apiId", apis.id(index), "outcome", outcome);
+      tracer.record(traceId, "probe", startedAt, publishEnd - requestStart, attributes);
+      tracer.record(traceId, "probe.http", startedAt, publishStart - requestStart, attributes);
+      tracer.record(traceId, "probe.publish", startedAt + (publishStart - requestStart) / 1_000_000,
+          publishEnd - publishStart, attributes);
+    }
 
-      // Publica evento mesmo em caso de erro
-      publishHealthCheckEvent(result, api);
+    probeEvent.end();
+    if (probeEvent.shouldCommit()) {
+      probeEvent.apiId = apis.id(index);
+      probeEvent.host = hostOf(apis.url(index));
+      probeEvent.outcome = outcome;
+      probeEvent.statusCode = result.getStatusCode();
+      probeEvent.requestTime = publishStart - requestStart;
+      probeEvent.publishTime = publishEnd - publishStart;
+      probeEvent.commit();
+    }
+    return result;
+  }
 
-      return result;
+  private static String hostOf(String url) {
+    try {
+      return URI.create(url).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
     }
   }
 
-  private void logResult(MonitoredApi api, CheckResult result) {
+  private void logResult(CompactApiRegistry apis, int index, CheckResult result) {
     if (result.isHealthy()) {
-      logger.info("[OK] {} - {}ms", api.getName(), result.getLatencyMs());
+      logger.info("[OK] {} - {}ms", apis.name(index), result.getLatencyMs());
 
-      if (result.exceededThreshold(api.getLatencyThresholdMs())) {
+      if (result.exceededThreshold(apis.latencyThresholdMs(index))) {
         logger.warn("[ALERTA] {} - Latencia acima do threshold: {}ms > {}ms",
-            api.getName(), result.getLatencyMs(), api.getLatencyThresholdMs());
+            apis.name(index), result.getLatencyMs(), apis.latencyThresholdMs(index));
       }
     } else {
-      logger.error("[FALHA] {} - {}", api.getName(), result.getErrorMessage());
+      logger.error("[FALHA] {} - {}", apis.name(index), result.getErrorMessage());
     }
   }
 
-  // Adicione este novo método privado:
   /**
-   * Publica evento de health check no Kafka.
+   * Publica evento de health check no Kafka e notifica os listeners locais.
    */
-  private void publishHealthCheckEvent(CheckResult result, MonitoredApi api) {
-    try {
-      HealthCheckEvent event = HealthCheckEvent.from(
-          result,
-          api.getName(),
-          api.getUrl(),
-          api.getLatencyThresholdMs());
+  private void publishHealthCheckEvent(CheckResult result, CompactApiRegistry apis, int index) {
+    HealthCheckEvent event = HealthCheckEvent.from(
+        result,
+        apis.name(index),
+        apis.url(index),
+        apis.latencyThresholdMs(index),
+        apis.sloTarget(index));
 
+    try {
       eventPublisher.publish(event);
     } catch (Exception e) {
       // Não deixa falha na publicação do evento derrubar o health check
       logger.error("[KAFKA-ERROR] Erro ao publicar evento de health check: {}", e.getMessage());
     }
+
+    for (HealthCheckListener listener : listeners) {
+      try {
+        listener.onHealthCheck(event);
+      } catch (Exception e) {
+        logger.error("[LISTENER-ERROR] Erro no listener {}: {}", listener.getClass().getSimpleName(), e.getMessage());
+      }
+    }
   }
 }
@@ -0,0 +1,136 @@
+package com.apiwatcher.monitoring.application.usecase;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.domain.repository.MonitoredApiRepository;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+/**
+ * Caso de uso: Listar APIs com filtros e paginação.
+ *
+ * Lê o registro em cache (ordenado por createdAt, id), aplica os filtros e
+ * devolve uma página, por número (page/size) ou por cursor. O cursor é a
+ * posição (createdAt, id) do último item: inserções e remoções entre as
+ * páginas não causam itens repetidos nem pulados.
+ */
+@Service
+public class ListApisUseCase {
+
+  public static final int DEFAULT_PAGE_SIZE = 50;
+  public static final int MAX_PAGE_SIZE = 500;
+
+  private static final Comparator<MonitoredApi> ORDER = Comparator
+      .comparing(MonitoredApi::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(MonitoredApi::getId);
+
+  private final MonitoredApiRepository repository;
+
+  public ListApisUseCase(MonitoredApiRepository repository) {
+    this.repository = repository;
+  }
+
+  public Page list(Query query) {
+    if (query.page() != null && query.cursor() != null) {
+      throw new DomainException("Use 'page' ou 'cursor', não ambos");
+    }
+    if (query.page() != null && query.page() < 0) {
+      throw new DomainException("Parametro 'page' não pode ser negativo");
+    }
+
+    List<MonitoredApi> apis = (Boolean.TRUE.equals(query.active()) ? repository.findAllActive() : repository.findAll())
+        .stream()
+        .filter(api -> query.active() == null || api.isActive() == query.active())
+        .filter(api -> query.httpMethod() == null || query.httpMethod().equalsIgnoreCase(api.getHttpMethod()))
+        .filter(api -> query.host() == null || query.host().equalsIgnoreCase(hostOf(api.getUrl())))
+        .toList();
+
+    boolean paged = query.page() != null || query.size() != null || query.cursor() != null;
+    if (!paged) {
+      return new Page(apis, apis.size(), null);
+    }
+
+    int size = Math.max(1, Math.min(query.size() != null ? query.size() : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+    int from;
+    if (query.cursor() != null) {
+      from = firstAfter(apis, decodeCursor(query.cursor()));
+    } else {
+      long offset = (long) (query.page() != null ? query.page() : 0) * size;
+      from = (int) Math.min(offset, apis.size());
+    }
+    int to = Math.min(from + size, apis.size());
+
+    List<MonitoredApi> items = apis.subList(from, to);
+    String nextCursor = to < apis.size() ? encodeCursor(items.get(items.size() - 1)) : null;
+    return new Page(items, apis.size(), nextCursor);
+  }
+
+  // Busca binária: primeira posição estritamente após o cursor
+  private static int firstAfter(List<MonitoredApi> apis, MonitoredApi cursor) {
+    int low = 0;
+    int high = apis.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (ORDER.compare(apis.get(mid), cursor) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static String encodeCursor(MonitoredApi api) {
+    String position = (api.getCreatedAt() != null ? api.getCreatedAt().toString() : "") + "|" + api.getId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static MonitoredApi decodeCursor(String cursor) {
+    try {
+      String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = position.indexOf('|');
+      String createdAt = position.substring(0, separator);
+      return new MonitoredApi(position.substring(separator + 1), null, null, null, null, null, false, null,
+          createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt), null);
+    } catch (RuntimeException e) {
+      throw new DomainException("Cursor inválido", e);
+    }
+  }
+
+  private static String hostOf(String url) {
+    try {
+      return URI.create(url).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Filtros (null = sem filtro) e paginação. Sem page, size e cursor,
+   * retorna a lista completa.
+   */
+  public record Query(
+      String host,
+      String httpMethod,
+      Boolean active,
+      Integer page,
+      Integer size,
+      String cursor) {
+  }
+
+  /**
+   * Página de resultados (nextCursor null = última página).
+   */
+  public record Page(
+      List<MonitoredApi> items,
+      int total,
+      String nextCursor) {
+  }
+}
@@ -2,10 +2,12 @@ package com.apiwatcher.monitoring.application.usecase;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.apiwatcher.monitoring.application.baseline.LatencyBaseline;
+import com.apiwatcher.monitoring.application.baseline.LatencySampler;
 import com.apiwatcher.monitoring.domain.events.ApiRegisteredEvent;
 import com.apiwatcher.monitoring.domain.model.MonitoredApi;
 import com.apiwatcher.monitoring.domain.repository.MonitoredApiRepository;
@@ -13,9 +15,19 @@ import com.apiwatcher.monitoring.infrastructure.http.dto.TestApiResponse;
 import com.apiwatcher.shared.events.EventPublisher;
 import com.apiwatcher.shared.exceptions.DomainException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Caso de uso: Testar API e cadastrar automaticamente com threshold
  * inteligente.
+ * 
+ * O teste (rede) roda fora de transação; só a gravação abre uma transação
+ * curta, para que alvos lentos não prendam conexões do pool. A unicidade da
+ * URL é garantida pela constraint do banco no commit.
+ * 
+ * Métricas: apiwatcher.registration.phase{phase=probe|commit}. A ocupação
+ * do pool aparece em hikaricp.connections.*.
  */
 @Service
 public class TestAndRegisterApiUseCase {
@@ -23,13 +35,20 @@ public class TestAndRegisterApiUseCase {
   private static final Logger logger = LoggerFactory.getLogger(TestAndRegisterApiUseCase.class);
 
   private final MonitoredApiRepository repository;
-  private final RestTemplate restTemplate;
+  private final LatencySampler latencySampler;
   private final EventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final Timer probeTimer;
+  private final Timer commitTimer;
 
-  public TestAndRegisterApiUseCase(MonitoredApiRepository repository, EventPublisher eventPublisher) {
+  public TestAndRegisterApiUseCase(MonitoredApiRepository repository, EventPublisher eventPublisher,
+      LatencySampler latencySampler, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
     this.repository = repository;
-    this.restTemplate = new RestTemplate();
+    this.latencySampler = latencySampler;
     this.eventPublisher = eventPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.probeTimer = phaseTimer("probe", meterRegistry);
+    this.commitTimer = phaseTimer("commit", meterRegistry);
   }
 
   /**
@@ -39,17 +58,14 @@ public class TestAndRegisterApiUseCase {
     logger.info("[TESTE] Testando API: {} [{}]", url, httpMethod);
 
     try {
-      long startTime = System.currentTimeMillis();
-
-      // Faz requisição de teste
-      var response = restTemplate.getForEntity(url, String.class);
-
-      long latencyMs = System.currentTimeMillis() - startTime;
-      int statusCode = response.getStatusCode().value();
+      // Aquecimento + várias amostras (uma amostra fria inclui DNS/TCP/TLS)
+      LatencySampler.Measurement measurement = latencySampler.measure(url);
+      LatencyBaseline baseline = measurement.baseline();
 
-      logger.info("[OK] Teste bem-sucedido: {}ms - Status {}", latencyMs, statusCode);
+      logger.info("[OK] Teste bem-sucedido: p50={}ms p95={}ms p99={}ms jitter={}ms - Status {}",
+          baseline.p50Ms(), baseline.p95Ms(), baseline.p99Ms(), baseline.jitterMs(), measurement.statusCode());
 
-      return TestApiResponse.success(statusCode, latencyMs);
+      return TestApiResponse.success(measurement.statusCode(), baseline);
 
     } catch (Exception e) {
       logger.error("[ERRO] Erro ao testar API: {}", e.getMessage());
@@ -60,23 +76,22 @@ public class TestAndRegisterApiUseCase {
   /**
    * Testa E cadastra automaticamente com threshold inteligente
    */
-  @Transactional
   public ApiTestAndRegistrationResult testAndRegister(String name, String url, String httpMethod) {
     logger.info("[REGISTRO] Testando e cadastrando API: {} - {}", name, url);
 
-    // Verifica se já existe
+    // Verificação antecipada (evita testar URLs já cadastradas)
     if (repository.existsByUrl(url)) {
-      throw new DomainException("Já existe uma API cadastrada com esta URL: " + url);
+      throw duplicateUrl(url, null);
     }
 
-    // 1. Testa primeiro
-    TestApiResponse testResult = testApi(url, httpMethod);
+    // 1. Testa primeiro (fora de transação)
+    TestApiResponse testResult = probeTimer.record(() -> testApi(url, httpMethod));
 
     if (!testResult.success()) {
       logger.warn("[AVISO] API falhou no teste, mas sera cadastrada com valores padrao");
     }
 
-    // 2. Cadastra com threshold automático
+    // 2. Cadastra com threshold automático (transação curta)
     MonitoredApi api = new MonitoredApi(
         name,
         url,
@@ -84,7 +99,13 @@ public class TestAndRegisterApiUseCase {
         testResult.suggestedExpectedStatusCode(),
         testResult.suggestedThreshold());
 
-    MonitoredApi saved = repository.save(api);
+    MonitoredApi saved;
+    try {
+      saved = commitTimer.record(() -> transactionTemplate.execute(status -> repository.save(api)));
+    } catch (DataIntegrityViolationException e) {
+      // Cadastro concorrente da mesma URL durante o teste
+      throw duplicateUrl(url, e);
+    }
 
     // 3. Publica evento de registro
     ApiRegisteredEvent event = ApiRegisteredEvent.from(saved);
@@ -96,6 +117,17 @@ public class TestAndRegisterApiUseCase {
     return new ApiTestAndRegistrationResult(testResult, saved);
   }
 
+  private static DomainException duplicateUrl(String url, Throwable cause) {
+    return new DomainException("Já existe uma API cadastrada com esta URL: " + url, cause);
+  }
+
+  private static Timer phaseTimer(String phase, MeterRegistry meterRegistry) {
+    return Timer.builder("apiwatcher.registration.phase")
+        .description("Duracao das fases do cadastro de API")
+        .tag("phase", phase)
+        .register(meterRegistry);
+  }
+
   /**
    * Resultado combinado do teste + cadastro
    */
@@ -0,0 +1,52 @@
+package com.apiwatcher.monitoring.domain.events;
+
+import java.util.List;
+
+import com.apiwatcher.shared.events.DomainEvent;
+
+/**
+ * Evento de domínio: alteração em lote de APIs monitoradas.
+ *
+ * Publicado uma única vez por operação (ativar, desativar ou alterar o
+ * threshold), com os ids de todas as APIs afetadas.
+ */
+public class ApisUpdatedEvent extends DomainEvent {
+
+  private final String operation;
+  private final List<String> apiIds;
+  private final Integer latencyThresholdMs; // Apenas em alterações de threshold
+
+  public ApisUpdatedEvent(String operation, List<String> apiIds, Integer latencyThresholdMs) {
+    super();
+    this.operation = operation;
+    this.apiIds = List.copyOf(apiIds);
+    this.latencyThresholdMs = latencyThresholdMs;
+  }
+
+  @Override
+  public String getEventType() {
+    return "api.bulk-updated";
+  }
+
+  // Getters
+  public String getOperation() {
+    return operation;
+  }
+
+  public List<String> getApiIds() {
+    return apiIds;
+  }
+
+  public Integer getLatencyThresholdMs() {
+    return latencyThresholdMs;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "ApisUpdatedEvent[eventId=%s, operation=%s, apis=%d]",
+        getEventId(),
+        operation,
+        apiIds.size());
+  }
+}
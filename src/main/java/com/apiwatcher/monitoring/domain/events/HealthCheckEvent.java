@@ -33,11 +33,13 @@ public class HealthCheckEvent extends DomainEvent {
   private final LocalDateTime checkedAt;
   private final boolean exceededThreshold;
   private final int thresholdMs;
+  private final Double sloTarget;
 
   /**
    * Cria evento a partir de um CheckResult
    */
-  public static HealthCheckEvent from(CheckResult checkResult, String apiName, String apiUrl, int thresholdMs) {
+  public static HealthCheckEvent from(CheckResult checkResult, String apiName, String apiUrl, int thresholdMs,
+      Double sloTarget) {
     return new HealthCheckEvent(
         checkResult.getApiId(),
         apiName,
@@ -48,7 +50,8 @@ public class HealthCheckEvent extends DomainEvent {
         checkResult.getErrorMessage(),
         checkResult.getCheckedAt(),
         checkResult.exceededThreshold(thresholdMs),
-        thresholdMs);
+        thresholdMs,
+        sloTarget);
   }
 
   private HealthCheckEvent(
@@ -61,7 +64,8 @@ public class HealthCheckEvent extends DomainEvent {
       String errorMessage,
       LocalDateTime checkedAt,
       boolean exceededThreshold,
-      int thresholdMs) {
+      int thresholdMs,
+      Double sloTarget) {
     super();
     this.apiId = apiId;
     this.apiName = apiName;
@@ -73,6 +77,7 @@ public class HealthCheckEvent extends DomainEvent {
     this.checkedAt = checkedAt;
     this.exceededThreshold = exceededThreshold;
     this.thresholdMs = thresholdMs;
+    this.sloTarget = sloTarget;
   }
 
   @Override
@@ -81,6 +86,14 @@ public class HealthCheckEvent extends DomainEvent {
   }
 
   // Métodos auxiliares para categorização
+
+  /**
+   * Check "bom" para SLO: sucesso e latência dentro do threshold.
+   */
+  public boolean isGood() {
+    return success && !exceededThreshold;
+  }
+
   public boolean isHealthy() {
     return success && statusCode >= 200 && statusCode < 300;
   }
@@ -140,6 +153,10 @@ public class HealthCheckEvent extends DomainEvent {
     return thresholdMs;
   }
 
+  public Double getSloTarget() {
+    return sloTarget;
+  }
+
   @Override
   public String toString() {
     return String.format(
@@ -0,0 +1,18 @@
+package com.apiwatcher.monitoring.domain.events;
+
+/**
+ * Porta para consumidores locais (in-process) de health checks.
+ *
+ * Complementa o EventPublisher (Kafka): implementações são notificadas
+ * na própria thread do probe, logo após cada verificação. Devem ser
+ * rápidas e não bloquear.
+ */
+public interface HealthCheckListener {
+
+  /**
+   * Chamado após cada health check executado por esta instância.
+   *
+   * @param event O resultado do health check
+   */
+  void onHealthCheck(HealthCheckEvent event);
+}
@@ -21,6 +21,7 @@ public class MonitoredApi {
   private Integer expectedStatusCode;
   private Integer latencyThresholdMs;
   private boolean active;
+  private Double sloTarget; // Meta de SLO (ex.: 0.999); null = padrão global
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
 
@@ -58,6 +59,7 @@ public class MonitoredApi {
       @JsonProperty("expectedStatusCode") Integer expectedStatusCode,
       @JsonProperty("latencyThresholdMs") Integer latencyThresholdMs,
       @JsonProperty("active") boolean active,
+      @JsonProperty("sloTarget") Double sloTarget,
       @JsonProperty("createdAt") LocalDateTime createdAt,
       @JsonProperty("updatedAt") LocalDateTime updatedAt) {
     this.id = id;
@@ -67,10 +69,20 @@ public class MonitoredApi {
     this.expectedStatusCode = expectedStatusCode;
     this.latencyThresholdMs = latencyThresholdMs;
     this.active = active;
+    this.sloTarget = sloTarget;
     this.createdAt = createdAt;
     this.updatedAt = updatedAt;
   }
 
+  /**
+   * Cópia independente. Instâncias lidas do cache são compartilhadas (L1):
+   * alterações devem ser feitas sobre uma cópia.
+   */
+  public MonitoredApi copy() {
+    return new MonitoredApi(id, name, url, httpMethod, expectedStatusCode, latencyThresholdMs, active, sloTarget,
+        createdAt, updatedAt);
+  }
+
   // Métodos de negócio
   public void deactivate() {
     this.active = false;
@@ -88,6 +100,16 @@ public class MonitoredApi {
     this.updatedAt = LocalDateTime.now();
   }
 
+  /**
+   * Define a meta de SLO: fração de checks bem-sucedidos e abaixo do
+   * threshold de latência (ex.: 0.999). null volta ao padrão global.
+   */
+  public void updateSloTarget(Double newSloTarget) {
+    validateSloTarget(newSloTarget);
+    this.sloTarget = newSloTarget;
+    this.updatedAt = LocalDateTime.now();
+  }
+
   // Validações
   private void validateName(String name) {
     if (name == null || name.trim().isEmpty()) {
@@ -135,6 +157,12 @@ public class MonitoredApi {
     }
   }
 
+  private void validateSloTarget(Double target) {
+    if (target != null && (target <= 0 || target >= 1)) {
+      throw new DomainException("Meta de SLO deve estar entre 0 e 1 (exclusivo)");
+    }
+  }
+
   // Getters
   public String getId() {
     return id;
@@ -164,6 +192,10 @@ public class MonitoredApi {
     return active;
   }
 
+  public Double getSloTarget() {
+    return sloTarget;
+  }
+
   public LocalDateTime getCreatedAt() {
     return createdAt;
   }
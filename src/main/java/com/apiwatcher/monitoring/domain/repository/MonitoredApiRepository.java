@@ -1,7 +1,9 @@
 package com.apiwatcher.monitoring.domain.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.apiwatcher.monitoring.domain.model.MonitoredApi;
 
@@ -22,4 +24,28 @@ public interface MonitoredApiRepository {
   void deleteById(String id);
 
   boolean existsByUrl(String url);
+
+  /**
+   * URLs, dentre as informadas, que já estão cadastradas (uma única consulta).
+   */
+  Set<String> findExistingUrls(Collection<String> urls);
+
+  /**
+   * Insere novas APIs em lote, em uma única transação.
+   */
+  List<MonitoredApi> insertAll(List<MonitoredApi> apis);
+
+  /**
+   * Ativa/desativa as APIs informadas com um único UPDATE.
+   *
+   * @return APIs alteradas, já com o novo estado
+   */
+  List<MonitoredApi> updateActive(Collection<String> ids, boolean active);
+
+  /**
+   * Altera o threshold de latência das APIs informadas com um único UPDATE.
+   *
+   * @return APIs alteradas, já com o novo threshold
+   */
+  List<MonitoredApi> updateLatencyThreshold(Collection<String> ids, int latencyThresholdMs);
 }
@@ -0,0 +1,20 @@
+package com.apiwatcher.monitoring.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+
+/**
+ * Alterações do registro de APIs desde um watermark.
+ *
+ * - changed: APIs criadas/alteradas (ativas ou não), apenas com os campos
+ * necessários para o probe
+ * - deletedIds: APIs removidas (tombstones)
+ * - watermark: maior updatedAt/deletedAt observado (null = nenhum)
+ */
+public record RegistryDelta(
+    List<MonitoredApi> changed,
+    List<String> deletedIds,
+    LocalDateTime watermark) {
+}
@@ -0,0 +1,24 @@
+package com.apiwatcher.monitoring.domain.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Porta para sincronização incremental do registro de APIs.
+ */
+public interface RegistryDeltaSource {
+
+  /**
+   * APIs ativas (carga completa, sem tombstones).
+   */
+  RegistryDelta activeSnapshot();
+
+  /**
+   * Alterações e remoções com updatedAt/deletedAt posterior a {@code since}.
+   */
+  RegistryDelta changesSince(LocalDateTime since);
+
+  /**
+   * Descarta tombstones anteriores a {@code before}.
+   */
+  int purgeTombstones(LocalDateTime before);
+}
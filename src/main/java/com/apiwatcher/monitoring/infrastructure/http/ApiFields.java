@@ -0,0 +1,61 @@
+package com.apiwatcher.monitoring.infrastructure.http;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.apiwatcher.monitoring.infrastructure.http.dto.ApiResponse;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+/**
+ * Sparse fieldsets da listagem de APIs (fields=id,name,url).
+ *
+ * Cada item vira um mapa apenas com os campos pedidos, na ordem do DTO.
+ */
+final class ApiFields {
+
+  private static final Map<String, Function<ApiResponse, Object>> FIELDS = new LinkedHashMap<>();
+
+  static {
+    FIELDS.put("id", ApiResponse::id);
+    FIELDS.put("name", ApiResponse::name);
+    FIELDS.put("url", ApiResponse::url);
+    FIELDS.put("httpMethod", ApiResponse::httpMethod);
+    FIELDS.put("expectedStatusCode", ApiResponse::expectedStatusCode);
+    FIELDS.put("latencyThresholdMs", ApiResponse::latencyThresholdMs);
+    FIELDS.put("active", ApiResponse::active);
+    FIELDS.put("sloTarget", ApiResponse::sloTarget);
+    FIELDS.put("createdAt", ApiResponse::createdAt);
+    FIELDS.put("updatedAt", ApiResponse::updatedAt);
+    FIELDS.put("status", ApiResponse::status);
+  }
+
+  private final List<Map.Entry<String, Function<ApiResponse, Object>>> selected;
+
+  private ApiFields(List<Map.Entry<String, Function<ApiResponse, Object>>> selected) {
+    this.selected = selected;
+  }
+
+  static ApiFields parse(List<String> names) {
+    List<String> unknown = names.stream().filter(name -> !FIELDS.containsKey(name)).toList();
+    if (!unknown.isEmpty()) {
+      throw new DomainException("Campos desconhecidos: " + String.join(", ", unknown));
+    }
+    List<Map.Entry<String, Function<ApiResponse, Object>>> selected = new ArrayList<>();
+    FIELDS.entrySet().stream().filter(field -> names.contains(field.getKey())).forEach(selected::add);
+    return new ApiFields(selected);
+  }
+
+  Map<String, Object> project(ApiResponse api) {
+    Map<String, Object> item = new LinkedHashMap<>(selected.size());
+    for (Map.Entry<String, Function<ApiResponse, Object>> field : selected) {
+      Object value = field.getValue().apply(api);
+      if (value != null || !"status".equals(field.getKey())) {
+        item.put(field.getKey(), value);
+      }
+    }
+    return item;
+  }
+}
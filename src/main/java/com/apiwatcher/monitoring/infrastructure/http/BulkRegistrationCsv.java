@@ -0,0 +1,95 @@
+package com.apiwatcher.monitoring.infrastructure.http;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.apiwatcher.monitoring.application.usecase.BulkRegisterApisUseCase.BulkItem;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+/**
+ * Leitura do CSV de cadastro em lote: name,url[,httpMethod].
+ *
+ * O cabeçalho é opcional (primeira linha não vazia, BOM UTF-8 ignorado);
+ * httpMethod vazio assume GET. Campos podem vir entre aspas (com "" para
+ * aspas literais). Lido linha a linha, sem carregar o corpo inteiro em
+ * memória.
+ */
+final class BulkRegistrationCsv {
+
+  private static final String BOM = "\uFEFF";
+
+  private BulkRegistrationCsv() {
+  }
+
+  static List<BulkItem> parse(InputStream body, int maxItems) throws IOException {
+    List<BulkItem> items = new ArrayList<>();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+    String line;
+    int lineNumber = 0;
+    boolean first = true;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (lineNumber == 1 && line.startsWith(BOM)) {
+        line = line.substring(1);
+      }
+      if (line.isBlank()) {
+        continue;
+      }
+      List<String> fields = split(line, lineNumber);
+      if (first) {
+        first = false;
+        if ("name".equalsIgnoreCase(fields.get(0).trim())) {
+          continue;
+        }
+      }
+      if (fields.size() < 2) {
+        throw new DomainException("CSV invalido na linha " + lineNumber + ": esperado name,url[,httpMethod]");
+      }
+      if (items.size() == maxItems) {
+        throw new DomainException("Lote excede o limite de " + maxItems + " APIs");
+      }
+
+      String method = fields.size() > 2 && !fields.get(2).isBlank() ? fields.get(2).trim() : "GET";
+      items.add(new BulkItem(fields.get(0).trim(), fields.get(1).trim(), method));
+    }
+    return items;
+  }
+
+  private static List<String> split(String line, int lineNumber) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          current.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    if (quoted) {
+      throw new DomainException("CSV invalido na linha " + lineNumber + ": aspas nao fechadas");
+    }
+    fields.add(current.toString());
+    return fields;
+  }
+}
@@ -1,28 +1,80 @@
 package com.apiwatcher.monitoring.infrastructure.http;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import com.apiwatcher.monitoring.application.usecase.ExecuteHealthCheckUseCase;
+import com.apiwatcher.monitoring.application.job.HealthCheckJob;
+import com.apiwatcher.monitoring.application.job.HealthCheckJobService;
+import com.apiwatcher.monitoring.application.slo.SloEngine;
+import com.apiwatcher.monitoring.application.slo.SloStatus;
+import com.apiwatcher.monitoring.application.usecase.BatchTestApisUseCase;
+import com.apiwatcher.monitoring.application.usecase.BatchTestApisUseCase.BatchItem;
+import com.apiwatcher.monitoring.application.usecase.BulkRegisterApisUseCase;
+import com.apiwatcher.monitoring.application.usecase.BulkRegisterApisUseCase.BulkItem;
+import com.apiwatcher.monitoring.application.usecase.BulkUpdateApisUseCase;
+import com.apiwatcher.monitoring.application.usecase.CachedTestApiUseCase;
+import com.apiwatcher.monitoring.application.usecase.ListApisUseCase;
 import com.apiwatcher.monitoring.application.usecase.TestAndRegisterApiUseCase;
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
 import com.apiwatcher.monitoring.domain.model.MonitoredApi;
 import com.apiwatcher.monitoring.domain.repository.MonitoredApiRepository;
 import com.apiwatcher.monitoring.infrastructure.http.dto.ApiResponse;
+import com.apiwatcher.monitoring.infrastructure.http.dto.BatchTestRequest;
+import com.apiwatcher.monitoring.infrastructure.http.dto.BulkRegistrationResponse;
+import com.apiwatcher.monitoring.infrastructure.http.dto.BulkUpdateRequest;
+import com.apiwatcher.monitoring.infrastructure.http.dto.HealthCheckJobRequest;
+import com.apiwatcher.monitoring.infrastructure.http.dto.HistoryResponse;
+import com.apiwatcher.monitoring.infrastructure.http.dto.RecentHistoryResponse;
+import com.apiwatcher.monitoring.infrastructure.http.dto.SloRequest;
 import com.apiwatcher.monitoring.infrastructure.http.dto.TestApiRequest;
 import com.apiwatcher.monitoring.infrastructure.http.dto.TestApiResponse;
+import com.apiwatcher.monitoring.infrastructure.metrics.ProbeMetrics;
+import com.apiwatcher.monitoring.infrastructure.status.LiveStatus;
+import com.apiwatcher.monitoring.infrastructure.status.LiveStatusStore;
+import com.apiwatcher.monitoring.infrastructure.stream.LiveCheckStream;
+import com.apiwatcher.monitoring.infrastructure.stream.StreamFilter;
+import com.apiwatcher.monitoring.infrastructure.timeseries.query.HistoryQueryService;
+import com.apiwatcher.monitoring.infrastructure.timeseries.recent.RecentHistoryStore;
+import com.apiwatcher.shared.exceptions.DomainException;
+import com.apiwatcher.shared.tracing.Span;
+import com.apiwatcher.shared.tracing.Tracer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 
 /**
  * REST Controller para gerenciamento de APIs monitoradas.
@@ -31,46 +83,247 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/monitoring")
 public class MonitoringController {
 
-  private final ExecuteHealthCheckUseCase executeHealthCheckUseCase;
+  // Limite superior de pontos por resposta de histórico
+  private static final int MAX_HISTORY_POINTS = 10_000;
+
+  private final HealthCheckJobService healthCheckJobService;
   private final TestAndRegisterApiUseCase testAndRegisterApiUseCase;
   private final MonitoredApiRepository repository;
+  private final RecentHistoryStore recentHistoryStore;
+  private final HistoryQueryService historyQueryService;
+  private final SloEngine sloEngine;
+  private final LiveStatusStore liveStatusStore;
+  private final BulkRegisterApisUseCase bulkRegisterApisUseCase;
+  private final BulkUpdateApisUseCase bulkUpdateApisUseCase;
+  private final LiveCheckStream liveCheckStream;
+  private final ListApisUseCase listApisUseCase;
+  private final BatchTestApisUseCase batchTestApisUseCase;
+  private final CachedTestApiUseCase cachedTestApiUseCase;
+  private final ProbeMetrics probeMetrics;
+  private final Tracer tracer;
+  private final ObjectMapper objectMapper;
+  private final int bulkMaxItems;
+  private final Duration batchTimeout;
 
   public MonitoringController(
-      ExecuteHealthCheckUseCase executeHealthCheckUseCase,
+      HealthCheckJobService healthCheckJobService,
       TestAndRegisterApiUseCase testAndRegisterApiUseCase,
-      MonitoredApiRepository repository) {
-    this.executeHealthCheckUseCase = executeHealthCheckUseCase;
+      MonitoredApiRepository repository,
+      RecentHistoryStore recentHistoryStore,
+      HistoryQueryService historyQueryService,
+      SloEngine sloEngine,
+      LiveStatusStore liveStatusStore,
+      BulkRegisterApisUseCase bulkRegisterApisUseCase,
+      BulkUpdateApisUseCase bulkUpdateApisUseCase,
+      LiveCheckStream liveCheckStream,
+      ListApisUseCase listApisUseCase,
+      BatchTestApisUseCase batchTestApisUseCase,
+      CachedTestApiUseCase cachedTestApiUseCase,
+      ProbeMetrics probeMetrics,
+      Tracer tracer,
+      ObjectMapper objectMapper,
+      @Value("${registration.bulk.max-items:1000}") int bulkMaxItems,
+      @Value("${test.batch.timeout:10m}") Duration batchTimeout) {
+    this.healthCheckJobService = healthCheckJobService;
     this.testAndRegisterApiUseCase = testAndRegisterApiUseCase;
     this.repository = repository;
+    this.recentHistoryStore = recentHistoryStore;
+    this.historyQueryService = historyQueryService;
+    this.sloEngine = sloEngine;
+    this.liveStatusStore = liveStatusStore;
+    this.bulkRegisterApisUseCase = bulkRegisterApisUseCase;
+    this.bulkUpdateApisUseCase = bulkUpdateApisUseCase;
+    this.liveCheckStream = liveCheckStream;
+    this.listApisUseCase = listApisUseCase;
+    this.batchTestApisUseCase = batchTestApisUseCase;
+    this.cachedTestApiUseCase = cachedTestApiUseCase;
+    this.probeMetrics = probeMetrics;
+    this.tracer = tracer;
+    this.objectMapper = objectMapper;
+    this.bulkMaxItems = bulkMaxItems;
+    this.batchTimeout = batchTimeout;
   }
 
   /**
-   * GET /api/monitoring/apis - Listar todas as APIs
+   * GET /api/monitoring/apis - Listar APIs
+   * Filtros: active, host, method; paginação por page/size ou cursor (sem
+   * esses parâmetros, lista completa); fields=id,name,... limita os campos.
+   * withStatus=true inclui o status ao vivo de cada API.
+   *
+   * Sem withStatus, a resposta tem ETag calculado sobre a página servida
+   * (APIs, total, cursor e campos): If-None-Match com o mesmo valor responde
+   * 304 sem corpo. Derivar do conteúdo, e não da versão do registro no
+   * Redis, evita associar a versão nova a um snapshot local ainda antigo.
    */
   @GetMapping("/apis")
-  public ResponseEntity<List<ApiResponse>> listApis(@RequestParam(required = false) Boolean active) {
-    List<MonitoredApi> apis;
+  public ResponseEntity<List<?>> listApis(
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(defaultValue = "false") boolean withStatus,
+      @RequestParam(required = false) String host,
+      @RequestParam(required = false) String method,
+      @RequestParam(required = false) Integer page,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) List<String> fields,
+      WebRequest request) {
+    ListApisUseCase.Page result = listApisUseCase.list(
+        new ListApisUseCase.Query(host, method, active, page, size, cursor));
+    List<MonitoredApi> apis = result.items();
 
-    if (active != null && active) {
-      apis = repository.findAllActive();
-    } else {
-      apis = repository.findAll();
+    // O status ao vivo muda sem alterar o registro: sem ETag nesse caso
+    String etag = null;
+    if (!withStatus) {
+      etag = pageEtag(result, fields);
+      if (request.checkNotModified(etag)) {
+        return null;
+      }
     }
 
+    Map<String, LiveStatus> statuses = withStatus
+        ? liveStatusStore.findAll(apis.stream().map(MonitoredApi::getId).toList())
+        : Map.of();
+
     List<ApiResponse> response = apis.stream()
-        .map(ApiResponse::from)
+        .map(api -> ApiResponse.from(api, statuses.get(api.getId())))
         .collect(Collectors.toList());
 
-    return ResponseEntity.ok(response);
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+        .header("X-Total-Count", Integer.toString(result.total()));
+    if (etag != null) {
+      builder.eTag(etag).cacheControl(CacheControl.noCache());
+    }
+    if (result.nextCursor() != null) {
+      builder.header("X-Next-Cursor", result.nextCursor())
+          .header(HttpHeaders.LINK, "<" + ServletUriComponentsBuilder.fromCurrentRequest()
+              .replaceQueryParam("page")
+              .replaceQueryParam("cursor", result.nextCursor())
+              .toUriString() + ">; rel=\"next\"");
+    }
+
+    if (fields == null || fields.isEmpty()) {
+      return builder.body(response);
+    }
+    ApiFields projection = ApiFields.parse(fields);
+    return builder.body(response.stream().map(projection::project).toList());
+  }
+
+  /**
+   * MD5 dos campos expostos de cada API da página, do total, do cursor e
+   * da projeção (mesmo algoritmo do ShallowEtagHeaderFilter, sem
+   * serializar o corpo duas vezes).
+   */
+  private static String pageEtag(ListApisUseCase.Page result, List<String> fields) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    Consumer<Object> update = value -> digest.update(
+        (String.valueOf(value) + '\u001F').getBytes(StandardCharsets.UTF_8));
+    update.accept(result.total());
+    update.accept(result.nextCursor());
+    update.accept(fields);
+    for (MonitoredApi api : result.items()) {
+      update.accept(api.getId());
+      update.accept(api.getName());
+      update.accept(api.getUrl());
+      update.accept(api.getHttpMethod());
+      update.accept(api.getExpectedStatusCode());
+      update.accept(api.getLatencyThresholdMs());
+      update.accept(api.isActive());
+      update.accept(api.getSloTarget());
+      update.accept(api.getCreatedAt());
+      update.accept(api.getUpdatedAt());
+    }
+    return "\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
   }
 
   /**
    * GET /api/monitoring/apis/{id} - Buscar API por ID
    */
   @GetMapping("/apis/{id}")
-  public ResponseEntity<ApiResponse> getApi(@PathVariable String id) {
+  public ResponseEntity<ApiResponse> getApi(
+      @PathVariable String id,
+      @RequestParam(defaultValue = "false") boolean withStatus) {
+    return repository.findById(id)
+        .map(api -> ApiResponse.from(api, withStatus ? liveStatusStore.find(id).orElse(null) : null))
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * GET /api/monitoring/apis/{id}/recent - Histórico recente (memória)
+   * Janela em minutos, limitada ao período mantido em memória
+   */
+  @GetMapping("/apis/{id}/recent")
+  public ResponseEntity<RecentHistoryResponse> getRecentHistory(
+      @PathVariable String id,
+      @RequestParam(defaultValue = "60") int minutes) {
+    long to = System.currentTimeMillis();
+    long from = to - minutes * 60_000L;
+
+    return ResponseEntity.ok(new RecentHistoryResponse(
+        id,
+        from,
+        to,
+        recentHistoryStore.summarize(id, from, to),
+        recentHistoryStore.query(id, from, to)));
+  }
+
+  /**
+   * GET /api/monitoring/apis/{id}/history - Histórico em um intervalo
+   * from/to em epoch millis (padrão: última hora). Acima de maxPoints, a
+   * série é reduzida no servidor com LTTB.
+   */
+  @GetMapping("/apis/{id}/history")
+  public ResponseEntity<HistoryResponse> getHistory(
+      @PathVariable String id,
+      @RequestParam(required = false) Long from,
+      @RequestParam(required = false) Long to,
+      @RequestParam(defaultValue = "1000") int maxPoints) {
+    long end = to != null ? to : System.currentTimeMillis();
+    long start = from != null ? from : end - 3_600_000L;
+    if (start > end) {
+      throw new DomainException("Parametro 'from' deve ser anterior a 'to'");
+    }
+    int budget = Math.max(3, Math.min(maxPoints, MAX_HISTORY_POINTS));
+
+    return repository.findById(id)
+        .map(api -> HistoryResponse.from(api, start, end, historyQueryService.query(id, start, end, budget)))
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * GET /api/monitoring/slo - Burn rate e error budget de todas as APIs
+   */
+  @GetMapping("/slo")
+  public ResponseEntity<List<SloStatus>> listSlo() {
+    return ResponseEntity.ok(sloEngine.statuses());
+  }
+
+  /**
+   * GET /api/monitoring/apis/{id}/slo - Burn rate e error budget da API
+   */
+  @GetMapping("/apis/{id}/slo")
+  public ResponseEntity<SloStatus> getSlo(@PathVariable String id) {
+    return sloEngine.status(id)
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * PUT /api/monitoring/apis/{id}/slo - Definir meta de SLO da API
+   */
+  @PutMapping("/apis/{id}/slo")
+  public ResponseEntity<ApiResponse> updateSlo(@PathVariable String id, @Valid @RequestBody SloRequest request) {
     return repository.findById(id)
-        .map(ApiResponse::from)
+        .map(cached -> {
+          MonitoredApi api = cached.copy();
+          api.updateSloTarget(request.target());
+          return ApiResponse.from(repository.save(api));
+        })
         .map(ResponseEntity::ok)
         .orElse(ResponseEntity.notFound().build());
   }
@@ -85,28 +338,120 @@ public class MonitoringController {
     }
 
     repository.deleteById(id);
+    recentHistoryStore.remove(id);
+    sloEngine.remove(id);
+    liveStatusStore.remove(id);
+    liveCheckStream.remove(id);
+    probeMetrics.remove(id);
     return ResponseEntity.noContent().build();
   }
 
   /**
-   * POST /api/monitoring/health-check - Executar health check manual
+   * GET /api/monitoring/stream - Resultados de health check ao vivo (SSE)
+   * Eventos "check" e "state"; filtros opcionais por apiId (repetível),
+   * host e status (UP, DEGRADED, DOWN)
+   */
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream(
+      @RequestParam(required = false) Set<String> apiId,
+      @RequestParam(required = false) String host,
+      @RequestParam(required = false) Set<HealthStatus> status) {
+    return liveCheckStream.subscribe(new StreamFilter(apiId, host, status));
+  }
+
+  /**
+   * POST /api/monitoring/health-check - Disparar health check manual
+   * Assíncrono: retorna 202 com o job; corpo opcional {"ids": [...]} ou
+   * {"host": "..."} (sem corpo = todas as APIs ativas)
    */
   @PostMapping("/health-check")
-  public ResponseEntity<String> executeHealthCheck() {
-    var results = executeHealthCheckUseCase.execute();
-    return ResponseEntity.ok(String.format("Health check executado: %d APIs verificadas", results.size()));
+  public ResponseEntity<HealthCheckJob.Snapshot> executeHealthCheck(
+      @RequestBody(required = false) HealthCheckJobRequest request) {
+    HealthCheckJob job = request != null
+        ? healthCheckJobService.submit(request.ids(), request.host())
+        : healthCheckJobService.submit(null, null);
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/monitoring/health-check/jobs/" + job.getId()))
+        .body(job.snapshot());
+  }
+
+  /**
+   * GET /api/monitoring/health-check/jobs/{id} - Progresso e resultado do job
+   */
+  @GetMapping("/health-check/jobs/{id}")
+  public ResponseEntity<HealthCheckJob.Snapshot> getHealthCheckJob(@PathVariable String id) {
+    return healthCheckJobService.find(id)
+        .map(HealthCheckJob::snapshot)
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * GET /api/monitoring/traces/{traceId} - Spans de um probe, do request
+   * HTTP à gravação no MongoDB (trace id gravado no histórico, campo "tr").
+   * Mantidos em memória por tracing.retention
+   */
+  @GetMapping("/traces/{traceId}")
+  public ResponseEntity<List<Span>> getTrace(@PathVariable String traceId) {
+    List<Span> spans = tracer.find(traceId);
+    if (spans.isEmpty()) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(spans);
   }
 
   /**
    * POST /api/monitoring/test - Testar API (sem cadastrar)
-   * Retorna latência medida e threshold sugerido
+   * Retorna latência medida e threshold sugerido; testes simultâneos ou
+   * recentes (poucos segundos) da mesma URL compartilham o resultado (ageMs)
    */
   @PostMapping("/test")
   public ResponseEntity<TestApiResponse> testApi(@Valid @RequestBody TestApiRequest request) {
-    TestApiResponse result = testAndRegisterApiUseCase.testApi(request.url(), request.httpMethod());
+    TestApiResponse result = cachedTestApiUseCase.test(request.url(), request.httpMethod());
     return ResponseEntity.ok(result);
   }
 
+  /**
+   * POST /api/monitoring/test/batch - Testar várias APIs (sem cadastrar)
+   * Corpo: [{"url", "httpMethod"}, ...]; resposta NDJSON, uma linha por API
+   * na ordem em que os testes terminam (index = posição no lote).
+   * concurrency limita os testes simultâneos desta requisição.
+   *
+   * O timeout (test.batch.timeout) vale só para esta resposta; as demais
+   * requisições assíncronas mantêm o padrão do Spring MVC.
+   */
+  @PostMapping(value = "/test/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<ResponseBodyEmitter> testBatch(
+      @Valid @RequestBody List<@NotNull BatchTestRequest> requests,
+      @RequestParam(required = false) Integer concurrency) {
+    List<BatchItem> items = requests.stream()
+        .map(request -> new BatchItem(request.url(), request.httpMethod()))
+        .toList();
+    batchTestApisUseCase.validate(items);
+
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter(batchTimeout.toMillis());
+    Thread.ofVirtual().name("test-batch").start(() -> {
+      try {
+        batchTestApisUseCase.testAll(items, concurrency, result -> {
+          try {
+            byte[] json = objectMapper.writeValueAsBytes(result);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            emitter.send(line, MediaType.APPLICATION_NDJSON);
+          } catch (IOException e) {
+            // Cliente desconectou: interrompe o lote
+            throw new UncheckedIOException(e);
+          }
+        });
+        emitter.complete();
+      } catch (RuntimeException e) {
+        // Desconexão, timeout (emitter já concluído) ou falha no lote
+        emitter.completeWithError(e);
+      }
+    });
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+  }
+
   /**
    * POST /api/monitoring/test-and-register - Testar E cadastrar automaticamente
    * Descobre o threshold ideal baseado na resposta real
@@ -123,4 +468,61 @@ public class MonitoringController {
       public final ApiResponse api = ApiResponse.from(result.registeredApi());
     });
   }
+
+  /**
+   * POST /api/monitoring/apis/bulk - Testar e cadastrar APIs em lote (JSON)
+   * Corpo: [{"name", "url", "httpMethod"}, ...]; resultado por item
+   */
+  @PostMapping(value = "/apis/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BulkRegistrationResponse> bulkRegister(@RequestBody List<TestApiRequest> requests) {
+    List<BulkItem> items = requests.stream()
+        .map(request -> new BulkItem(request.name(), request.url(), request.httpMethod()))
+        .toList();
+    return ResponseEntity.ok(BulkRegistrationResponse.from(bulkRegisterApisUseCase.register(items)));
+  }
+
+  /**
+   * POST /api/monitoring/apis/bulk - Testar e cadastrar APIs em lote (CSV)
+   * Linhas: name,url[,httpMethod]
+   */
+  @PostMapping(value = "/apis/bulk", consumes = "text/csv")
+  public ResponseEntity<BulkRegistrationResponse> bulkRegisterCsv(InputStream body) throws IOException {
+    List<BulkItem> items = BulkRegistrationCsv.parse(body, bulkMaxItems);
+    return ResponseEntity.ok(BulkRegistrationResponse.from(bulkRegisterApisUseCase.register(items)));
+  }
+
+  /**
+   * POST /api/monitoring/apis/bulk/activate - Ativar APIs em lote
+   * Corpo: {"ids": [...]} ou {"host": "api.example.com"}
+   */
+  @PostMapping("/apis/bulk/activate")
+  public ResponseEntity<BulkUpdateApisUseCase.Result> bulkActivate(@RequestBody BulkUpdateRequest request) {
+    return ResponseEntity.ok(bulkUpdateApisUseCase.activate(request.ids(), request.host()));
+  }
+
+  /**
+   * POST /api/monitoring/apis/bulk/deactivate - Desativar APIs em lote
+   * Corpo: {"ids": [...]} ou {"host": "api.example.com"}
+   * Como no DELETE, descarta SLO e métricas das APIs desativadas: sem novos
+   * checks, os gauges ficariam parados no último valor
+   */
+  @PostMapping("/apis/bulk/deactivate")
+  public ResponseEntity<BulkUpdateApisUseCase.Result> bulkDeactivate(@RequestBody BulkUpdateRequest request) {
+    BulkUpdateApisUseCase.Result result = bulkUpdateApisUseCase.deactivate(request.ids(), request.host());
+    for (String id : result.updatedIds()) {
+      sloEngine.remove(id);
+      probeMetrics.remove(id);
+    }
+    return ResponseEntity.ok(result);
+  }
+
+  /**
+   * POST /api/monitoring/apis/bulk/threshold - Alterar threshold em lote
+   * Corpo: {"ids": [...] ou "host": "...", "latencyThresholdMs": 800}
+   */
+  @PostMapping("/apis/bulk/threshold")
+  public ResponseEntity<BulkUpdateApisUseCase.Result> bulkUpdateThreshold(@RequestBody BulkUpdateRequest request) {
+    return ResponseEntity.ok(bulkUpdateApisUseCase.updateThreshold(
+        request.ids(), request.host(), request.latencyThresholdMs()));
+  }
 }
@@ -3,9 +3,12 @@ package com.apiwatcher.monitoring.infrastructure.http.dto;
 import java.time.LocalDateTime;
 
 import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.infrastructure.status.LiveStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
  * DTO para resposta com dados da API monitorada.
+ * status só é incluído quando solicitado (withStatus=true).
  */
 public record ApiResponse(
     String id,
@@ -15,9 +18,15 @@ public record ApiResponse(
     Integer expectedStatusCode,
     Integer latencyThresholdMs,
     boolean active,
+    Double sloTarget,
     LocalDateTime createdAt,
-    LocalDateTime updatedAt) {
+    LocalDateTime updatedAt,
+    @JsonInclude(JsonInclude.Include.NON_NULL) LiveStatus status) {
   public static ApiResponse from(MonitoredApi api) {
+    return from(api, null);
+  }
+
+  public static ApiResponse from(MonitoredApi api, LiveStatus status) {
     return new ApiResponse(
         api.getId(),
         api.getName(),
@@ -26,7 +35,9 @@ public record ApiResponse(
         api.getExpectedStatusCode(),
         api.getLatencyThresholdMs(),
         api.isActive(),
+        api.getSloTarget(),
         api.getCreatedAt(),
-        api.getUpdatedAt());
+        api.getUpdatedAt(),
+        status);
   }
 }
@@ -0,0 +1,12 @@
+package com.apiwatcher.monitoring.infrastructure.http.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO de um item do teste em lote (sem cadastro, sem nome).
+ */
+public record BatchTestRequest(
+    @NotBlank(message = "URL é obrigatória") String url,
+
+    @NotBlank(message = "Método HTTP é obrigatório") String httpMethod) {
+}
@@ -0,0 +1,31 @@
+package com.apiwatcher.monitoring.infrastructure.http.dto;
+
+import java.util.List;
+
+import com.apiwatcher.monitoring.application.usecase.BulkRegisterApisUseCase.ItemResult;
+import com.apiwatcher.monitoring.application.usecase.BulkRegisterApisUseCase.Status;
+
+/**
+ * DTO para resposta do cadastro em lote: totais + resultado por item.
+ */
+public record BulkRegistrationResponse(
+    int total,
+    long created,
+    long duplicates,
+    long invalid,
+    long failed,
+    List<ItemResult> items) {
+  public static BulkRegistrationResponse from(List<ItemResult> items) {
+    return new BulkRegistrationResponse(
+        items.size(),
+        count(items, Status.CREATED),
+        count(items, Status.DUPLICATE),
+        count(items, Status.INVALID),
+        count(items, Status.FAILED),
+        items);
+  }
+
+  private static long count(List<ItemResult> items, Status status) {
+    return items.stream().filter(item -> item.status() == status).count();
+  }
+}
@@ -0,0 +1,13 @@
+package com.apiwatcher.monitoring.infrastructure.http.dto;
+
+import java.util.List;
+
+/**
+ * DTO para alteração em lote: seleciona as APIs por ids ou por host.
+ * latencyThresholdMs é usado apenas na alteração de threshold.
+ */
+public record BulkUpdateRequest(
+    List<String> ids,
+    String host,
+    Integer latencyThresholdMs) {
+}
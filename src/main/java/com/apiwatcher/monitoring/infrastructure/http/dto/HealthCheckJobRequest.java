@@ -0,0 +1,12 @@
+package com.apiwatcher.monitoring.infrastructure.http.dto;
+
+import java.util.List;
+
+/**
+ * DTO para disparar um health check manual: por ids, por host, ou (sem
+ * corpo) em todas as APIs ativas.
+ */
+public record HealthCheckJobRequest(
+    List<String> ids,
+    String host) {
+}
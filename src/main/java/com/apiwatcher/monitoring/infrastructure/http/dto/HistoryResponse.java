@@ -0,0 +1,41 @@
+package com.apiwatcher.monitoring.infrastructure.http.dto;
+
+import java.util.List;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.infrastructure.timeseries.query.HistoryPoint;
+import com.apiwatcher.monitoring.infrastructure.timeseries.query.HistoryQueryService.HistoryResult;
+
+/**
+ * DTO com o histórico de uma API em um intervalo.
+ *
+ * Nome, URL e threshold vêm do cadastro (não são gravados no histórico).
+ */
+public record HistoryResponse(
+    String apiId,
+    String name,
+    String url,
+    Integer latencyThresholdMs,
+    long from,
+    long to,
+    String source,
+    int totalPoints,
+    int returnedPoints,
+    boolean downsampled,
+    List<HistoryPoint> points) {
+
+  public static HistoryResponse from(MonitoredApi api, long from, long to, HistoryResult result) {
+    return new HistoryResponse(
+        api.getId(),
+        api.getName(),
+        api.getUrl(),
+        api.getLatencyThresholdMs(),
+        from,
+        to,
+        result.source(),
+        result.totalPoints(),
+        result.points().size(),
+        result.downsampled(),
+        result.points());
+  }
+}
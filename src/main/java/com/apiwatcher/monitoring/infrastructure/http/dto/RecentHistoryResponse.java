@@ -0,0 +1,17 @@
+package com.apiwatcher.monitoring.infrastructure.http.dto;
+
+import java.util.List;
+
+import com.apiwatcher.monitoring.infrastructure.timeseries.recent.RecentPoint;
+import com.apiwatcher.monitoring.infrastructure.timeseries.recent.RecentSummary;
+
+/**
+ * DTO com o histórico recente (em memória) de uma API.
+ */
+public record RecentHistoryResponse(
+    String apiId,
+    long from,
+    long to,
+    RecentSummary summary,
+    List<RecentPoint> points) {
+}
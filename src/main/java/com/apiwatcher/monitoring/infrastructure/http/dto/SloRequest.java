@@ -0,0 +1,11 @@
+package com.apiwatcher.monitoring.infrastructure.http.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * DTO para definir a meta de SLO de uma API (null = padrão global).
+ */
+public record SloRequest(
+    @DecimalMin(value = "0.0", inclusive = false, message = "Meta deve ser > 0") @DecimalMax(value = "1.0", inclusive = false, message = "Meta deve ser < 1") Double target) {
+}
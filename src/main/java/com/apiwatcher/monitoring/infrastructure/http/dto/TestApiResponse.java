@@ -1,7 +1,13 @@
 package com.apiwatcher.monitoring.infrastructure.http.dto;
 
+import com.apiwatcher.monitoring.application.baseline.LatencyBaseline;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * DTO com resultado do teste da API.
+ * latencyMs é a mediana (p50) das amostras; baseline traz a distribuição.
+ * ageMs (apenas em POST /test) é a idade do resultado, que pode vir de um
+ * teste compartilhado ou recente da mesma URL.
  */
 public record TestApiResponse(
     boolean success,
@@ -12,29 +18,34 @@ public record TestApiResponse(
     // Sugestões automáticas
     int suggestedThreshold,
     int suggestedExpectedStatusCode,
-    String recommendation) {
-  public static TestApiResponse success(int statusCode, long latencyMs) {
-    // Calcula threshold sugerido: latência medida + 50% de margem
-    int suggestedThreshold = (int) (latencyMs * 1.5);
+    String recommendation,
+
+    // Distribuição de latência (apenas em caso de sucesso)
+    @JsonInclude(JsonInclude.Include.NON_NULL) LatencyBaseline baseline,
 
-    // Mínimo de 500ms, máximo de 30 segundos
-    if (suggestedThreshold < 500)
-      suggestedThreshold = 500;
-    if (suggestedThreshold > 30000)
-      suggestedThreshold = 30000;
+    @JsonInclude(JsonInclude.Include.NON_NULL) Long ageMs) {
+  public static TestApiResponse success(int statusCode, LatencyBaseline baseline) {
+    // Threshold sugerido a partir dos percentis com conexão aquecida
+    int suggestedThreshold = baseline.suggestedThresholdMs();
 
     String recommendation = String.format(
-        "API respondeu em %dms. Threshold sugerido: %dms (50%% de margem de segurança)",
-        latencyMs, suggestedThreshold);
+        "API respondeu com p50 de %dms, p95 de %dms e p99 de %dms (%d amostras). "
+            + "Threshold sugerido: %dms (p95 + 50%% de margem, mínimo p99)",
+        baseline.p50Ms(), baseline.p95Ms(), baseline.p99Ms(), baseline.samples(), suggestedThreshold);
+    if (baseline.failedSamples() > 0) {
+      recommendation += String.format(". Atenção: %d amostra(s) falharam", baseline.failedSamples());
+    }
 
     return new TestApiResponse(
         true,
         statusCode,
-        latencyMs,
+        baseline.p50Ms(),
         null,
         suggestedThreshold,
         statusCode, // Usa o status code retornado
-        recommendation);
+        recommendation,
+        baseline,
+        null);
   }
 
   public static TestApiResponse failure(int statusCode, long latencyMs, String errorMessage) {
@@ -45,7 +56,9 @@ public record TestApiResponse(
         errorMessage,
         5000, // Threshold padrão em caso de falha
         200, // Espera 200 por padrão
-        "API retornou erro. Verifique se a URL está correta.");
+        "API retornou erro. Verifique se a URL está correta.",
+        null,
+        null);
   }
 
   public static TestApiResponse error(String errorMessage) {
@@ -56,6 +69,13 @@ public record TestApiResponse(
         errorMessage,
         5000,
         200,
-        "Não foi possível conectar à API. Verifique a URL e tente novamente.");
+        "Não foi possível conectar à API. Verifique a URL e tente novamente.",
+        null,
+        null);
+  }
+
+  public TestApiResponse withAge(long ageMs) {
+    return new TestApiResponse(success, statusCode, latencyMs, errorMessage, suggestedThreshold,
+        suggestedExpectedStatusCode, recommendation, baseline, ageMs);
   }
 }
@@ -57,18 +57,14 @@ public class HistoryEventService {
   public void saveHealthCheck(HealthCheckEvent event) {
     try {
       HealthCheckHistory history = new HealthCheckHistory(
+          event.getEventId(),
           event.getApiId(),
-          event.getApiName(),
-          event.getApiUrl(),
           event.isSuccess(),
           event.getStatusCode(),
           event.getLatencyMs(),
           event.getErrorMessage(),
           event.isExceededThreshold(),
-          event.getThresholdMs(),
-          event.getCheckedAt(),
-          event.getEventId(),
-          event.getEventType());
+          HealthCheckHistory.toEpochMillis(event.getCheckedAt()));
 
       healthCheckHistoryRepository.save(history);
       String status = event.isSuccess() ? "✅ OK" : "❌ FALHA";
@@ -1,5 +1,6 @@
 package com.apiwatcher.monitoring.infrastructure.messaging;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,9 @@ import com.apiwatcher.monitoring.infrastructure.timeseries.document.ApiRegistrat
 import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckHistory;
 import com.apiwatcher.monitoring.infrastructure.timeseries.repository.ApiRegistrationHistoryRepository;
 import com.apiwatcher.monitoring.infrastructure.timeseries.repository.HealthCheckHistoryRepository;
+import com.apiwatcher.shared.jfr.MongoWriteEvent;
+import com.apiwatcher.shared.metrics.PipelineMetrics;
+import com.apiwatcher.shared.tracing.Tracer;
 
 @Component
 public class KafkaEventConsumer {
@@ -23,12 +27,18 @@ public class KafkaEventConsumer {
 
   private final ApiRegistrationHistoryRepository apiRegistrationRepository;
   private final HealthCheckHistoryRepository healthCheckRepository;
+  private final PipelineMetrics pipelineMetrics;
+  private final Tracer tracer;
 
   public KafkaEventConsumer(
       ApiRegistrationHistoryRepository apiRegistrationRepository,
-      HealthCheckHistoryRepository healthCheckRepository) {
+      HealthCheckHistoryRepository healthCheckRepository,
+      PipelineMetrics pipelineMetrics,
+      Tracer tracer) {
     this.apiRegistrationRepository = apiRegistrationRepository;
     this.healthCheckRepository = healthCheckRepository;
+    this.pipelineMetrics = pipelineMetrics;
+    this.tracer = tracer;
   }
 
   /**
@@ -40,6 +50,7 @@ public class KafkaEventConsumer {
       @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
       @Header(KafkaHeaders.RECEIVED_PARTITION) int partition) {
 
+    long start = System.nanoTime();
     String eventId = (String) eventData.get("eventId");
     logger.info("[KAFKA-RECEIVE] Evento recebido: topic={}, partition={}, eventId={}",
         topic, partition, eventId);
@@ -56,23 +67,40 @@ public class KafkaEventConsumer {
           eventId,
           (String) eventData.get("eventType"));
 
+      long writeStart = System.nanoTime();
+      MongoWriteEvent writeEvent = new MongoWriteEvent();
+      writeEvent.begin();
       apiRegistrationRepository.save(history);
+      recordWrite(writeEvent, "api_registrations", writeStart);
       logger.info("[MONGODB] Historico de registro salvo: API={}, EventId={}",
           eventData.get("name"), eventId);
 
     } catch (Exception e) {
       logger.error("[MONGODB-ERROR] Erro ao processar evento de registro: {}", e.getMessage(), e);
+    } finally {
+      pipelineMetrics.recordConsumerProcessing(topic, System.nanoTime() - start);
     }
   }
 
   /**
-   * Consome eventos de health check
+   * Consome eventos de health check. O trace id do probe (header
+   * Tracer.HEADER) é gravado no histórico; os spans kafka.transit (do envio
+   * pelo producer até o consumo), consumer.process e mongo.write completam o
+   * trace.
    */
   @KafkaListener(topics = "health-check", groupId = "${spring.kafka.consumer.group-id}", containerFactory = "kafkaListenerContainerFactory")
   public void consumeHealthCheck(
       @Payload Map<String, Object> eventData,
       @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-      @Header(KafkaHeaders.RECEIVED_PARTITION) int partition) {
+      @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+      @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long recordTimestamp,
+      @Header(name = Tracer.HEADER, required = false) byte[] traceHeader) {
+
+    long start = System.nanoTime();
+    long receivedAt = System.currentTimeMillis();
+    String traceId = traceHeader != null ? new String(traceHeader, StandardCharsets.UTF_8) : null;
+    tracer.record(traceId, "kafka.transit", recordTimestamp,
+        Math.max(0, receivedAt - recordTimestamp) * 1_000_000, Map.of("partition", String.valueOf(partition)));
 
     String eventId = (String) eventData.get("eventId");
     String apiName = (String) eventData.get("apiName");
@@ -82,27 +110,47 @@ public class KafkaEventConsumer {
         topic, apiName, success);
 
     try {
+      // Schema compacto: nome/URL/threshold ficam no cadastro, não no histórico
       HealthCheckHistory history = new HealthCheckHistory(
+          eventId,
           (String) eventData.get("apiId"),
-          apiName,
-          (String) eventData.get("apiUrl"),
           success,
           (Integer) eventData.get("statusCode"),
           ((Number) eventData.get("latencyMs")).longValue(),
           (String) eventData.get("errorMessage"),
           (Boolean) eventData.get("exceededThreshold"),
-          (Integer) eventData.get("thresholdMs"),
-          parseLocalDateTime(eventData.get("checkedAt")),
-          eventId,
-          (String) eventData.get("eventType"));
+          HealthCheckHistory.toEpochMillis(parseLocalDateTime(eventData.get("checkedAt"))));
+      history.setTraceId(traceId);
 
+      long writeStartedAt = System.currentTimeMillis();
+      long writeStart = System.nanoTime();
+      MongoWriteEvent writeEvent = new MongoWriteEvent();
+      writeEvent.begin();
       healthCheckRepository.save(history);
+      recordWrite(writeEvent, "health_checks", writeStart);
+      tracer.record(traceId, "mongo.write", writeStartedAt, System.nanoTime() - writeStart,
+          Map.of("collection", HealthCheckHistory.COLLECTION));
+      pipelineMetrics.recordEndToEnd(history.getCheckedAt());
 
       String status = success ? "[OK]" : "[FALHA]";
       logger.debug("{} Health check salvo no MongoDB: API={}", status, apiName);
 
     } catch (Exception e) {
       logger.error("[MONGODB-ERROR] Erro ao processar health check: {}", e.getMessage(), e);
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      pipelineMetrics.recordConsumerProcessing(topic, elapsed);
+      tracer.record(traceId, "consumer.process", receivedAt, elapsed, Map.of("eventId", String.valueOf(eventId)));
+    }
+  }
+
+  private void recordWrite(MongoWriteEvent writeEvent, String collection, long start) {
+    pipelineMetrics.recordMongoWrite(collection, 1, System.nanoTime() - start);
+    writeEvent.end();
+    if (writeEvent.shouldCommit()) {
+      writeEvent.collection = collection;
+      writeEvent.batchSize = 1;
+      writeEvent.commit();
     }
   }
 
@@ -1,7 +1,12 @@
 package com.apiwatcher.monitoring.infrastructure.messaging;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -10,6 +15,9 @@ import org.springframework.stereotype.Component;
 
 import com.apiwatcher.shared.events.DomainEvent;
 import com.apiwatcher.shared.events.EventPublisher;
+import com.apiwatcher.shared.jfr.KafkaPublishEvent;
+import com.apiwatcher.shared.metrics.PipelineMetrics;
+import com.apiwatcher.shared.tracing.Tracer;
 
 /**
  * Implementação do EventPublisher usando Kafka.
@@ -23,7 +31,10 @@ import com.apiwatcher.shared.events.EventPublisher;
  * 1. Recebe um DomainEvent
  * 2. Determina o tópico baseado no tipo do evento
  * 3. Envia para o Kafka usando KafkaTemplate
- * 4. Loga sucesso ou erro
+ * 4. Loga sucesso ou erro e registra a latência até o ack
+ *
+ * Eventos publicados durante um probe levam o trace id corrente no header
+ * Tracer.HEADER.
  */
 @Component
 public class KafkaEventPublisher implements EventPublisher {
@@ -32,11 +43,17 @@ public class KafkaEventPublisher implements EventPublisher {
   // Nome dos tópicos Kafka onde os eventos serão publicados
   private static final String TOPIC_HEALTH_CHECK = "health-check";
   private static final String TOPIC_API_REGISTERED = "api-registered";
+  private static final String TOPIC_API_CHANGED = "api-changed";
 
   private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final PipelineMetrics pipelineMetrics;
+  private final Tracer tracer;
 
-  public KafkaEventPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
+  public KafkaEventPublisher(KafkaTemplate<String, Object> kafkaTemplate, PipelineMetrics pipelineMetrics,
+      Tracer tracer) {
     this.kafkaTemplate = kafkaTemplate;
+    this.pipelineMetrics = pipelineMetrics;
+    this.tracer = tracer;
   }
 
   @Override
@@ -47,10 +64,22 @@ public class KafkaEventPublisher implements EventPublisher {
     logger.info("[KAFKA-SEND] Publicando evento: {} no topico: {}", event.getEventType(), topic);
 
     // Envio assíncrono para o Kafka
-    CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, key, event);
+    String traceId = tracer.current();
+    ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, event);
+    if (traceId != null) {
+      record.headers().add(Tracer.HEADER, traceId.getBytes(StandardCharsets.UTF_8));
+    }
+    long startedAt = System.currentTimeMillis();
+    long start = System.nanoTime();
+    KafkaPublishEvent publishEvent = new KafkaPublishEvent();
+    publishEvent.begin();
+    CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(record);
 
     // Callback para sucesso ou erro
     future.whenComplete((result, exception) -> {
+      recordSend(publishEvent, topic, event, exception == null, start);
+      tracer.record(traceId, "kafka.send", startedAt, System.nanoTime() - start,
+          Map.of("topic", topic, "result", exception == null ? "success" : "failure"));
       if (exception == null) {
         logger.info("[KAFKA-SUCCESS] Evento publicado: {} [partition={}, offset={}]",
             event.getEventType(),
@@ -65,18 +94,67 @@ public class KafkaEventPublisher implements EventPublisher {
     });
   }
 
+  /**
+   * Envia todos os eventos sem aguardar cada confirmação (o producer agrupa
+   * os registros em lotes) e loga um único resumo ao final.
+   */
+  @Override
+  public void publishAll(List<? extends DomainEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    logger.info("[KAFKA-SEND] Publicando {} eventos em lote", events.size());
+
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[events.size()];
+    for (int i = 0; i < events.size(); i++) {
+      DomainEvent event = events.get(i);
+      String topic = determineTopicFromEventType(event.getEventType());
+      long start = System.nanoTime();
+      KafkaPublishEvent publishEvent = new KafkaPublishEvent();
+      publishEvent.begin();
+      futures[i] = kafkaTemplate.send(topic, extractKeyFromEvent(event), event)
+          .whenComplete((result, exception) -> recordSend(publishEvent, topic, event, exception == null, start));
+    }
+
+    CompletableFuture.allOf(futures).whenComplete((result, exception) -> {
+      if (exception == null) {
+        logger.info("[KAFKA-SUCCESS] Lote de {} eventos publicado", events.size());
+      } else {
+        long failed = Arrays.stream(futures).filter(CompletableFuture::isCompletedExceptionally).count();
+        logger.error("[KAFKA-ERROR] {} de {} eventos do lote falharam - Erro: {}",
+            failed, events.size(), exception.getMessage(), exception);
+      }
+    });
+  }
+
+  private void recordSend(KafkaPublishEvent publishEvent, String topic, DomainEvent event, boolean success,
+      long start) {
+    pipelineMetrics.recordKafkaSend(topic, success, System.nanoTime() - start);
+    publishEvent.end();
+    if (publishEvent.shouldCommit()) {
+      publishEvent.topic = topic;
+      publishEvent.eventType = event.getEventType();
+      publishEvent.success = success;
+      publishEvent.commit();
+    }
+  }
+
   /**
    * Determina em qual tópico o evento deve ser publicado.
    * 
    * Estratégia: Um tópico por tipo de evento relacionado.
    * - health-check.* → health-check
-   * - api.* → api-registered
+   * - api.registered → api-registered
+   * - demais api.* → api-changed (o consumidor de api-registered espera
+   * apenas eventos de registro)
    */
   private String determineTopicFromEventType(String eventType) {
     if (eventType.startsWith("health-check")) {
       return TOPIC_HEALTH_CHECK;
-    } else if (eventType.startsWith("api")) {
+    } else if (eventType.equals("api.registered")) {
       return TOPIC_API_REGISTERED;
+    } else if (eventType.startsWith("api.")) {
+      return TOPIC_API_CHANGED;
     }
 
     // Fallback: tópico genérico
@@ -0,0 +1,45 @@
+package com.apiwatcher.monitoring.infrastructure.messaging;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerInterceptor;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import com.apiwatcher.shared.metrics.PipelineMetrics;
+
+/**
+ * Interceptor do consumer Kafka que registra quantos registros cada poll
+ * retornou (os listeners recebem um registro por vez e não veem o poll).
+ *
+ * Instanciado pelo próprio client Kafka: o PipelineMetrics chega pela
+ * configuração do consumer, na chave METRICS_CONFIG.
+ */
+public class PollMetricsInterceptor implements ConsumerInterceptor<Object, Object> {
+
+  public static final String METRICS_CONFIG = "apiwatcher.pipeline-metrics";
+
+  private PipelineMetrics pipelineMetrics;
+
+  @Override
+  public void configure(Map<String, ?> configs) {
+    this.pipelineMetrics = (PipelineMetrics) configs.get(METRICS_CONFIG);
+  }
+
+  @Override
+  public ConsumerRecords<Object, Object> onConsume(ConsumerRecords<Object, Object> records) {
+    if (pipelineMetrics != null && !records.isEmpty()) {
+      pipelineMetrics.recordConsumerPoll(records.count());
+    }
+    return records;
+  }
+
+  @Override
+  public void onCommit(Map<TopicPartition, OffsetAndMetadata> offsets) {
+  }
+
+  @Override
+  public void close() {
+  }
+}
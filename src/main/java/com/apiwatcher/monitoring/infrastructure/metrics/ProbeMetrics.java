@@ -0,0 +1,146 @@
+package com.apiwatcher.monitoring.infrastructure.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.events.HealthCheckListener;
+import com.apiwatcher.shared.metrics.ApiTagLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas de probe por API (exportadas em /actuator/prometheus).
+ *
+ * - apiwatcher.probe.latency{api}: timer com histograma nos limites de SLO
+ * configurados + threshold da API
+ * - apiwatcher.probe.results{api, outcome, status_class}: checks por
+ * resultado (up/degraded/down) e classe de status (2xx..5xx, none)
+ *
+ * A tag api passa pelo ApiTagLimiter: acima de metrics.probe.max-apis, as
+ * APIs restantes compartilham a série api="other". Os meters de cada API
+ * ficam em um mapa, sem lookup no registry a cada check. Se o threshold da
+ * API muda, o timer é removido e registrado de novo com o novo limite (o
+ * histograma recomeça, como um reset de contador no Prometheus).
+ */
+@Component
+public class ProbeMetrics implements HealthCheckListener {
+
+  private static final String[] STATUS_CLASSES = { "none", "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+  private final MeterRegistry meterRegistry;
+  private final ProbeMetricsProperties properties;
+  private final ApiTagLimiter limiter;
+  private final Map<String, ApiMeters> meters = new ConcurrentHashMap<>();
+
+  public ProbeMetrics(MeterRegistry meterRegistry, ProbeMetricsProperties properties, ApiTagLimiter limiter) {
+    this.meterRegistry = meterRegistry;
+    this.properties = properties;
+    this.limiter = limiter;
+    Gauge.builder("apiwatcher.probe.tracked.apis", limiter, ApiTagLimiter::size)
+        .description("APIs com séries próprias nas métricas de probe")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void onHealthCheck(HealthCheckEvent event) {
+    int thresholdMs = event.getThresholdMs();
+    ApiMeters api = meters.get(event.getApiId());
+    if (api == null || api.thresholdMs != thresholdMs) {
+      api = meters.compute(event.getApiId(), (id, current) -> {
+        if (current == null) {
+          return new ApiMeters(limiter.tag(id), thresholdMs);
+        }
+        current.updateThreshold(thresholdMs);
+        return current;
+      });
+    }
+    // Erros de conexão não têm latência medida
+    if (event.isSuccess() || event.getLatencyMs() > 0) {
+      api.latency.record(event.getLatencyMs(), TimeUnit.MILLISECONDS);
+    }
+    api.result(event.getStatus().name().toLowerCase(Locale.ROOT), statusClass(event.getStatusCode()))
+        .increment();
+  }
+
+  /**
+   * Remove as séries de uma API excluída e libera sua vaga no limite. A série
+   * agregada "other" é mantida.
+   */
+  public void remove(String apiId) {
+    ApiMeters api = meters.remove(apiId);
+    limiter.release(apiId);
+    if (api != null && !ApiTagLimiter.OTHER.equals(api.tag)) {
+      api.registered().forEach(meterRegistry::remove);
+    }
+  }
+
+  private static String statusClass(int statusCode) {
+    int index = statusCode / 100;
+    return index >= 1 && index <= 5 ? STATUS_CLASSES[index] : STATUS_CLASSES[0];
+  }
+
+  private final class ApiMeters {
+
+    private final String tag;
+    private final Map<String, Counter> results = new ConcurrentHashMap<>();
+    private volatile int thresholdMs;
+    private volatile Timer latency;
+
+    ApiMeters(String tag, int thresholdMs) {
+      this.tag = tag;
+      this.thresholdMs = thresholdMs;
+      this.latency = registerLatency(thresholdMs);
+    }
+
+    /**
+     * Chamado dentro do compute() do mapa: não concorre com remove().
+     */
+    void updateThreshold(int newThresholdMs) {
+      thresholdMs = newThresholdMs;
+      // A série agregada usa só os limites configurados
+      if (!ApiTagLimiter.OTHER.equals(tag)) {
+        meterRegistry.remove(latency);
+        latency = registerLatency(newThresholdMs);
+      }
+    }
+
+    private Timer registerLatency(int thresholdMs) {
+      List<Duration> buckets = new ArrayList<>(properties.sloBuckets());
+      if (!ApiTagLimiter.OTHER.equals(tag) && thresholdMs > 0) {
+        buckets.add(Duration.ofMillis(thresholdMs));
+      }
+      return Timer.builder("apiwatcher.probe.latency")
+          .description("Latência dos health checks")
+          .tag("api", tag)
+          .serviceLevelObjectives(buckets.toArray(Duration[]::new))
+          .register(meterRegistry);
+    }
+
+    Counter result(String outcome, String statusClass) {
+      return results.computeIfAbsent(outcome + '|' + statusClass, key -> Counter.builder("apiwatcher.probe.results")
+          .description("Health checks por resultado e classe de status")
+          .tag("api", tag)
+          .tag("outcome", outcome)
+          .tag("status_class", statusClass)
+          .register(meterRegistry));
+    }
+
+    List<Meter> registered() {
+      List<Meter> all = new ArrayList<>(results.values());
+      all.add(latency);
+      return all;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.apiwatcher.monitoring.infrastructure.metrics;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração das métricas de probe por API.
+ *
+ * - sloBuckets: limites do histograma de latência (o threshold de cada API
+ * também vira um limite da sua série)
+ */
+@ConfigurationProperties(prefix = "metrics.probe")
+public record ProbeMetricsProperties(
+    @DefaultValue({ "100ms", "250ms", "500ms", "1s", "2s", "5s", "10s" }) List<Duration> sloBuckets) {
+}
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 /**
@@ -12,7 +13,7 @@ import jakarta.persistence.Table;
  * Adaptador entre o Domain Model e o banco de dados.
  */
 @Entity
-@Table(name = "monitored_apis")
+@Table(name = "monitored_apis", indexes = @Index(name = "idx_monitored_apis_updated_at", columnList = "updatedAt"))
 public class MonitoredApiEntity {
 
   @Id
@@ -36,6 +37,9 @@ public class MonitoredApiEntity {
   @Column(nullable = false)
   private Boolean active;
 
+  @Column
+  private Double sloTarget;
+
   @Column(nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
@@ -103,6 +107,14 @@ public class MonitoredApiEntity {
     this.active = active;
   }
 
+  public Double getSloTarget() {
+    return sloTarget;
+  }
+
+  public void setSloTarget(Double sloTarget) {
+    this.sloTarget = sloTarget;
+  }
+
   public LocalDateTime getCreatedAt() {
     return createdAt;
   }
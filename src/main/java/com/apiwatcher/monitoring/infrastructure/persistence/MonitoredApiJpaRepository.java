@@ -1,9 +1,13 @@
 package com.apiwatcher.monitoring.infrastructure.persistence;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -17,4 +21,27 @@ public interface MonitoredApiJpaRepository extends JpaRepository<MonitoredApiEnt
   List<MonitoredApiEntity> findAllActive();
 
   boolean existsByUrl(String url);
+
+  @Query("SELECT new com.apiwatcher.monitoring.infrastructure.persistence.ProbeTargetRow("
+      + "m.id, m.name, m.url, m.httpMethod, m.expectedStatusCode, m.latencyThresholdMs, m.active, m.sloTarget, "
+      + "m.updatedAt) FROM MonitoredApiEntity m WHERE m.active = true")
+  List<ProbeTargetRow> findActiveProbeTargets();
+
+  @Query("SELECT new com.apiwatcher.monitoring.infrastructure.persistence.ProbeTargetRow("
+      + "m.id, m.name, m.url, m.httpMethod, m.expectedStatusCode, m.latencyThresholdMs, m.active, m.sloTarget, "
+      + "m.updatedAt) FROM MonitoredApiEntity m WHERE m.updatedAt > :since")
+  List<ProbeTargetRow> findProbeTargetsUpdatedAfter(@Param("since") LocalDateTime since);
+
+  @Query("SELECT m.url FROM MonitoredApiEntity m WHERE m.url IN :urls")
+  List<String> findUrlsIn(@Param("urls") Collection<String> urls);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE MonitoredApiEntity m SET m.active = :active, m.updatedAt = :now WHERE m.id IN :ids")
+  int updateActive(@Param("ids") Collection<String> ids, @Param("active") boolean active,
+      @Param("now") LocalDateTime now);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE MonitoredApiEntity m SET m.latencyThresholdMs = :threshold, m.updatedAt = :now WHERE m.id IN :ids")
+  int updateLatencyThreshold(@Param("ids") Collection<String> ids, @Param("threshold") int threshold,
+      @Param("now") LocalDateTime now);
 }
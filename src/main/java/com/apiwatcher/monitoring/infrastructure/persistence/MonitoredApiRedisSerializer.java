@@ -0,0 +1,322 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+
+/**
+ * Serializer binário versionado para MonitoredApi e List&lt;MonitoredApi&gt;.
+ *
+ * Formato: [magic 0xFE][versão][tipo] seguido dos campos na ordem do schema,
+ * sem nomes de classe nem de campos. Demais valores (e entradas JSON antigas,
+ * que nunca começam com 0xFE) são delegados ao serializer JSON.
+ *
+ * Schema v1 (por API):
+ * - flags (1 byte): active, id como UUID e presença dos campos anuláveis
+ * - id: 16 bytes (UUID) ou string
+ * - name, url: string (varint tamanho + UTF-8)
+ * - httpMethod: código de 1 byte (0 = string em seguida)
+ * - expectedStatusCode, latencyThresholdMs: varint
+ * - sloTarget: double
+ * - createdAt, updatedAt: epoch em microssegundos (UTC local), varint
+ *
+ * Versões desconhecidas são tratadas como cache miss (null).
+ */
+public class MonitoredApiRedisSerializer implements RedisSerializer<Object> {
+
+  private static final Logger log = LoggerFactory.getLogger(MonitoredApiRedisSerializer.class);
+
+  static final byte MAGIC = (byte) 0xFE;
+  static final byte VERSION = 1;
+
+  private static final byte TYPE_API = 1;
+  private static final byte TYPE_LIST = 2;
+
+  private static final int FLAG_ACTIVE = 1;
+  private static final int FLAG_UUID_ID = 1 << 1;
+  private static final int FLAG_STATUS = 1 << 2;
+  private static final int FLAG_THRESHOLD = 1 << 3;
+  private static final int FLAG_SLO = 1 << 4;
+  private static final int FLAG_CREATED = 1 << 5;
+  private static final int FLAG_UPDATED = 1 << 6;
+
+  private static final String[] METHODS = { null, "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS" };
+
+  private final RedisSerializer<Object> fallback;
+
+  public MonitoredApiRedisSerializer(RedisSerializer<Object> fallback) {
+    this.fallback = fallback;
+  }
+
+  @Override
+  public byte[] serialize(Object value) throws SerializationException {
+    if (value instanceof MonitoredApi api) {
+      Writer writer = new Writer(128);
+      writer.header(TYPE_API);
+      writeApi(writer, api);
+      return writer.toByteArray();
+    }
+    if (value instanceof List<?> list && isApiList(list)) {
+      Writer writer = new Writer(16 + list.size() * 128);
+      writer.header(TYPE_LIST);
+      writer.varint(list.size());
+      for (Object item : list) {
+        writeApi(writer, (MonitoredApi) item);
+      }
+      return writer.toByteArray();
+    }
+    return fallback.serialize(value);
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    if (bytes[0] != MAGIC) {
+      return fallback.deserialize(bytes);
+    }
+    if (bytes.length < 3) {
+      throw new SerializationException("Valor binario truncado");
+    }
+    if (bytes[1] != VERSION) {
+      log.warn("[REDIS-SERIALIZER] Versao {} desconhecida, tratando como cache miss", bytes[1]);
+      return null;
+    }
+
+    try {
+      ByteBuffer in = ByteBuffer.wrap(bytes, 3, bytes.length - 3);
+      return switch (bytes[2]) {
+        case TYPE_API -> readApi(in);
+        case TYPE_LIST -> {
+          int size = readVarint(in);
+          List<MonitoredApi> apis = new ArrayList<>(size);
+          for (int i = 0; i < size; i++) {
+            apis.add(readApi(in));
+          }
+          yield apis;
+        }
+        default -> throw new SerializationException("Tipo binario desconhecido: " + bytes[2]);
+      };
+    } catch (RuntimeException e) {
+      if (e instanceof SerializationException se) {
+        throw se;
+      }
+      throw new SerializationException("Falha ao decodificar MonitoredApi", e);
+    }
+  }
+
+  private static boolean isApiList(List<?> list) {
+    for (Object item : list) {
+      if (!(item instanceof MonitoredApi)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeApi(Writer out, MonitoredApi api) {
+    UUID uuid = parseUuid(api.getId());
+    int flags = (api.isActive() ? FLAG_ACTIVE : 0)
+        | (uuid != null ? FLAG_UUID_ID : 0)
+        | (api.getExpectedStatusCode() != null ? FLAG_STATUS : 0)
+        | (api.getLatencyThresholdMs() != null ? FLAG_THRESHOLD : 0)
+        | (api.getSloTarget() != null ? FLAG_SLO : 0)
+        | (api.getCreatedAt() != null ? FLAG_CREATED : 0)
+        | (api.getUpdatedAt() != null ? FLAG_UPDATED : 0);
+    out.write(flags);
+
+    if (uuid != null) {
+      out.longValue(uuid.getMostSignificantBits());
+      out.longValue(uuid.getLeastSignificantBits());
+    } else {
+      out.string(api.getId());
+    }
+    out.string(api.getName());
+    out.string(api.getUrl());
+
+    int methodCode = methodCode(api.getHttpMethod());
+    out.write(methodCode);
+    if (methodCode == 0) {
+      out.string(api.getHttpMethod());
+    }
+
+    if (api.getExpectedStatusCode() != null) {
+      out.varint(api.getExpectedStatusCode());
+    }
+    if (api.getLatencyThresholdMs() != null) {
+      out.varint(api.getLatencyThresholdMs());
+    }
+    if (api.getSloTarget() != null) {
+      out.longValue(Double.doubleToLongBits(api.getSloTarget()));
+    }
+    if (api.getCreatedAt() != null) {
+      out.varlong(toEpochMicros(api.getCreatedAt()));
+    }
+    if (api.getUpdatedAt() != null) {
+      out.varlong(toEpochMicros(api.getUpdatedAt()));
+    }
+  }
+
+  private static MonitoredApi readApi(ByteBuffer in) {
+    int flags = in.get() & 0xFF;
+
+    String id = (flags & FLAG_UUID_ID) != 0
+        ? new UUID(in.getLong(), in.getLong()).toString()
+        : readString(in);
+    String name = readString(in);
+    String url = readString(in);
+
+    int methodCode = in.get() & 0xFF;
+    String httpMethod = methodCode == 0 ? readString(in) : METHODS[methodCode];
+
+    Integer expectedStatusCode = (flags & FLAG_STATUS) != 0 ? readVarint(in) : null;
+    Integer latencyThresholdMs = (flags & FLAG_THRESHOLD) != 0 ? readVarint(in) : null;
+    Double sloTarget = (flags & FLAG_SLO) != 0 ? Double.longBitsToDouble(in.getLong()) : null;
+    LocalDateTime createdAt = (flags & FLAG_CREATED) != 0 ? fromEpochMicros(readVarlong(in)) : null;
+    LocalDateTime updatedAt = (flags & FLAG_UPDATED) != 0 ? fromEpochMicros(readVarlong(in)) : null;
+
+    return new MonitoredApi(id, name, url, httpMethod, expectedStatusCode, latencyThresholdMs,
+        (flags & FLAG_ACTIVE) != 0, sloTarget, createdAt, updatedAt);
+  }
+
+  private static UUID parseUuid(String id) {
+    if (id == null || id.length() != 36) {
+      return null;
+    }
+    try {
+      UUID uuid = UUID.fromString(id);
+      // Só usa a forma compacta se a ida e volta preservar o texto
+      return uuid.toString().equals(id) ? uuid : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static int methodCode(String method) {
+    for (int i = 1; i < METHODS.length; i++) {
+      if (METHODS[i].equals(method)) {
+        return i;
+      }
+    }
+    return 0;
+  }
+
+  private static long toEpochMicros(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+  }
+
+  private static LocalDateTime fromEpochMicros(long micros) {
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+        (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+  }
+
+  private static String readString(ByteBuffer in) {
+    int length = readVarint(in);
+    if (length == 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length - 1];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int readVarint(ByteBuffer in) {
+    return (int) readVarlong(in);
+  }
+
+  private static long readVarlong(ByteBuffer in) {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    // zigzag
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Buffer de escrita com crescimento dinâmico.
+   */
+  private static final class Writer {
+
+    private byte[] buffer;
+    private int position;
+
+    Writer(int capacity) {
+      this.buffer = new byte[capacity];
+    }
+
+    void header(byte type) {
+      write(MAGIC);
+      write(VERSION);
+      write(type);
+    }
+
+    void write(int b) {
+      ensure(1);
+      buffer[position++] = (byte) b;
+    }
+
+    void longValue(long value) {
+      ensure(8);
+      for (int i = 7; i >= 0; i--) {
+        buffer[position++] = (byte) (value >>> (i * 8));
+      }
+    }
+
+    void varint(int value) {
+      varlong(value);
+    }
+
+    void varlong(long value) {
+      long zigzag = (value << 1) ^ (value >> 63);
+      ensure(10);
+      while ((zigzag & ~0x7FL) != 0) {
+        buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+        zigzag >>>= 7;
+      }
+      buffer[position++] = (byte) zigzag;
+    }
+
+    /**
+     * Tamanho + 1 (0 = null), seguido dos bytes UTF-8.
+     */
+    void string(String value) {
+      if (value == null) {
+        varint(0);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      varint(bytes.length + 1);
+      ensure(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensure(int extra) {
+      if (position + extra > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+      }
+    }
+  }
+}
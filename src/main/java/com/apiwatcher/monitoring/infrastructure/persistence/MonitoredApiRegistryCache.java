@@ -0,0 +1,387 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.shared.cache.CacheInvalidationBus;
+
+/**
+ * Cache do registro de APIs monitoradas, por entrada.
+ *
+ * - L2: hash Redis (campo = id da API) + chave marcadora com TTL indicando
+ * que o hash foi carregado do PostgreSQL por completo
+ * - L1: snapshot local do hash, com TTL curto, corrigido entrada a entrada
+ * via CacheInvalidationBus
+ *
+ * Escritas são write-through e só alteram a entrada afetada; dentro de uma
+ * transação, são aplicadas após o commit. Quando o marcador expira, a próxima
+ * leitura recarrega o registro do banco (reconciliando eventuais desvios).
+ * Pouco antes disso, refreshDue() sinaliza a recarga antecipada; tryLock()
+ * garante uma única carga entre as instâncias.
+ *
+ * O contador de versão no Redis (version()) só protege a carga completa
+ * (load()) contra escritas concorrentes; não identifica o conteúdo servido
+ * (o ETag de GET /apis é calculado sobre a página).
+ */
+@Component
+public class MonitoredApiRegistryCache {
+
+  private static final Logger log = LoggerFactory.getLogger(MonitoredApiRegistryCache.class);
+
+  static final String CACHE_NAME = "registry";
+  static final String HASH_KEY = "api-watcher:registry:apis";
+  static final String LOADED_KEY = "api-watcher:registry:loaded";
+  static final String LOCK_KEY = "api-watcher:registry:lock";
+  static final String VERSION_KEY = "api-watcher:registry:version";
+
+  // Remove o lock apenas se ainda pertencer a quem o adquiriu
+  private static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+      Long.class);
+
+  // Carga condicionada à versão: KEYS = versão, hash, marcador; ARGV = versão
+  // esperada, TTL do marcador, TTL do hash, valor do marcador, pares id/API
+  private static final RedisScript<Long> LOAD_SCRIPT = RedisScript.of("""
+      if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end
+      redis.call('DEL', KEYS[2])
+      for i = 5, #ARGV, 2 do redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1]) end
+      redis.call('PEXPIRE', KEYS[2], ARGV[3])
+      redis.call('SET', KEYS[3], ARGV[4], 'PX', ARGV[2])
+      redis.call('INCR', KEYS[1])
+      return 1
+      """, Long.class);
+
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final StringRedisTemplate stringRedisTemplate;
+  private final CacheInvalidationBus invalidationBus;
+  private final Duration ttl;
+  private final long nearTtlMillis;
+  private final long refreshAheadMillis;
+  private final boolean distributedLock;
+  private final Duration lockTtl;
+
+  private volatile Map<String, MonitoredApi> snapshot;
+  private volatile long snapshotExpiresAt;
+  private volatile long markerExpiresAt;
+
+  public MonitoredApiRegistryCache(RedisTemplate<String, Object> redisTemplate,
+      StringRedisTemplate stringRedisTemplate,
+      CacheInvalidationBus invalidationBus,
+      @Value("${cache.registry.ttl-seconds:600}") long ttlSeconds,
+      @Value("${cache.near.ttl-seconds:30}") long nearTtlSeconds,
+      @Value("${cache.registry.refresh-ahead-seconds:60}") long refreshAheadSeconds,
+      @Value("${cache.registry.distributed-lock:true}") boolean distributedLock,
+      @Value("${cache.registry.lock-ttl-seconds:10}") long lockTtlSeconds) {
+    this.redisTemplate = redisTemplate;
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.invalidationBus = invalidationBus;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+    this.nearTtlMillis = Duration.ofSeconds(nearTtlSeconds).toMillis();
+    this.refreshAheadMillis = Duration.ofSeconds(refreshAheadSeconds).toMillis();
+    this.distributedLock = distributedLock;
+    this.lockTtl = Duration.ofSeconds(lockTtlSeconds);
+    invalidationBus.register(CACHE_NAME, this::refreshLocal, this::dropLocal);
+  }
+
+  /**
+   * Registro completo, ou null se o cache não está carregado ou tem alguma
+   * entrada que esta versão não consegue ler.
+   */
+  public Collection<MonitoredApi> all() {
+    Map<String, MonitoredApi> local = snapshot;
+    if (local != null && System.currentTimeMillis() < snapshotExpiresAt) {
+      return local.values();
+    }
+
+    try {
+      Long markerTtl = redisTemplate.getExpire(LOADED_KEY, TimeUnit.MILLISECONDS);
+      if (markerTtl == null || markerTtl == -2) {
+        return null;
+      }
+      markerExpiresAt = markerTtl < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + markerTtl;
+      Map<Object, Object> entries = redisTemplate.opsForHash().entries(HASH_KEY);
+      Map<String, MonitoredApi> loaded = new ConcurrentHashMap<>(entries.size());
+      for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+        // null = formato de outra versão (deploy em andamento): um registro
+        // parcial faria APIs sumirem, então o hash inteiro conta como miss
+        if (!(entry.getValue() instanceof MonitoredApi api)) {
+          log.warn("[REGISTRY-CACHE] Entrada {} em formato desconhecido, recarregando do banco", entry.getKey());
+          return null;
+        }
+        loaded.put((String) entry.getKey(), api);
+      }
+      replaceLocal(loaded);
+      return loaded.values();
+    } catch (DataAccessException e) {
+      log.warn("[REGISTRY-CACHE] Falha ao ler registro do Redis: {}", e.getMessage());
+      return null;
+    } catch (SerializationException e) {
+      log.warn("[REGISTRY-CACHE] Entrada corrompida no registro, recarregando do banco: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Substitui o registro pelo conteúdo lido do banco, desde que nenhuma
+   * escrita tenha ocorrido desde a leitura: expectedVersion é a version()
+   * obtida antes de consultar o banco. put(), putAll() e remove() chamam
+   * bumpVersion() e só então alteram o hash, então uma escrita concorrente
+   * ou faz a carga abortar ou é aplicada depois dela.
+   *
+   * @return false se a versão mudou (o chamador deve reler o banco)
+   */
+  public boolean load(List<MonitoredApi> apis, String expectedVersion) {
+    Map<String, MonitoredApi> loaded = new ConcurrentHashMap<>(apis.size());
+    apis.forEach(api -> loaded.put(api.getId(), api));
+
+    if (expectedVersion != null) {
+      try {
+        Long applied = redisTemplate.execute(LOAD_SCRIPT, RedisSerializer.byteArray(),
+            new GenericToStringSerializer<>(Long.class), List.of(VERSION_KEY, HASH_KEY, LOADED_KEY),
+            loadArgs(loaded, expectedVersion));
+        if (applied == null || applied == 0) {
+          log.debug("[REGISTRY-CACHE] Registro alterado durante a carga, descartando leitura");
+          return false;
+        }
+        invalidationBus.publishClear(CACHE_NAME);
+        log.debug("[REGISTRY-CACHE] Registro carregado com {} APIs", apis.size());
+      } catch (DataAccessException e) {
+        log.warn("[REGISTRY-CACHE] Falha ao gravar registro no Redis: {}", e.getMessage());
+      }
+    }
+    // Sem versão (Redis indisponível) o registro fica apenas no cache local
+    replaceLocal(loaded);
+    markerExpiresAt = System.currentTimeMillis() + ttl.toMillis();
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object[] loadArgs(Map<String, MonitoredApi> loaded, String expectedVersion) {
+    RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getHashKeySerializer();
+    RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+    RedisSerializer<String> string = RedisSerializer.string();
+
+    Object[] args = new Object[4 + loaded.size() * 2];
+    args[0] = string.serialize(expectedVersion);
+    args[1] = string.serialize(Long.toString(ttl.toMillis()));
+    args[2] = string.serialize(Long.toString(ttl.plusMinutes(1).toMillis()));
+    args[3] = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(System.currentTimeMillis());
+    int i = 4;
+    for (Map.Entry<String, MonitoredApi> entry : loaded.entrySet()) {
+      args[i++] = keySerializer.serialize(entry.getKey());
+      args[i++] = valueSerializer.serialize(entry.getValue());
+    }
+    return args;
+  }
+
+  /**
+   * Refresh-ahead: o marcador está perto de expirar e o registro deve ser
+   * recarregado em segundo plano, antes que leitores encontrem o cache frio.
+   */
+  public boolean refreshDue() {
+    return markerExpiresAt - System.currentTimeMillis() < refreshAheadMillis;
+  }
+
+  /**
+   * Lock entre instâncias para a carga do registro (SET NX PX).
+   *
+   * @return token do lock, ou null se outra instância está carregando
+   */
+  public String tryLock() {
+    String token = UUID.randomUUID().toString();
+    if (!distributedLock) {
+      return token;
+    }
+    try {
+      Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTtl);
+      return Boolean.TRUE.equals(acquired) ? token : null;
+    } catch (DataAccessException e) {
+      // Sem Redis não há o que coordenar: carrega localmente
+      return token;
+    }
+  }
+
+  public void unlock(String token) {
+    if (!distributedLock) {
+      return;
+    }
+    try {
+      stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), token);
+    } catch (DataAccessException e) {
+      log.debug("[REGISTRY-CACHE] Falha ao liberar lock, expira pelo TTL: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Versão atual do registro, ou null se o Redis está indisponível.
+   * Ausente (expirada ou removida após falha), é recriada a partir do
+   * relógio, sempre acima de qualquer versão anterior.
+   */
+  public String version() {
+    try {
+      String version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+      if (version != null) {
+        return version;
+      }
+      stringRedisTemplate.opsForValue().setIfAbsent(VERSION_KEY,
+          Long.toString(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis())));
+      return stringRedisTemplate.opsForValue().get(VERSION_KEY);
+    } catch (DataAccessException e) {
+      log.debug("[REGISTRY-CACHE] Versao do registro indisponivel: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  public void put(MonitoredApi api) {
+    afterCommit(() -> {
+      bumpVersion();
+      writeRemote(() -> redisTemplate.opsForHash().put(HASH_KEY, api.getId(), api));
+      Map<String, MonitoredApi> local = snapshot;
+      if (local != null) {
+        local.put(api.getId(), api);
+      }
+      invalidationBus.publishEvict(CACHE_NAME, api.getId());
+    });
+  }
+
+  /**
+   * Write-through de várias entradas: um único HSET e uma invalidação por
+   * entrada alterada.
+   */
+  public void putAll(Collection<MonitoredApi> apis) {
+    if (apis.isEmpty()) {
+      return;
+    }
+    afterCommit(() -> {
+      Map<String, Object> entries = new HashMap<>(apis.size());
+      apis.forEach(api -> entries.put(api.getId(), api));
+      bumpVersion();
+      writeRemote(() -> redisTemplate.opsForHash().putAll(HASH_KEY, entries));
+      Map<String, MonitoredApi> local = snapshot;
+      if (local != null) {
+        apis.forEach(api -> local.put(api.getId(), api));
+      }
+      apis.forEach(api -> invalidationBus.publishEvict(CACHE_NAME, api.getId()));
+    });
+  }
+
+  public void remove(String id) {
+    afterCommit(() -> {
+      bumpVersion();
+      writeRemote(() -> redisTemplate.opsForHash().delete(HASH_KEY, id));
+      Map<String, MonitoredApi> local = snapshot;
+      if (local != null) {
+        local.remove(id);
+      }
+      invalidationBus.publishEvict(CACHE_NAME, id);
+    });
+  }
+
+  /**
+   * Falha ao escrever no Redis: derruba o marcador para forçar recarga do
+   * banco na próxima leitura, em vez de servir um registro desatualizado.
+   */
+  private void writeRemote(Runnable write) {
+    try {
+      write.run();
+    } catch (DataAccessException e) {
+      log.warn("[REGISTRY-CACHE] Falha no write-through, invalidando registro: {}", e.getMessage());
+      dropLocal();
+      try {
+        redisTemplate.delete(LOADED_KEY);
+      } catch (DataAccessException ignored) {
+        // Redis indisponível: o marcador expira pelo TTL
+      }
+    }
+  }
+
+  /**
+   * Se o INCR falhar, remove o contador: a próxima leitura o recria com um
+   * valor maior, em vez de manter uma versão que não reflete a escrita.
+   */
+  private void bumpVersion() {
+    try {
+      Long version = stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+      if (version != null && version == 1) {
+        // Contador não existia: reinicia acima das versões já emitidas
+        stringRedisTemplate.delete(VERSION_KEY);
+        version();
+      }
+    } catch (DataAccessException e) {
+      log.warn("[REGISTRY-CACHE] Falha ao incrementar versao do registro: {}", e.getMessage());
+      try {
+        stringRedisTemplate.delete(VERSION_KEY);
+      } catch (DataAccessException ignored) {
+        // Redis indisponível: version() retorna null e a carga fica só local
+      }
+    }
+  }
+
+  private void refreshLocal(String id) {
+    Map<String, MonitoredApi> local = snapshot;
+    if (local == null) {
+      return;
+    }
+    try {
+      Object value = redisTemplate.opsForHash().get(HASH_KEY, id);
+      if (value instanceof MonitoredApi api) {
+        local.put(id, api);
+      } else if (value == null && !redisTemplate.opsForHash().hasKey(HASH_KEY, id)) {
+        local.remove(id);
+      } else {
+        // Presente mas ilegível: o próximo all() decide se recarrega
+        dropLocal();
+      }
+    } catch (DataAccessException | SerializationException e) {
+      dropLocal();
+    }
+  }
+
+  private void replaceLocal(Map<String, MonitoredApi> loaded) {
+    snapshot = loaded;
+    snapshotExpiresAt = System.currentTimeMillis() + nearTtlMillis;
+  }
+
+  private void dropLocal() {
+    snapshot = null;
+  }
+
+  /**
+   * Executa a ação após o commit da transação corrente (ou já, se não há
+   * transação). Não deve ser chamada de dentro de outro afterCommit: a
+   * sincronização registrada nessa fase não é mais executada.
+   */
+  static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
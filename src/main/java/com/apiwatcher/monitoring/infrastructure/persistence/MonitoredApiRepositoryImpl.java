@@ -1,80 +1,233 @@
 package com.apiwatcher.monitoring.infrastructure.persistence;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.apiwatcher.monitoring.domain.model.MonitoredApi;
 import com.apiwatcher.monitoring.domain.repository.MonitoredApiRepository;
+import com.apiwatcher.shared.cache.SingleFlight;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
 
 /**
  * Implementação do repositório usando JPA com cache Redis.
  * 
  * Estratégia de Cache:
- * - findAllActive(): Cache de 5 minutos (consulta frequente pelos health
- * checks)
+ * - findAllActive()/findAll(): registro por entrada (MonitoredApiRegistryCache),
+ * carregado do banco uma vez e mantido por write-through; cargas coalescidas
+ * e renovadas antes de expirar (refresh-ahead)
  * - findById(): Cache de 15 minutos (dados raramente mudam)
- * - findAll(): Cache de 10 minutos (consulta menos frequente)
- * - save/delete: Invalidam todos os caches relacionados
+ * - save/delete: atualizam apenas as entradas afetadas
+ * - updateActive/updateLatencyThreshold: UPDATE em lote; atualizam o registro
+ * com um único HSET e removem do cache por ID só as APIs alteradas
+ * - Escritas no Redis feitas dentro de transação só ocorrem após o commit
+ *
+ * Anotada com @Repository para que exceções JPA sejam traduzidas
+ * (DataIntegrityViolationException em violações de unicidade).
  */
-@Component
+@Repository
 public class MonitoredApiRepositoryImpl implements MonitoredApiRepository {
 
   private static final Logger log = LoggerFactory.getLogger(MonitoredApiRepositoryImpl.class);
 
+  private static final Comparator<MonitoredApi> REGISTRY_ORDER = Comparator
+      .comparing(MonitoredApi::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(MonitoredApi::getId);
+
+  private static final String REGISTRY_KEY = "registry";
+  private static final int IN_CLAUSE_CHUNK = 1_000;
+  private static final int INSERT_BATCH_SIZE = 50;
+  private static final long LOCK_WAIT_MILLIS = 3_000;
+  private static final int LOAD_ATTEMPTS = 3;
+  private static final long REFRESH_RETRY_MILLIS = 5_000;
+
   private final MonitoredApiJpaRepository jpaRepository;
+  private final MonitoredApiRegistryCache registryCache;
+  private final EntityManager entityManager;
+  private final MonitoredApiTombstoneJpaRepository tombstoneRepository;
+  private final CacheManager cacheManager;
+  private final SingleFlight<String, Collection<MonitoredApi>> registryLoads = new SingleFlight<>();
+  private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private volatile long nextRefreshAttemptAt;
 
-  public MonitoredApiRepositoryImpl(MonitoredApiJpaRepository jpaRepository) {
+  public MonitoredApiRepositoryImpl(MonitoredApiJpaRepository jpaRepository,
+      MonitoredApiRegistryCache registryCache, EntityManager entityManager,
+      MonitoredApiTombstoneJpaRepository tombstoneRepository, CacheManager cacheManager) {
     this.jpaRepository = jpaRepository;
+    this.registryCache = registryCache;
+    this.entityManager = entityManager;
+    this.tombstoneRepository = tombstoneRepository;
+    this.cacheManager = cacheManager;
   }
 
   @Override
-  @CacheEvict(value = { "monitored-apis", "monitored-api-by-id", "all-apis" }, allEntries = true)
+  @CachePut(value = "monitored-api-by-id", key = "#result.id")
   public MonitoredApi save(MonitoredApi api) {
-    log.debug("Salvando API e invalidando caches: {}", api.getName());
+    log.debug("Salvando API e atualizando caches: {}", api.getName());
     MonitoredApiEntity entity = toEntity(api);
     MonitoredApiEntity saved = jpaRepository.save(entity);
-    return toDomain(saved);
+    MonitoredApi result = toDomain(saved);
+    registryCache.put(result);
+    return result;
   }
 
   @Override
-  @Cacheable(value = "monitored-api-by-id", key = "#id")
+  @Cacheable(value = "monitored-api-by-id", key = "#id", sync = true)
   public Optional<MonitoredApi> findById(String id) {
     log.debug("Buscando API por ID (cache miss): {}", id);
     return jpaRepository.findById(id).map(this::toDomain);
   }
 
   @Override
-  @Cacheable(value = "monitored-apis", key = "'active'")
   public List<MonitoredApi> findAllActive() {
-    log.debug("Buscando APIs ativas (cache miss)");
-    return jpaRepository.findAllActive()
-        .stream()
-        .map(this::toDomain)
-        .collect(Collectors.toList());
+    return registry().stream()
+        .filter(MonitoredApi::isActive)
+        .sorted(REGISTRY_ORDER)
+        .toList();
   }
 
   @Override
-  @Cacheable(value = "all-apis", key = "'all'")
   public List<MonitoredApi> findAll() {
-    log.debug("Buscando todas as APIs (cache miss)");
-    return jpaRepository.findAll()
-        .stream()
-        .map(this::toDomain)
-        .collect(Collectors.toList());
+    return registry().stream()
+        .sorted(REGISTRY_ORDER)
+        .toList();
   }
 
+  /**
+   * Remove a API e grava o tombstone na mesma transação (sincronização
+   * incremental do registro).
+   */
   @Override
-  @CacheEvict(value = { "monitored-apis", "monitored-api-by-id", "all-apis" }, allEntries = true)
+  @Transactional
+  @CacheEvict(value = "monitored-api-by-id", key = "#id")
   public void deleteById(String id) {
-    log.debug("Deletando API e invalidando caches: {}", id);
+    log.debug("Deletando API e removendo dos caches: {}", id);
     jpaRepository.deleteById(id);
+    tombstoneRepository.save(new MonitoredApiTombstoneEntity(id, LocalDateTime.now()));
+    registryCache.remove(id);
+  }
+
+  /**
+   * Registro do cache; em miss, uma única carga por JVM (SingleFlight) e por
+   * cluster (lock no Redis). Perto da expiração, recarrega em segundo plano
+   * e continua servindo o registro atual.
+   */
+  private Collection<MonitoredApi> registry() {
+    Collection<MonitoredApi> cached = registryCache.all();
+    if (cached != null) {
+      if (registryCache.refreshDue()) {
+        refreshAhead();
+      }
+      return cached;
+    }
+    Collection<MonitoredApi> loaded = registryLoads.execute(REGISTRY_KEY, this::loadRegistry);
+    // null = refresh-ahead em andamento que cedeu a carga a outra instância
+    return loaded != null ? loaded : loadRegistry();
+  }
+
+  private void refreshAhead() {
+    long now = System.currentTimeMillis();
+    if (now < nextRefreshAttemptAt || registryLoads.isInFlight(REGISTRY_KEY)) {
+      return;
+    }
+    nextRefreshAttemptAt = now + REFRESH_RETRY_MILLIS;
+    registryLoads.executeAsync(REGISTRY_KEY, () -> {
+      String token = registryCache.tryLock();
+      if (token == null) {
+        return null; // Outra instância está recarregando
+      }
+      try {
+        log.debug("Recarregando registro de APIs (refresh-ahead)");
+        return reloadRegistry();
+      } finally {
+        registryCache.unlock(token);
+      }
+    }, refreshExecutor);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  private Collection<MonitoredApi> loadRegistry() {
+    String token = registryCache.tryLock();
+    if (token == null) {
+      // Outra instância está carregando: aguarda o resultado no Redis
+      Collection<MonitoredApi> loaded = awaitRegistry();
+      if (loaded != null) {
+        return loaded;
+      }
+      log.warn("Timeout aguardando carga do registro por outra instancia, carregando localmente");
+      return reloadRegistry();
+    }
+    try {
+      log.debug("Carregando registro de APIs (cache miss)");
+      return reloadRegistry();
+    } finally {
+      registryCache.unlock(token);
+    }
+  }
+
+  /**
+   * Lê o registro do banco e o grava no cache se nenhuma escrita ocorreu
+   * durante a leitura (versão capturada antes do SELECT). Se houve, relê;
+   * esgotadas as tentativas, devolve a leitura sem gravá-la no cache.
+   */
+  private List<MonitoredApi> reloadRegistry() {
+    for (int attempt = 1;; attempt++) {
+      String version = registryCache.version();
+      List<MonitoredApi> apis = jpaRepository.findAll()
+          .stream()
+          .map(this::toDomain)
+          .collect(Collectors.toList());
+      if (registryCache.load(apis, version)) {
+        return apis;
+      }
+      if (attempt == LOAD_ATTEMPTS) {
+        log.warn("Registro alterado durante {} cargas seguidas, servindo leitura sem cache", attempt);
+        return apis;
+      }
+    }
+  }
+
+  private Collection<MonitoredApi> awaitRegistry() {
+    long deadline = System.currentTimeMillis() + LOCK_WAIT_MILLIS;
+    while (System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      Collection<MonitoredApi> loaded = registryCache.all();
+      if (loaded != null) {
+        return loaded;
+      }
+    }
+    return null;
   }
 
   @Override
@@ -82,6 +235,81 @@ public class MonitoredApiRepositoryImpl implements MonitoredApiRepository {
     return jpaRepository.existsByUrl(url);
   }
 
+  @Override
+  public Set<String> findExistingUrls(Collection<String> urls) {
+    Set<String> existing = new HashSet<>();
+    List<String> distinct = List.copyOf(new LinkedHashSet<>(urls));
+    // Limita o tamanho da cláusula IN por consulta
+    for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK) {
+      existing.addAll(jpaRepository.findUrlsIn(
+          distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK, distinct.size()))));
+    }
+    return existing;
+  }
+
+  /**
+   * persist() direto (sem o SELECT que o merge do save() faz para ids
+   * atribuídos), com flush/clear a cada lote: os INSERTs vão em batch JDBC
+   * (hibernate.jdbc.batch_size). O registro é atualizado uma única vez, após
+   * o commit; em rollback o cache não é tocado.
+   */
+  @Override
+  @Transactional
+  public List<MonitoredApi> insertAll(List<MonitoredApi> apis) {
+    log.debug("Inserindo {} APIs em lote", apis.size());
+    for (int i = 0; i < apis.size(); i++) {
+      entityManager.persist(toEntity(apis.get(i)));
+      if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+        entityManager.flush();
+        entityManager.clear();
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+    registryCache.putAll(apis);
+    return apis;
+  }
+
+  @Override
+  @Transactional
+  public List<MonitoredApi> updateActive(Collection<String> ids, boolean active) {
+    LocalDateTime now = LocalDateTime.now();
+    return updateInChunks(ids, chunk -> jpaRepository.updateActive(chunk, active, now));
+  }
+
+  @Override
+  @Transactional
+  public List<MonitoredApi> updateLatencyThreshold(Collection<String> ids, int latencyThresholdMs) {
+    LocalDateTime now = LocalDateTime.now();
+    return updateInChunks(ids, chunk -> jpaRepository.updateLatencyThreshold(chunk, latencyThresholdMs, now));
+  }
+
+  /**
+   * Executa o UPDATE (em blocos de IN_CLAUSE_CHUNK ids), relê as linhas
+   * alteradas e atualiza só as entradas afetadas dos caches, após o commit
+   * (um leitor concorrente não recarrega a versão anterior). O updatedAt
+   * comum a todas as linhas faz a sincronização incremental do registro
+   * enxergar a alteração.
+   */
+  private List<MonitoredApi> updateInChunks(Collection<String> ids, Consumer<List<String>> update) {
+    List<String> distinct = List.copyOf(new LinkedHashSet<>(ids));
+    List<MonitoredApi> updated = new ArrayList<>(distinct.size());
+    for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK) {
+      List<String> chunk = distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK, distinct.size()));
+      update.accept(chunk);
+      jpaRepository.findAllById(chunk).forEach(entity -> updated.add(toDomain(entity)));
+    }
+    log.debug("Atualizadas {} APIs em lote", updated.size());
+
+    // putAll já adia a escrita para após o commit
+    registryCache.putAll(updated);
+    Cache byId = cacheManager.getCache("monitored-api-by-id");
+    if (byId != null) {
+      MonitoredApiRegistryCache.afterCommit(() -> updated.forEach(api -> byId.evict(api.getId())));
+    }
+    return updated;
+  }
+
   // Mappers
   private MonitoredApiEntity toEntity(MonitoredApi domain) {
     MonitoredApiEntity entity = new MonitoredApiEntity();
@@ -92,6 +320,7 @@ public class MonitoredApiRepositoryImpl implements MonitoredApiRepository {
     entity.setExpectedStatusCode(domain.getExpectedStatusCode());
     entity.setLatencyThresholdMs(domain.getLatencyThresholdMs());
     entity.setActive(domain.isActive());
+    entity.setSloTarget(domain.getSloTarget());
     entity.setCreatedAt(domain.getCreatedAt());
     entity.setUpdatedAt(domain.getUpdatedAt());
     return entity;
@@ -106,6 +335,7 @@ public class MonitoredApiRepositoryImpl implements MonitoredApiRepository {
         entity.getExpectedStatusCode(),
         entity.getLatencyThresholdMs(),
         entity.getActive(),
+        entity.getSloTarget(),
         entity.getCreatedAt(),
         entity.getUpdatedAt());
   }
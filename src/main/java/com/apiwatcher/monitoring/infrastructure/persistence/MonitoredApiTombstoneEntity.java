@@ -0,0 +1,40 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Marca de remoção de uma API, para que a sincronização incremental do
+ * registro também enxergue deletes.
+ */
+@Entity
+@Table(name = "monitored_api_tombstones", indexes = @Index(name = "idx_tombstones_deleted_at", columnList = "deletedAt"))
+public class MonitoredApiTombstoneEntity {
+
+  @Id
+  private String apiId;
+
+  @Column(nullable = false)
+  private LocalDateTime deletedAt;
+
+  protected MonitoredApiTombstoneEntity() {
+  }
+
+  public MonitoredApiTombstoneEntity(String apiId, LocalDateTime deletedAt) {
+    this.apiId = apiId;
+    this.deletedAt = deletedAt;
+  }
+
+  public String getApiId() {
+    return apiId;
+  }
+
+  public LocalDateTime getDeletedAt() {
+    return deletedAt;
+  }
+}
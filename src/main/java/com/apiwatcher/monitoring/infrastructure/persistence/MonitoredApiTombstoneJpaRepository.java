@@ -0,0 +1,23 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface MonitoredApiTombstoneJpaRepository extends JpaRepository<MonitoredApiTombstoneEntity, String> {
+
+  @Query("SELECT t FROM MonitoredApiTombstoneEntity t WHERE t.deletedAt > :since")
+  List<MonitoredApiTombstoneEntity> findDeletedAfter(@Param("since") LocalDateTime since);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM MonitoredApiTombstoneEntity t WHERE t.deletedAt < :before")
+  int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,26 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+
+/**
+ * Projeção enxuta de monitored_apis com apenas as colunas usadas pelo
+ * probe (sem hidratar MonitoredApiEntity).
+ */
+public record ProbeTargetRow(
+    String id,
+    String name,
+    String url,
+    String httpMethod,
+    Integer expectedStatusCode,
+    Integer latencyThresholdMs,
+    Boolean active,
+    Double sloTarget,
+    LocalDateTime updatedAt) {
+
+  MonitoredApi toDomain() {
+    return new MonitoredApi(id, name, url, httpMethod, expectedStatusCode, latencyThresholdMs,
+        Boolean.TRUE.equals(active), sloTarget, null, updatedAt);
+  }
+}
@@ -0,0 +1,70 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.domain.repository.RegistryDelta;
+import com.apiwatcher.monitoring.domain.repository.RegistryDeltaSource;
+
+/**
+ * Sincronização incremental do registro a partir do PostgreSQL: projeção
+ * enxuta filtrada por updatedAt (indexado) + tombstones.
+ */
+@Component
+public class RegistryDeltaAdapter implements RegistryDeltaSource {
+
+  private final MonitoredApiJpaRepository jpaRepository;
+  private final MonitoredApiTombstoneJpaRepository tombstoneRepository;
+
+  public RegistryDeltaAdapter(MonitoredApiJpaRepository jpaRepository,
+      MonitoredApiTombstoneJpaRepository tombstoneRepository) {
+    this.jpaRepository = jpaRepository;
+    this.tombstoneRepository = tombstoneRepository;
+  }
+
+  @Override
+  public RegistryDelta activeSnapshot() {
+    List<ProbeTargetRow> rows = jpaRepository.findActiveProbeTargets();
+    return new RegistryDelta(toDomain(rows), List.of(), maxUpdatedAt(rows, null));
+  }
+
+  @Override
+  public RegistryDelta changesSince(LocalDateTime since) {
+    List<ProbeTargetRow> rows = jpaRepository.findProbeTargetsUpdatedAfter(since);
+    List<MonitoredApiTombstoneEntity> tombstones = tombstoneRepository.findDeletedAfter(since);
+
+    LocalDateTime watermark = maxUpdatedAt(rows, since);
+    for (MonitoredApiTombstoneEntity tombstone : tombstones) {
+      if (tombstone.getDeletedAt().isAfter(watermark)) {
+        watermark = tombstone.getDeletedAt();
+      }
+    }
+
+    return new RegistryDelta(
+        toDomain(rows),
+        tombstones.stream().map(MonitoredApiTombstoneEntity::getApiId).toList(),
+        watermark);
+  }
+
+  @Override
+  public int purgeTombstones(LocalDateTime before) {
+    return tombstoneRepository.deleteOlderThan(before);
+  }
+
+  private static List<MonitoredApi> toDomain(List<ProbeTargetRow> rows) {
+    return rows.stream().map(ProbeTargetRow::toDomain).toList();
+  }
+
+  private static LocalDateTime maxUpdatedAt(List<ProbeTargetRow> rows, LocalDateTime initial) {
+    LocalDateTime max = initial;
+    for (ProbeTargetRow row : rows) {
+      if (row.updatedAt() != null && (max == null || row.updatedAt().isAfter(max))) {
+        max = row.updatedAt();
+      }
+    }
+    return max;
+  }
+}
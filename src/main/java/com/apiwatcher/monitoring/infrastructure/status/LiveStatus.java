@@ -0,0 +1,62 @@
+package com.apiwatcher.monitoring.infrastructure.status;
+
+import java.util.Map;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+
+/**
+ * Status ao vivo de uma API: último resultado, estado atual, momento da
+ * última mudança de estado e médias móveis (EWMA) de sucesso e latência.
+ * Instantes em epoch millis.
+ */
+public record LiveStatus(
+    HealthStatus state,
+    HealthStatus previousState,
+    long lastChangeAt,
+    long checkedAt,
+    boolean success,
+    int statusCode,
+    long latencyMs,
+    String errorMessage,
+    double successRate,
+    double avgLatencyMs,
+    long checks) {
+
+  /**
+   * Converte o hash do Redis; null se a API ainda não tem status.
+   */
+  static LiveStatus fromHash(Map<?, ?> hash) {
+    if (hash == null || hash.get("state") == null) {
+      return null;
+    }
+    String previous = string(hash, "previousState");
+    String error = string(hash, "errorMessage");
+    return new LiveStatus(
+        HealthStatus.valueOf(string(hash, "state")),
+        previous == null || previous.isEmpty() ? null : HealthStatus.valueOf(previous),
+        parseLong(hash, "lastChangeAt"),
+        parseLong(hash, "checkedAt"),
+        "1".equals(string(hash, "success")),
+        (int) parseLong(hash, "statusCode"),
+        parseLong(hash, "latencyMs"),
+        error == null || error.isEmpty() ? null : error,
+        parseDouble(hash, "successEwma"),
+        parseDouble(hash, "latencyEwma"),
+        parseLong(hash, "checks"));
+  }
+
+  private static String string(Map<?, ?> hash, String field) {
+    Object value = hash.get(field);
+    return value != null ? value.toString() : null;
+  }
+
+  private static long parseLong(Map<?, ?> hash, String field) {
+    String value = string(hash, field);
+    return value != null ? Long.parseLong(value) : 0L;
+  }
+
+  private static double parseDouble(Map<?, ?> hash, String field) {
+    String value = string(hash, field);
+    return value != null ? Double.parseDouble(value) : 0.0;
+  }
+}
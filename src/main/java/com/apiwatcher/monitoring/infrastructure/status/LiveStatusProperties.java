@@ -0,0 +1,18 @@
+package com.apiwatcher.monitoring.infrastructure.status;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do status ao vivo por API (Redis).
+ *
+ * - ewmaAlpha: peso do check mais recente nas médias móveis
+ * - ttl: expiração do status de APIs que deixaram de ser checadas
+ */
+@ConfigurationProperties(prefix = "status.live")
+public record LiveStatusProperties(
+    @DefaultValue("0.1") double ewmaAlpha,
+    @DefaultValue("1d") Duration ttl) {
+}
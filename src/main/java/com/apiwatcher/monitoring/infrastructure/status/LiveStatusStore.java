@@ -0,0 +1,122 @@
+package com.apiwatcher.monitoring.infrastructure.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.events.HealthCheckListener;
+
+/**
+ * Status ao vivo por API, compartilhado entre instâncias via Redis.
+ *
+ * Cada health check atualiza o hash api-watcher:status:{apiId} com um script
+ * Lua (leitura + EWMA + escrita atômicas, ignorando checks fora de ordem).
+ * Leituras de várias APIs são feitas em uma única chamada pipelined.
+ */
+@Component
+public class LiveStatusStore implements HealthCheckListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(LiveStatusStore.class);
+
+  private static final String KEY_PREFIX = "api-watcher:status:";
+
+  private final StringRedisTemplate redisTemplate;
+  private final LiveStatusProperties properties;
+  private final RedisScript<Long> updateScript;
+
+  public LiveStatusStore(StringRedisTemplate redisTemplate, LiveStatusProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+    this.updateScript = RedisScript.of(new ClassPathResource("redis/live-status.lua"), Long.class);
+  }
+
+  @Override
+  public void onHealthCheck(HealthCheckEvent event) {
+    long checkedAt = event.getCheckedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    try {
+      Long result = redisTemplate.execute(updateScript, List.of(key(event.getApiId())),
+          event.getStatus().name(),
+          Long.toString(checkedAt),
+          event.isSuccess() ? "1" : "0",
+          Integer.toString(event.getStatusCode()),
+          Long.toString(event.getLatencyMs()),
+          event.getErrorMessage() != null ? event.getErrorMessage() : "",
+          Double.toString(properties.ewmaAlpha()),
+          Long.toString(properties.ttl().toSeconds()));
+
+      if (result != null && result == 1) {
+        logger.info("[LIVE-STATUS] {} mudou para {}", event.getApiName(), event.getStatus());
+      }
+    } catch (DataAccessException e) {
+      logger.warn("[LIVE-STATUS] Falha ao atualizar status de {}: {}", event.getApiId(), e.getMessage());
+    }
+  }
+
+  public Optional<LiveStatus> find(String apiId) {
+    return Optional.ofNullable(findAll(List.of(apiId)).get(apiId));
+  }
+
+  /**
+   * Status de várias APIs em uma única ida ao Redis. APIs sem status (ou com
+   * Redis indisponível) ficam fora do mapa.
+   */
+  public Map<String, LiveStatus> findAll(Collection<String> apiIds) {
+    Map<String, LiveStatus> statuses = new HashMap<>();
+    if (apiIds.isEmpty()) {
+      return statuses;
+    }
+
+    try {
+      List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+        for (String apiId : apiIds) {
+          hGetAll(connection, apiId);
+        }
+        return null;
+      });
+
+      Iterator<String> ids = apiIds.iterator();
+      for (Object hash : hashes) {
+        String apiId = ids.next();
+        LiveStatus status = LiveStatus.fromHash((Map<?, ?>) hash);
+        if (status != null) {
+          statuses.put(apiId, status);
+        }
+      }
+    } catch (DataAccessException e) {
+      logger.warn("[LIVE-STATUS] Falha ao ler status: {}", e.getMessage());
+    }
+    return statuses;
+  }
+
+  public void remove(String apiId) {
+    try {
+      redisTemplate.delete(key(apiId));
+    } catch (DataAccessException e) {
+      logger.warn("[LIVE-STATUS] Falha ao remover status de {}: {}", apiId, e.getMessage());
+    }
+  }
+
+  private static void hGetAll(RedisConnection connection, String apiId) {
+    connection.hashCommands().hGetAll(key(apiId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String key(String apiId) {
+    return KEY_PREFIX + apiId;
+  }
+}
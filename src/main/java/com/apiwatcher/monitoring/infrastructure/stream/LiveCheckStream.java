@@ -0,0 +1,177 @@
+package com.apiwatcher.monitoring.infrastructure.stream;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+import com.apiwatcher.monitoring.domain.events.HealthCheckListener;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Stream SSE dos health checks executados por esta instância.
+ *
+ * Cada check vira uma mensagem "check"; mudanças de status (UP, DEGRADED,
+ * DOWN) geram também uma mensagem "state". Na thread do probe só há filtro
+ * e enfileiramento no buffer de cada assinante; o envio (inclusive o
+ * heartbeat) acontece num pool pequeno de threads de plataforma, com no
+ * máximo um drain por assinante.
+ *
+ * O stream não envia um snapshot inicial: clientes carregam o estado atual
+ * com GET /apis?withStatus=true e seguem pelo stream.
+ */
+@Component
+public class LiveCheckStream implements HealthCheckListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(LiveCheckStream.class);
+
+  private final StreamProperties properties;
+  private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final Map<String, HealthStatus> lastStatus = new ConcurrentHashMap<>();
+  private final ExecutorService senders;
+  private final AtomicLong sequence = new AtomicLong();
+  private final Counter coalescedCounter;
+  private final Counter droppedCounter;
+
+  public LiveCheckStream(StreamProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.senders = Executors.newFixedThreadPool(properties.senderThreads(),
+        Thread.ofPlatform().name("stream-sender-", 0).daemon().factory());
+    Gauge.builder("apiwatcher.stream.subscribers", subscribers, Set::size)
+        .description("Assinantes conectados ao stream SSE")
+        .register(meterRegistry);
+    this.coalescedCounter = Counter.builder("apiwatcher.stream.discarded")
+        .description("Mensagens do stream substituídas ou descartadas antes do envio")
+        .tag("reason", "coalesced")
+        .register(meterRegistry);
+    this.droppedCounter = Counter.builder("apiwatcher.stream.discarded")
+        .description("Mensagens do stream substituídas ou descartadas antes do envio")
+        .tag("reason", "overflow")
+        .register(meterRegistry);
+  }
+
+  public SseEmitter subscribe(StreamFilter filter) {
+    if (subscribers.size() >= properties.maxSubscribers()) {
+      throw new DomainException("Limite de " + properties.maxSubscribers() + " assinantes do stream atingido");
+    }
+    SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+    StreamSubscriber subscriber = new StreamSubscriber(emitter, filter, properties.bufferSize());
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(() -> unsubscribe(subscriber));
+    emitter.onError(e -> unsubscribe(subscriber));
+    subscribers.add(subscriber);
+    logger.info("[STREAM] Assinante conectado ({} ativos)", subscribers.size());
+    return emitter;
+  }
+
+  @Override
+  public void onHealthCheck(HealthCheckEvent event) {
+    HealthStatus status = event.getStatus();
+    HealthStatus previous = lastStatus.put(event.getApiId(), status);
+    if (subscribers.isEmpty()) {
+      return;
+    }
+
+    String host = hostOf(event.getApiUrl());
+    StreamMessage check = StreamMessage.check(event);
+    StreamMessage state = previous != status ? StreamMessage.state(event, previous) : null;
+    for (StreamSubscriber subscriber : subscribers) {
+      StreamFilter filter = subscriber.filter();
+      boolean schedule = false;
+      if (filter.matches(event.getApiId(), host, status)) {
+        schedule = subscriber.offer(sequence.incrementAndGet(), check);
+      }
+      if (state != null && filter.matchesTransition(event.getApiId(), host, previous, status)) {
+        schedule |= subscriber.offer(sequence.incrementAndGet(), state);
+      }
+      if (schedule) {
+        scheduleDrain(subscriber);
+      }
+    }
+  }
+
+  /**
+   * Remove o status conhecido da API (API excluída).
+   */
+  public void remove(String apiId) {
+    lastStatus.remove(apiId);
+  }
+
+  /**
+   * Comentário periódico: mantém proxies abertos e detecta conexões mortas.
+   *
+   * Roda no scheduler compartilhado com os probes, então só enfileira: o
+   * envio fica com o drain do assinante.
+   */
+  @Scheduled(fixedRateString = "${stream.heartbeat-interval:15000}")
+  public void heartbeat() {
+    for (StreamSubscriber subscriber : subscribers) {
+      coalescedCounter.increment(subscriber.takeCoalesced());
+      droppedCounter.increment(subscriber.takeDropped());
+      if (subscriber.offerHeartbeat()) {
+        scheduleDrain(subscriber);
+      }
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    senders.shutdownNow();
+  }
+
+  private void scheduleDrain(StreamSubscriber subscriber) {
+    try {
+      senders.execute(() -> drain(subscriber));
+    } catch (RejectedExecutionException e) {
+      // Encerrando: o @PreDestroy completa os emitters
+      subscriber.abortDrain();
+    }
+  }
+
+  private void drain(StreamSubscriber subscriber) {
+    try {
+      subscriber.drain();
+    } catch (IOException | IllegalStateException e) {
+      logger.debug("[STREAM] Falha ao enviar para assinante, desconectando: {}", e.getMessage());
+      subscriber.abortDrain();
+      subscriber.emitter().completeWithError(e);
+      unsubscribe(subscriber);
+    }
+  }
+
+  private void unsubscribe(StreamSubscriber subscriber) {
+    if (subscribers.remove(subscriber)) {
+      coalescedCounter.increment(subscriber.takeCoalesced());
+      droppedCounter.increment(subscriber.takeDropped());
+      logger.info("[STREAM] Assinante desconectado ({} ativos)", subscribers.size());
+    }
+  }
+
+  private static String hostOf(String url) {
+    try {
+      return URI.create(url).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.apiwatcher.monitoring.infrastructure.stream;
+
+import java.util.Set;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+
+/**
+ * Filtro de um assinante. Critérios vazios/nulos aceitam tudo.
+ */
+public record StreamFilter(
+    Set<String> apiIds,
+    String host,
+    Set<HealthStatus> statuses) {
+
+  public StreamFilter {
+    apiIds = apiIds != null ? Set.copyOf(apiIds) : Set.of();
+    statuses = statuses != null ? Set.copyOf(statuses) : Set.of();
+    host = host != null && !host.isBlank() ? host : null;
+  }
+
+  boolean matches(String apiId, String apiHost, HealthStatus status) {
+    return (apiIds.isEmpty() || apiIds.contains(apiId))
+        && (host == null || host.equalsIgnoreCase(apiHost))
+        && (statuses.isEmpty() || statuses.contains(status));
+  }
+
+  /**
+   * Mudança de status passa se o status anterior ou o novo passar: quem
+   * filtra DOWN também precisa ver a recuperação DOWN -> UP.
+   */
+  boolean matchesTransition(String apiId, String apiHost, HealthStatus previous, HealthStatus status) {
+    return matches(apiId, apiHost, status)
+        || previous != null && matches(apiId, apiHost, previous);
+  }
+}
@@ -0,0 +1,52 @@
+package com.apiwatcher.monitoring.infrastructure.stream;
+
+import java.time.LocalDateTime;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Mensagem enviada aos assinantes do stream.
+ *
+ * type = "check" (resultado de um health check) ou "state" (mudança de
+ * status; previousStatus null = primeiro check visto por esta instância).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StreamMessage(
+    String type,
+    String apiId,
+    String apiName,
+    String apiUrl,
+    HealthStatus status,
+    HealthStatus previousStatus,
+    int statusCode,
+    long latencyMs,
+    String errorMessage,
+    LocalDateTime checkedAt) {
+
+  static final String CHECK = "check";
+  static final String STATE = "state";
+
+  static StreamMessage check(HealthCheckEvent event) {
+    return of(CHECK, event, null);
+  }
+
+  static StreamMessage state(HealthCheckEvent event, HealthStatus previousStatus) {
+    return of(STATE, event, previousStatus);
+  }
+
+  private static StreamMessage of(String type, HealthCheckEvent event, HealthStatus previousStatus) {
+    return new StreamMessage(
+        type,
+        event.getApiId(),
+        event.getApiName(),
+        event.getApiUrl(),
+        event.getStatus(),
+        previousStatus,
+        event.getStatusCode(),
+        event.getLatencyMs(),
+        event.getErrorMessage(),
+        event.getCheckedAt());
+  }
+}
@@ -0,0 +1,25 @@
+package com.apiwatcher.monitoring.infrastructure.stream;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do stream SSE de health checks.
+ *
+ * - bufferSize: mensagens pendentes por assinante (acima disso, descarta as
+ * mais antigas)
+ * - maxSubscribers: conexões simultâneas por instância
+ * - timeout: duração máxima de uma conexão (o EventSource reconecta)
+ * - senderThreads: threads de plataforma que enviam aos assinantes. O envio
+ * bloqueia no socket de clientes lentos; com virtual threads isso prenderia
+ * as carrier threads usadas pelo resto da aplicação
+ */
+@ConfigurationProperties(prefix = "stream")
+public record StreamProperties(
+    @DefaultValue("256") int bufferSize,
+    @DefaultValue("200") int maxSubscribers,
+    @DefaultValue("30m") Duration timeout,
+    @DefaultValue("4") int senderThreads) {
+}
@@ -0,0 +1,147 @@
+package com.apiwatcher.monitoring.infrastructure.stream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Assinante do stream: filtro + buffer limitado + conexão SSE.
+ *
+ * O buffer é indexado por chave (tipo + API): uma mensagem nova substitui a
+ * pendente do mesmo tipo e API (coalescência), e acima da capacidade a mais antiga
+ * é descartada. Assim o probe nunca espera pelo cliente e a memória por
+ * assinante é limitada, mesmo com conexões lentas.
+ *
+ * O envio é feito por um único drain por vez, fora da thread do probe. O
+ * heartbeat também passa pelo buffer: quem agenda nunca escreve no socket.
+ */
+class StreamSubscriber {
+
+  private final SseEmitter emitter;
+  private final StreamFilter filter;
+  private final int capacity;
+  private final Map<String, Entry> pending = new LinkedHashMap<>();
+  private boolean draining;
+  private boolean heartbeat;
+  private long coalesced;
+  private long dropped;
+
+  StreamSubscriber(SseEmitter emitter, StreamFilter filter, int capacity) {
+    this.emitter = emitter;
+    this.filter = filter;
+    this.capacity = capacity;
+  }
+
+  StreamFilter filter() {
+    return filter;
+  }
+
+  SseEmitter emitter() {
+    return emitter;
+  }
+
+  /**
+   * Enfileira a mensagem.
+   *
+   * @return true se o chamador deve agendar um drain
+   */
+  synchronized boolean offer(long id, StreamMessage message) {
+    String key = message.type() + ':' + message.apiId();
+    // remove + put: a substituta vai para o fim, mantendo os ids em ordem
+    if (pending.remove(key) != null) {
+      pending.put(key, new Entry(id, message));
+      coalesced++;
+    } else {
+      pending.put(key, new Entry(id, message));
+      if (pending.size() > capacity) {
+        Iterator<Entry> eldest = pending.values().iterator();
+        eldest.next();
+        eldest.remove();
+        dropped++;
+      }
+    }
+    return claimDrain();
+  }
+
+  /**
+   * Enfileira um heartbeat. Só é enviado se o drain não tiver mensagens para
+   * enviar: qualquer mensagem já mantém a conexão viva.
+   *
+   * @return true se o chamador deve agendar um drain
+   */
+  synchronized boolean offerHeartbeat() {
+    heartbeat = true;
+    return claimDrain();
+  }
+
+  /**
+   * Envia as mensagens pendentes até esvaziar o buffer.
+   *
+   * @throws IOException se a conexão foi perdida
+   */
+  void drain() throws IOException {
+    List<Entry> batch;
+    while ((batch = takeAll()) != null) {
+      if (batch.isEmpty()) {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+      }
+      for (Entry entry : batch) {
+        emitter.send(SseEmitter.event()
+            .id(Long.toString(entry.id()))
+            .name(entry.message().type())
+            .data(entry.message(), MediaType.APPLICATION_JSON));
+      }
+    }
+  }
+
+  /**
+   * Libera o drain após falha no envio, para não bloquear novas mensagens.
+   */
+  synchronized void abortDrain() {
+    pending.clear();
+    heartbeat = false;
+    draining = false;
+  }
+
+  synchronized long takeCoalesced() {
+    long value = coalesced;
+    coalesced = 0;
+    return value;
+  }
+
+  synchronized long takeDropped() {
+    long value = dropped;
+    dropped = 0;
+    return value;
+  }
+
+  private boolean claimDrain() {
+    if (draining) {
+      return false;
+    }
+    draining = true;
+    return true;
+  }
+
+  // null = buffer vazio; o drain termina e o próximo offer agenda outro.
+  // Lista vazia = só heartbeat pendente.
+  private synchronized List<Entry> takeAll() {
+    if (pending.isEmpty() && !heartbeat) {
+      draining = false;
+      return null;
+    }
+    List<Entry> batch = new ArrayList<>(pending.values());
+    pending.clear();
+    heartbeat = false;
+    return batch;
+  }
+
+  private record Entry(long id, StreamMessage message) {
+  }
+}
@@ -1,71 +1,99 @@
 package com.apiwatcher.monitoring.infrastructure.timeseries.document;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
-
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Documento MongoDB: Histórico de health checks (schema compacto).
+ *
+ * Otimizações de armazenamento:
+ * - Nomes de campo curtos (ver constantes FIELD_*)
+ * - _id é o próprio eventId (um único identificador por documento)
+ * - Timestamp em epoch millis (int64) em vez de LocalDateTime
+ * - Dados de referência (nome, URL, threshold) não são copiados:
+ * são obtidos do cadastro (MonitoredApiRepository) na leitura
+ * - errorMessage e traceId só são gravados quando presentes
+ */
 @Document(collection = "health_checks")
-@CompoundIndex(name = "api_time_idx", def = "{'apiId': 1, 'checkedAt': -1}")
+@CompoundIndex(name = "api_t_idx", def = "{'a': 1, 't': -1}")
 public class HealthCheckHistory {
 
+  public static final String COLLECTION = "health_checks";
+
+  public static final String FIELD_API_ID = "a";
+  public static final String FIELD_CHECKED_AT = "t";
+  public static final String FIELD_SUCCESS = "s";
+  public static final String FIELD_STATUS_CODE = "c";
+  public static final String FIELD_LATENCY_MS = "l";
+  public static final String FIELD_ERROR_MESSAGE = "e";
+  public static final String FIELD_EXCEEDED_THRESHOLD = "x";
+  public static final String FIELD_TRACE_ID = "tr";
+
+  // Identificador único (eventId do HealthCheckEvent)
   @Id
   private String id;
 
-  // Identicação da API
-  @Indexed
+  @Field(FIELD_API_ID)
   private String apiId;
-  private String apiName;
-  private String apiUrl;
 
   // Resultado do Health Check
+  @Field(FIELD_SUCCESS)
   private boolean success;
+
+  @Field(FIELD_STATUS_CODE)
   private int statusCode;
+
+  @Field(FIELD_LATENCY_MS)
   private long latencyMs;
+
+  @Field(FIELD_ERROR_MESSAGE)
   private String errorMessage;
 
-  // Análise de Thresholds
+  @Field(FIELD_EXCEEDED_THRESHOLD)
   private boolean exceededThreshold;
-  private int thresholdMs;
 
-  // Timestamp
-  @Indexed
-  private LocalDateTime checkedAt;
+  // Trace id do probe (header Kafka), quando houver
+  @Field(FIELD_TRACE_ID)
+  private String traceId;
 
-  // Metadados do evento
-  private String eventId;
-  private String eventType;
+  // Timestamp (epoch millis)
+  @Indexed(name = "t_idx")
+  @Field(FIELD_CHECKED_AT)
+  private long checkedAt;
 
   public HealthCheckHistory() {
   }
 
   public HealthCheckHistory(
+      String id,
       String apiId,
-      String apiName,
-      String apiUrl,
       boolean success,
       int statusCode,
       long latencyMs,
       String errorMessage,
       boolean exceededThreshold,
-      int thresholdMs,
-      LocalDateTime checkedAt,
-      String eventId,
-      String eventType) {
+      long checkedAt) {
+    this.id = id;
     this.apiId = apiId;
-    this.apiName = apiName;
-    this.apiUrl = apiUrl;
     this.success = success;
     this.statusCode = statusCode;
     this.latencyMs = latencyMs;
     this.errorMessage = errorMessage;
     this.exceededThreshold = exceededThreshold;
-    this.thresholdMs = thresholdMs;
     this.checkedAt = checkedAt;
-    this.eventId = eventId;
-    this.eventType = eventType;
+  }
+
+  /**
+   * Converte o LocalDateTime do evento (fuso do sistema) para epoch millis.
+   */
+  public static long toEpochMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
   }
 
   // Getters e Setters
@@ -86,22 +114,6 @@ public class HealthCheckHistory {
     this.apiId = apiId;
   }
 
-  public String getApiName() {
-    return apiName;
-  }
-
-  public void setApiName(String apiName) {
-    this.apiName = apiName;
-  }
-
-  public String getApiUrl() {
-    return apiUrl;
-  }
-
-  public void setApiUrl(String apiUrl) {
-    this.apiUrl = apiUrl;
-  }
-
   public boolean isSuccess() {
     return success;
   }
@@ -142,41 +154,25 @@ public class HealthCheckHistory {
     this.exceededThreshold = exceededThreshold;
   }
 
-  public int getThresholdMs() {
-    return thresholdMs;
+  public String getTraceId() {
+    return traceId;
   }
 
-  public void setThresholdMs(int thresholdMs) {
-    this.thresholdMs = thresholdMs;
+  public void setTraceId(String traceId) {
+    this.traceId = traceId;
   }
 
-  public LocalDateTime getCheckedAt() {
+  public long getCheckedAt() {
     return checkedAt;
   }
 
-  public void setCheckedAt(LocalDateTime checkedAt) {
+  public void setCheckedAt(long checkedAt) {
     this.checkedAt = checkedAt;
   }
 
-  public String getEventId() {
-    return eventId;
-  }
-
-  public void setEventId(String eventId) {
-    this.eventId = eventId;
-  }
-
-  public String getEventType() {
-    return eventType;
-  }
-
-  public void setEventType(String eventType) {
-    this.eventType = eventType;
-  }
-
   @Override
   public String toString() {
-    return "HealthCheckHistory[id=%s, apiName=%s, success=%s, latency=%dms, checkedAt=%s]"
-        .formatted(id, apiName, success, latencyMs, checkedAt);
+    return "HealthCheckHistory[id=%s, apiId=%s, success=%s, latency=%dms, checkedAt=%d]"
+        .formatted(id, apiId, success, latencyMs, checkedAt);
   }
 }
@@ -0,0 +1,95 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.document;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Documento MongoDB: bucket agregado do histórico de health checks.
+ *
+ * Gerado pelo HistoryRetentionJob nas coleções
+ * {@code health_checks_<camada>} (ex.: health_checks_1m). O _id é composto
+ * por {a: apiId, b: início do bucket}, o que torna o reprocessamento
+ * idempotente.
+ */
+public class HealthCheckRollup {
+
+  public static final String FIELD_API_ID = "a";
+  public static final String FIELD_BUCKET_START = "t";
+  public static final String FIELD_COUNT = "n";
+  public static final String FIELD_FAILURES = "f";
+  public static final String FIELD_EXCEEDED = "x";
+  public static final String FIELD_LATENCY_SUM = "sum";
+  public static final String FIELD_LATENCY_MIN = "min";
+  public static final String FIELD_LATENCY_MAX = "max";
+
+  @Field(FIELD_API_ID)
+  private String apiId;
+
+  // Início do bucket (epoch millis)
+  @Field(FIELD_BUCKET_START)
+  private long bucketStart;
+
+  @Field(FIELD_COUNT)
+  private long count;
+
+  @Field(FIELD_FAILURES)
+  private long failures;
+
+  @Field(FIELD_EXCEEDED)
+  private long exceeded;
+
+  @Field(FIELD_LATENCY_SUM)
+  private long latencySum;
+
+  @Field(FIELD_LATENCY_MIN)
+  private long latencyMin;
+
+  @Field(FIELD_LATENCY_MAX)
+  private long latencyMax;
+
+  public HealthCheckRollup() {
+  }
+
+  public double averageLatencyMs() {
+    return count == 0 ? 0 : (double) latencySum / count;
+  }
+
+  // Getters
+
+  public String getApiId() {
+    return apiId;
+  }
+
+  public long getBucketStart() {
+    return bucketStart;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getFailures() {
+    return failures;
+  }
+
+  public long getExceeded() {
+    return exceeded;
+  }
+
+  public long getLatencySum() {
+    return latencySum;
+  }
+
+  public long getLatencyMin() {
+    return latencyMin;
+  }
+
+  public long getLatencyMax() {
+    return latencyMax;
+  }
+
+  @Override
+  public String toString() {
+    return "HealthCheckRollup[apiId=%s, bucketStart=%d, count=%d, failures=%d]"
+        .formatted(apiId, bucketStart, count, failures);
+  }
+}
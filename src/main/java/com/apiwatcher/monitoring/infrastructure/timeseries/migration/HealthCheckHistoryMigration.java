@@ -0,0 +1,198 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.migration;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckHistory;
+import com.mongodb.MongoClientSettings;
+
+/**
+ * Migração (backfill) do histórico de health checks para o schema compacto.
+ *
+ * Como funciona:
+ * 1. Lê lotes de documentos no schema antigo (identificados pelo campo
+ * "apiName", que não existe no schema novo)
+ * 2. Converte cada documento para o formato compacto (_id = eventId)
+ * 3. Grava com upsert e remove os originais na mesma operação bulk ordenada
+ *
+ * Documentos antigos sem checkedAt (Date) não são migrados: não há como
+ * posicioná-los no tempo sem inventar um timestamp, o que os colocaria no
+ * bucket atual da retenção e dos rollups. Ficam no schema antigo e são
+ * contados no relatório (skippedDocuments).
+ *
+ * A migração é idempotente e retomável: se for interrompida, os documentos
+ * antigos restantes continuam no schema antigo e são processados na próxima
+ * execução. Ao final, um relatório compara o tamanho BSON médio por documento
+ * antes e depois.
+ */
+@Component
+public class HealthCheckHistoryMigration {
+
+  private static final Logger logger = LoggerFactory.getLogger(HealthCheckHistoryMigration.class);
+
+  // Índices criados pelo schema antigo (apiId, checkedAt e o composto)
+  private static final Set<String> LEGACY_INDEXES = Set.of("apiId", "checkedAt", "api_time_idx");
+
+  private static final Codec<Document> DOCUMENT_CODEC = MongoClientSettings.getDefaultCodecRegistry()
+      .get(Document.class);
+
+  private final MongoTemplate mongoTemplate;
+
+  public HealthCheckHistoryMigration(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  /**
+   * Migra todos os documentos antigos em lotes de {@code batchSize}.
+   */
+  public MigrationReport migrate(int batchSize) {
+    ensureCompactIndexes();
+
+    // Só documentos com checkedAt do tipo Date (BSON 9): os demais ficariam
+    // sempre no início do lote
+    Query legacyBatch = new Query(Criteria.where("apiName").exists(true).and("checkedAt").type(9))
+        .with(Sort.by("_id"))
+        .limit(batchSize);
+
+    long migrated = 0;
+    long bytesBefore = 0;
+    long bytesAfter = 0;
+
+    while (true) {
+      List<Document> batch = mongoTemplate.find(legacyBatch, Document.class, HealthCheckHistory.COLLECTION);
+      if (batch.isEmpty()) {
+        break;
+      }
+
+      BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, HealthCheckHistory.COLLECTION);
+      List<Object> legacyIds = new ArrayList<>(batch.size());
+
+      for (Document legacy : batch) {
+        Document compact = toCompact(legacy);
+        if (compact == null) {
+          continue;
+        }
+        bytesBefore += bsonSize(legacy);
+        bytesAfter += bsonSize(compact);
+
+        ops.replaceOne(
+            new Query(Criteria.where("_id").is(compact.get("_id"))),
+            compact,
+            FindAndReplaceOptions.options().upsert());
+        legacyIds.add(legacy.get("_id"));
+      }
+      if (legacyIds.isEmpty()) {
+        break;
+      }
+
+      ops.remove(new Query(Criteria.where("_id").in(legacyIds)));
+      ops.execute();
+
+      migrated += legacyIds.size();
+      logger.info("[MIGRATION] Lote migrado: {} documentos (total={})", legacyIds.size(), migrated);
+    }
+
+    long skipped = mongoTemplate.count(new Query(Criteria.where("apiName").exists(true)),
+        HealthCheckHistory.COLLECTION);
+    if (skipped > 0) {
+      logger.warn("[MIGRATION] {} documentos antigos sem checkedAt valido mantidos no schema antigo", skipped);
+    }
+
+    dropLegacyIndexes();
+
+    MigrationReport report = new MigrationReport(migrated, skipped, average(bytesBefore, migrated),
+        average(bytesAfter, migrated));
+    logger.info("[MIGRATION] Concluida: {}", report);
+    return report;
+  }
+
+  /**
+   * Converte um documento do schema antigo para o schema compacto, ou null
+   * se ele não tem checkedAt (Date).
+   */
+  Document toCompact(Document legacy) {
+    Object eventId = legacy.get("eventId");
+    if (!(legacy.get("checkedAt") instanceof Date checkedAt)) {
+      return null;
+    }
+
+    Document compact = new Document("_id", eventId != null ? eventId : legacy.get("_id").toString())
+        .append(HealthCheckHistory.FIELD_API_ID, legacy.get("apiId"))
+        .append(HealthCheckHistory.FIELD_SUCCESS, legacy.getBoolean("success", false))
+        .append(HealthCheckHistory.FIELD_STATUS_CODE, ((Number) legacy.get("statusCode", 0)).intValue())
+        .append(HealthCheckHistory.FIELD_LATENCY_MS, ((Number) legacy.get("latencyMs", 0L)).longValue())
+        .append(HealthCheckHistory.FIELD_EXCEEDED_THRESHOLD, legacy.getBoolean("exceededThreshold", false))
+        .append(HealthCheckHistory.FIELD_CHECKED_AT, checkedAt.getTime());
+
+    String errorMessage = legacy.getString("errorMessage");
+    if (errorMessage != null) {
+      compact.append(HealthCheckHistory.FIELD_ERROR_MESSAGE, errorMessage);
+    }
+    return compact;
+  }
+
+  private void ensureCompactIndexes() {
+    IndexOperations indexOps = mongoTemplate.indexOps(HealthCheckHistory.COLLECTION);
+    indexOps.ensureIndex(new Index()
+        .on(HealthCheckHistory.FIELD_API_ID, Sort.Direction.ASC)
+        .on(HealthCheckHistory.FIELD_CHECKED_AT, Sort.Direction.DESC)
+        .named("api_t_idx"));
+    indexOps.ensureIndex(new Index()
+        .on(HealthCheckHistory.FIELD_CHECKED_AT, Sort.Direction.ASC)
+        .named("t_idx"));
+  }
+
+  private void dropLegacyIndexes() {
+    IndexOperations indexOps = mongoTemplate.indexOps(HealthCheckHistory.COLLECTION);
+    for (IndexInfo index : indexOps.getIndexInfo()) {
+      if (LEGACY_INDEXES.contains(index.getName())) {
+        indexOps.dropIndex(index.getName());
+        logger.info("[MIGRATION] Indice antigo removido: {}", index.getName());
+      }
+    }
+  }
+
+  private static int bsonSize(Document document) {
+    return new RawBsonDocument(document, DOCUMENT_CODEC).getByteBuffer().remaining();
+  }
+
+  private static double average(long totalBytes, long count) {
+    return count == 0 ? 0 : (double) totalBytes / count;
+  }
+
+  /**
+   * Relatório da migração: bytes médios por documento antes e depois, e
+   * documentos antigos ignorados por falta de checkedAt.
+   */
+  public record MigrationReport(long migratedDocuments, long skippedDocuments, double avgBytesBefore,
+      double avgBytesAfter) {
+
+    public double reductionPercent() {
+      return avgBytesBefore == 0 ? 0 : 100.0 * (1 - avgBytesAfter / avgBytesBefore);
+    }
+
+    @Override
+    public String toString() {
+      return "MigrationReport[migrated=%d, skipped=%d, avgBytesBefore=%.1f, avgBytesAfter=%.1f, reduction=%.1f%%]"
+          .formatted(migratedDocuments, skippedDocuments, avgBytesBefore, avgBytesAfter, reductionPercent());
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dispara a migração do histórico na inicialização da aplicação.
+ *
+ * Habilitado via application.yml (history.migration.enabled=true).
+ * Roda em uma thread própria para não atrasar o startup.
+ */
+@Component
+@ConditionalOnProperty(name = "history.migration.enabled", havingValue = "true")
+public class HealthCheckHistoryMigrationRunner implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(HealthCheckHistoryMigrationRunner.class);
+
+  private final HealthCheckHistoryMigration migration;
+
+  @Value("${history.migration.batch-size:1000}")
+  private int batchSize;
+
+  public HealthCheckHistoryMigrationRunner(HealthCheckHistoryMigration migration) {
+    this.migration = migration;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    Thread.ofVirtual().name("history-migration").start(() -> {
+      logger.info("[MIGRATION] Iniciando migracao do historico para o schema compacto (lote={})", batchSize);
+      try {
+        migration.migrate(batchSize);
+      } catch (Exception e) {
+        logger.error("[MIGRATION-ERROR] Erro ao migrar historico: {}", e.getMessage(), e);
+      }
+    });
+  }
+}
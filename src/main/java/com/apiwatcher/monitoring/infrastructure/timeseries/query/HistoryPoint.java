@@ -0,0 +1,12 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.query;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+
+/**
+ * Ponto de histórico (timestamp em epoch millis).
+ *
+ * Para dados agregados (camadas 1m/1h), latencyMs é a média do bucket e
+ * status é o pior status observado nele.
+ */
+public record HistoryPoint(long timestamp, double latencyMs, HealthStatus status) {
+}
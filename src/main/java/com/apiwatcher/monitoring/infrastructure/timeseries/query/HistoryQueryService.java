@@ -0,0 +1,130 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckHistory;
+import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckRollup;
+import com.apiwatcher.monitoring.infrastructure.timeseries.recent.RecentHistoryStore;
+import com.apiwatcher.monitoring.infrastructure.timeseries.retention.RetentionProperties;
+import com.apiwatcher.monitoring.infrastructure.timeseries.retention.RetentionProperties.Tier;
+
+/**
+ * Consulta de histórico com escolha automática da fonte:
+ *
+ * 1. Memória (RecentHistoryStore), se o intervalo estiver na janela recente
+ * 2. Coleção raw (health_checks), se estiver dentro da retenção raw
+ * 3. Camada agregada mais fina que ainda cobre o início do intervalo,
+ * complementada com dados raw após o último bucket agregado
+ *
+ * Quando o resultado excede {@code maxPoints}, aplica LTTB no servidor.
+ */
+@Service
+public class HistoryQueryService {
+
+  private final MongoTemplate mongoTemplate;
+  private final RecentHistoryStore recentHistoryStore;
+  private final RetentionProperties retentionProperties;
+
+  public HistoryQueryService(MongoTemplate mongoTemplate, RecentHistoryStore recentHistoryStore,
+      RetentionProperties retentionProperties) {
+    this.mongoTemplate = mongoTemplate;
+    this.recentHistoryStore = recentHistoryStore;
+    this.retentionProperties = retentionProperties;
+  }
+
+  public HistoryResult query(String apiId, long from, long to, int maxPoints) {
+    long now = System.currentTimeMillis();
+    List<HistoryPoint> points;
+    String source;
+
+    if (recentHistoryStore.covers(from)) {
+      source = "memory";
+      points = recentHistoryStore.query(apiId, from, to).stream()
+          .map(p -> new HistoryPoint(p.timestamp(), p.latencyMs(), p.status()))
+          .toList();
+    } else if (retentionProperties.tiers().isEmpty() || from >= now - retentionProperties.raw().toMillis()) {
+      source = "raw";
+      points = queryRaw(apiId, from, to);
+    } else {
+      Tier tier = selectTier(from, now);
+      source = tier.name();
+      points = new ArrayList<>(queryRollup(tier, apiId, from, to));
+
+      // Completa com dados raw ainda não agregados
+      long rawFrom = points.isEmpty() ? from : points.get(points.size() - 1).timestamp() + tier.resolution().toMillis();
+      if (rawFrom <= to) {
+        points.addAll(queryRaw(apiId, rawFrom, to));
+      }
+    }
+
+    int total = points.size();
+    List<HistoryPoint> sampled = LttbDownsampler.downsample(points, maxPoints);
+    return new HistoryResult(source, total, sampled);
+  }
+
+  private List<HistoryPoint> queryRaw(String apiId, long from, long to) {
+    Query query = new Query(Criteria.where("apiId").is(apiId).and("checkedAt").gte(from).lte(to))
+        .with(Sort.by(Sort.Direction.ASC, "checkedAt"));
+    query.fields().include("checkedAt", "latencyMs", "success", "exceededThreshold");
+
+    return mongoTemplate.find(query, HealthCheckHistory.class).stream()
+        .map(h -> new HistoryPoint(h.getCheckedAt(), h.getLatencyMs(), statusOf(h)))
+        .toList();
+  }
+
+  private List<HistoryPoint> queryRollup(Tier tier, String apiId, long from, long to) {
+    Query query = new Query(Criteria.where(HealthCheckRollup.FIELD_API_ID).is(apiId)
+        .and(HealthCheckRollup.FIELD_BUCKET_START).gte(from).lte(to))
+        .with(Sort.by(Sort.Direction.ASC, HealthCheckRollup.FIELD_BUCKET_START));
+
+    return mongoTemplate.find(query, HealthCheckRollup.class, tier.collection()).stream()
+        .map(r -> new HistoryPoint(r.getBucketStart(), r.averageLatencyMs(), statusOf(r)))
+        .toList();
+  }
+
+  /**
+   * Camada mais fina cuja retenção ainda cobre {@code from} (ou a mais longa).
+   */
+  private Tier selectTier(long from, long now) {
+    List<Tier> tiers = retentionProperties.tiers();
+    for (Tier tier : tiers) {
+      if (from >= now - tier.retention().toMillis()) {
+        return tier;
+      }
+    }
+    return tiers.get(tiers.size() - 1);
+  }
+
+  private static HealthStatus statusOf(HealthCheckHistory history) {
+    if (!history.isSuccess()) {
+      return HealthStatus.DOWN;
+    }
+    return history.isExceededThreshold() ? HealthStatus.DEGRADED : HealthStatus.UP;
+  }
+
+  private static HealthStatus statusOf(HealthCheckRollup rollup) {
+    if (rollup.getFailures() > 0) {
+      return HealthStatus.DOWN;
+    }
+    return rollup.getExceeded() > 0 ? HealthStatus.DEGRADED : HealthStatus.UP;
+  }
+
+  /**
+   * Resultado da consulta: fonte usada, total de pontos no intervalo e pontos
+   * retornados (após downsampling).
+   */
+  public record HistoryResult(String source, int totalPoints, List<HistoryPoint> points) {
+
+    public boolean downsampled() {
+      return points.size() < totalPoints;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Downsampling Largest-Triangle-Three-Buckets (LTTB).
+ *
+ * Reduz uma série a {@code threshold} pontos preservando a forma visual:
+ * primeiro e último pontos são mantidos e, para cada bucket intermediário,
+ * escolhe-se o ponto que forma o maior triângulo com o ponto escolhido no
+ * bucket anterior e a média do bucket seguinte.
+ */
+public final class LttbDownsampler {
+
+  private LttbDownsampler() {
+  }
+
+  public static List<HistoryPoint> downsample(List<HistoryPoint> points, int threshold) {
+    int size = points.size();
+    if (threshold >= size || threshold < 3) {
+      return points;
+    }
+
+    List<HistoryPoint> sampled = new ArrayList<>(threshold);
+    double bucketSize = (double) (size - 2) / (threshold - 2);
+
+    int a = 0;
+    sampled.add(points.get(a));
+
+    for (int i = 0; i < threshold - 2; i++) {
+      // Média do próximo bucket (ou o último ponto)
+      int nextStart = (int) Math.floor((i + 1) * bucketSize) + 1;
+      int nextEnd = Math.min((int) Math.floor((i + 2) * bucketSize) + 1, size);
+      double avgX = 0;
+      double avgY = 0;
+      for (int j = nextStart; j < nextEnd; j++) {
+        avgX += points.get(j).timestamp();
+        avgY += points.get(j).latencyMs();
+      }
+      int nextCount = nextEnd - nextStart;
+      avgX /= nextCount;
+      avgY /= nextCount;
+
+      // Ponto do bucket atual com maior área
+      int start = (int) Math.floor(i * bucketSize) + 1;
+      int end = (int) Math.floor((i + 1) * bucketSize) + 1;
+      HistoryPoint pointA = points.get(a);
+      double maxArea = -1;
+      int selected = start;
+
+      for (int j = start; j < end; j++) {
+        HistoryPoint candidate = points.get(j);
+        double area = Math.abs(
+            (pointA.timestamp() - avgX) * (candidate.latencyMs() - pointA.latencyMs())
+                - (pointA.timestamp() - candidate.timestamp()) * (avgY - pointA.latencyMs()));
+        if (area > maxArea) {
+          maxArea = area;
+          selected = j;
+        }
+      }
+
+      sampled.add(points.get(selected));
+      a = selected;
+    }
+
+    sampled.add(points.get(size - 1));
+    return sampled;
+  }
+}
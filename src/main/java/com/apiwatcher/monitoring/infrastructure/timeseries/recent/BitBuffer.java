@@ -0,0 +1,96 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+import java.util.Arrays;
+
+/**
+ * Buffer de bits append-only sobre um long[] (MSB primeiro).
+ *
+ * Base da compressão Gorilla: cada ponto ocupa um número variável de bits.
+ * Não é thread-safe; a sincronização fica a cargo de RecentSeries.
+ */
+final class BitBuffer {
+
+  private long[] words;
+  private int size; // bits escritos
+
+  BitBuffer(int initialWords) {
+    this.words = new long[Math.max(1, initialWords)];
+  }
+
+  /**
+   * Escreve os {@code bits} bits menos significativos de {@code value}.
+   */
+  void write(long value, int bits) {
+    if (bits == 0) {
+      return;
+    }
+    ensureCapacity(size + bits);
+
+    if (bits < 64) {
+      value &= (1L << bits) - 1;
+    }
+    int index = size >>> 6;
+    int free = 64 - (size & 63);
+
+    if (bits <= free) {
+      words[index] |= value << (free - bits);
+    } else {
+      int overflow = bits - free;
+      words[index] |= value >>> overflow;
+      words[index + 1] |= value << (64 - overflow);
+    }
+    size += bits;
+  }
+
+  void writeBit(boolean bit) {
+    write(bit ? 1 : 0, 1);
+  }
+
+  /**
+   * Lê {@code bits} bits a partir da posição {@code position}.
+   */
+  long read(int position, int bits) {
+    if (bits == 0) {
+      return 0;
+    }
+    int index = position >>> 6;
+    int free = 64 - (position & 63);
+
+    long value;
+    if (bits <= free) {
+      value = words[index] >>> (free - bits);
+    } else {
+      int overflow = bits - free;
+      value = (words[index] << overflow) | (words[index + 1] >>> (64 - overflow));
+    }
+    return bits == 64 ? value : value & ((1L << bits) - 1);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Bytes ocupados pelo array (capacidade, não apenas bits usados).
+   */
+  long capacityBytes() {
+    return (long) words.length * Long.BYTES;
+  }
+
+  /**
+   * Libera a capacidade excedente (usado ao selar um bloco).
+   */
+  void trim() {
+    int needed = Math.max(1, (size + 63) >>> 6);
+    if (needed < words.length) {
+      words = Arrays.copyOf(words, needed);
+    }
+  }
+
+  private void ensureCapacity(int bits) {
+    int needed = (bits + 63) >>> 6;
+    if (needed > words.length) {
+      words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+/**
+ * Bloco comprimido de pontos (timestamp, latência, status) no formato Gorilla.
+ *
+ * Layout por ponto:
+ * - Timestamp: delta-of-delta com prefixos de tamanho variável
+ * ('0' | '10'+12 | '110'+16 | '1110'+20 | '1111'+64 bits)
+ * - Latência: XOR com o valor anterior (bits do double), reaproveitando a
+ * janela de zeros à esquerda/direita quando possível
+ * - Status: 2 bits (ordinal de HealthStatus)
+ *
+ * Timestamps em ms devem ser não decrescentes dentro do bloco.
+ */
+final class GorillaBlock {
+
+  /**
+   * Consumidor de pontos decodificados (sem alocação por ponto).
+   */
+  @FunctionalInterface
+  interface PointVisitor {
+    void accept(long timestamp, long latencyMs, int status);
+  }
+
+  private static final int STATUS_BITS = 2;
+
+  private final BitBuffer bits = new BitBuffer(16);
+
+  private int count;
+  private long firstTimestamp;
+  private long lastTimestamp;
+
+  // Estado do encoder
+  private long previousDelta;
+  private long previousValue;
+  private int previousLeading = -1;
+  private int previousTrailing;
+
+  void append(long timestamp, long latencyMs, int status) {
+    long value = Double.doubleToRawLongBits((double) latencyMs);
+
+    if (count == 0) {
+      firstTimestamp = timestamp;
+      bits.write(timestamp, 64);
+      bits.write(value, 64);
+    } else {
+      long delta = timestamp - lastTimestamp;
+      writeDeltaOfDelta(delta - previousDelta);
+      writeXor(value ^ previousValue);
+      previousDelta = delta;
+    }
+    bits.write(status, STATUS_BITS);
+
+    previousValue = value;
+    lastTimestamp = timestamp;
+    count++;
+  }
+
+  /**
+   * Decodifica os pontos com timestamp em [from, to].
+   */
+  void forEach(long from, long to, PointVisitor visitor) {
+    if (count == 0 || lastTimestamp < from || firstTimestamp > to) {
+      return;
+    }
+
+    int position = 0;
+    long timestamp = bits.read(position, 64);
+    position += 64;
+    long value = bits.read(position, 64);
+    position += 64;
+    long delta = 0;
+    int leading = -1;
+    int trailing = 0;
+
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        // Delta-of-delta
+        int bucket = 0;
+        while (bucket < 4 && bits.read(position++, 1) == 1) {
+          bucket++;
+        }
+        long deltaOfDelta = switch (bucket) {
+          case 0 -> 0;
+          case 1 -> signExtend(bits.read(position, 12), 12);
+          case 2 -> signExtend(bits.read(position, 16), 16);
+          case 3 -> signExtend(bits.read(position, 20), 20);
+          default -> bits.read(position, 64);
+        };
+        position += switch (bucket) {
+          case 0 -> 0;
+          case 1 -> 12;
+          case 2 -> 16;
+          case 3 -> 20;
+          default -> 64;
+        };
+        delta += deltaOfDelta;
+        timestamp += delta;
+
+        // XOR
+        if (bits.read(position++, 1) == 1) {
+          if (bits.read(position++, 1) == 1) {
+            leading = (int) bits.read(position, 5);
+            position += 5;
+            int significant = (int) bits.read(position, 6);
+            position += 6;
+            if (significant == 0) {
+              significant = 64;
+            }
+            trailing = 64 - leading - significant;
+          }
+          int significant = 64 - leading - trailing;
+          value ^= bits.read(position, significant) << trailing;
+          position += significant;
+        }
+      }
+
+      int status = (int) bits.read(position, STATUS_BITS);
+      position += STATUS_BITS;
+
+      if (timestamp > to) {
+        return;
+      }
+      if (timestamp >= from) {
+        visitor.accept(timestamp, (long) Double.longBitsToDouble(value), status);
+      }
+    }
+  }
+
+  void seal() {
+    bits.trim();
+  }
+
+  int count() {
+    return count;
+  }
+
+  long firstTimestamp() {
+    return firstTimestamp;
+  }
+
+  long lastTimestamp() {
+    return lastTimestamp;
+  }
+
+  long sizeInBytes() {
+    return bits.capacityBytes();
+  }
+
+  private void writeDeltaOfDelta(long deltaOfDelta) {
+    if (deltaOfDelta == 0) {
+      bits.write(0b0, 1);
+    } else if (fits(deltaOfDelta, 12)) {
+      bits.write(0b10, 2);
+      bits.write(deltaOfDelta, 12);
+    } else if (fits(deltaOfDelta, 16)) {
+      bits.write(0b110, 3);
+      bits.write(deltaOfDelta, 16);
+    } else if (fits(deltaOfDelta, 20)) {
+      bits.write(0b1110, 4);
+      bits.write(deltaOfDelta, 20);
+    } else {
+      bits.write(0b1111, 4);
+      bits.write(deltaOfDelta, 64);
+    }
+  }
+
+  private void writeXor(long xor) {
+    if (xor == 0) {
+      bits.writeBit(false);
+      return;
+    }
+    bits.writeBit(true);
+
+    int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+    int trailing = Long.numberOfTrailingZeros(xor);
+
+    if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+      // Cabe na janela anterior
+      bits.writeBit(false);
+      bits.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+    } else {
+      int significant = 64 - leading - trailing;
+      bits.writeBit(true);
+      bits.write(leading, 5);
+      bits.write(significant == 64 ? 0 : significant, 6);
+      bits.write(xor >>> trailing, significant);
+      previousLeading = leading;
+      previousTrailing = trailing;
+    }
+  }
+
+  private static boolean fits(long value, int bits) {
+    long min = -(1L << (bits - 1));
+    long max = (1L << (bits - 1)) - 1;
+    return value >= min && value <= max;
+  }
+
+  private static long signExtend(long value, int bits) {
+    int shift = 64 - bits;
+    return (value << shift) >> shift;
+  }
+}
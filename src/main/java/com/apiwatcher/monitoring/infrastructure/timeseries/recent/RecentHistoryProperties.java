@@ -0,0 +1,19 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do histórico recente em memória.
+ *
+ * - window: período mantido por API (ex.: 6h)
+ * - blockSpan: período coberto por cada bloco comprimido
+ */
+@ConfigurationProperties(prefix = "history.recent")
+public record RecentHistoryProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("6h") Duration window,
+    @DefaultValue("30m") Duration blockSpan) {
+}
@@ -0,0 +1,182 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+import com.apiwatcher.monitoring.domain.events.HealthCheckListener;
+import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckHistory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Histórico recente em memória, por API, comprimido no formato Gorilla.
+ *
+ * Alimentado diretamente pelos resultados dos probes (HealthCheckListener),
+ * mantém apenas a janela configurada (history.recent.window). Consultas
+ * dentro da janela são respondidas da memória, sem ir ao MongoDB.
+ */
+@Component
+public class RecentHistoryStore implements HealthCheckListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(RecentHistoryStore.class);
+
+  private static final HealthStatus[] STATUSES = HealthStatus.values();
+
+  private final RecentHistoryProperties properties;
+  private final Map<String, RecentSeries> series = new ConcurrentHashMap<>();
+  private final AtomicLong outOfOrder = new AtomicLong();
+
+  // Antes disso a memória não tem dados (instância recém-iniciada)
+  private final long startedAt = System.currentTimeMillis();
+
+  public RecentHistoryStore(RecentHistoryProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+
+    Gauge.builder("apiwatcher.history.recent.series", series, Map::size)
+        .description("APIs com historico recente em memoria")
+        .register(meterRegistry);
+    Gauge.builder("apiwatcher.history.recent.bytes", this, RecentHistoryStore::sizeInBytes)
+        .description("Memoria ocupada pelos blocos comprimidos")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("apiwatcher.history.recent.points", this, RecentHistoryStore::pointCount)
+        .description("Pontos mantidos no historico recente")
+        .register(meterRegistry);
+    Gauge.builder("apiwatcher.history.recent.out.of.order", outOfOrder, AtomicLong::get)
+        .description("Pontos descartados por chegarem fora de ordem")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void onHealthCheck(HealthCheckEvent event) {
+    if (!properties.enabled()) {
+      return;
+    }
+    record(event.getApiId(), HealthCheckHistory.toEpochMillis(event.getCheckedAt()),
+        event.getLatencyMs(), event.getStatus());
+  }
+
+  /**
+   * O append acontece dentro do compute: evictExpired não remove a série entre
+   * a busca e a escrita (o ponto seria gravado em uma série já descartada).
+   */
+  public void record(String apiId, long timestamp, long latencyMs, HealthStatus status) {
+    boolean[] appended = new boolean[1];
+    long blockSpan = properties.blockSpan().toMillis();
+    long horizon = horizon();
+    series.compute(apiId, (id, s) -> {
+      RecentSeries target = s != null ? s : new RecentSeries();
+      appended[0] = target.append(timestamp, latencyMs, status.ordinal(), blockSpan, horizon);
+      return target;
+    });
+    if (!appended[0]) {
+      outOfOrder.incrementAndGet();
+    }
+  }
+
+  /**
+   * Indica se o intervalo a partir de {@code from} está inteiramente na janela
+   * e foi observado por esta instância.
+   */
+  public boolean covers(long from) {
+    return properties.enabled() && from >= Math.max(horizon(), startedAt);
+  }
+
+  /**
+   * Pontos de uma API em [from, to] (epoch millis), em ordem cronológica.
+   */
+  public List<RecentPoint> query(String apiId, long from, long to) {
+    RecentSeries s = series.get(apiId);
+    if (s == null) {
+      return List.of();
+    }
+    List<RecentPoint> points = new ArrayList<>();
+    s.forEach(Math.max(from, horizon()), to,
+        (timestamp, latencyMs, status) -> points.add(new RecentPoint(timestamp, latencyMs, STATUSES[status])));
+    return points;
+  }
+
+  /**
+   * Estatísticas de uma API em [from, to], sem materializar os pontos.
+   */
+  public RecentSummary summarize(String apiId, long from, long to) {
+    RecentSeries s = series.get(apiId);
+    if (s == null) {
+      return RecentSummary.empty();
+    }
+
+    // [count, down, degraded, sum, min, max]
+    long[] acc = { 0, 0, 0, 0, Long.MAX_VALUE, Long.MIN_VALUE };
+    s.forEach(Math.max(from, horizon()), to, (timestamp, latencyMs, status) -> {
+      acc[0]++;
+      if (status == HealthStatus.DOWN.ordinal()) {
+        acc[1]++;
+      } else if (status == HealthStatus.DEGRADED.ordinal()) {
+        acc[2]++;
+      }
+      acc[3] += latencyMs;
+      acc[4] = Math.min(acc[4], latencyMs);
+      acc[5] = Math.max(acc[5], latencyMs);
+    });
+
+    if (acc[0] == 0) {
+      return RecentSummary.empty();
+    }
+    return new RecentSummary(acc[0], acc[1], acc[2],
+        (double) (acc[0] - acc[1]) / acc[0],
+        (double) acc[3] / acc[0],
+        acc[4],
+        acc[5]);
+  }
+
+  public void remove(String apiId) {
+    series.remove(apiId);
+  }
+
+  /**
+   * Descarta blocos expirados e séries vazias (APIs sem checks recentes).
+   */
+  @Scheduled(fixedDelayString = "${history.recent.evict-interval:60000}")
+  public void evictExpired() {
+    long horizon = horizon();
+    for (String apiId : series.keySet()) {
+      // Verificação e remoção atômicas em relação ao record()
+      series.computeIfPresent(apiId, (id, s) -> {
+        s.evict(horizon);
+        return s.isEmpty() ? null : s;
+      });
+    }
+    logger.debug("[RECENT] {} series em memoria ({} bytes)", series.size(), sizeInBytes());
+  }
+
+  private long horizon() {
+    return System.currentTimeMillis() - properties.window().toMillis();
+  }
+
+  private double sizeInBytes() {
+    long bytes = 0;
+    for (RecentSeries s : series.values()) {
+      bytes += s.sizeInBytes();
+    }
+    return bytes;
+  }
+
+  private double pointCount() {
+    long points = 0;
+    for (RecentSeries s : series.values()) {
+      points += s.pointCount();
+    }
+    return points;
+  }
+}
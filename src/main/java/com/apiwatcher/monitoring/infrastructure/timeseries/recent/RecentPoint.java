@@ -0,0 +1,9 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+
+/**
+ * Ponto do histórico recente (timestamp em epoch millis).
+ */
+public record RecentPoint(long timestamp, long latencyMs, HealthStatus status) {
+}
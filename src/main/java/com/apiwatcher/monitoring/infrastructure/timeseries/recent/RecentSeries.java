@@ -0,0 +1,78 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+import java.util.ArrayDeque;
+
+/**
+ * Série recente de uma API: blocos Gorilla selados + um bloco aberto.
+ *
+ * Um novo bloco é aberto quando o atual cobre {@code blockSpanMs}; blocos
+ * inteiramente anteriores ao horizonte da janela são descartados.
+ */
+final class RecentSeries {
+
+  private final ArrayDeque<GorillaBlock> sealed = new ArrayDeque<>();
+  private GorillaBlock open;
+
+  /**
+   * Adiciona um ponto. Pontos fora de ordem são descartados (retorna false),
+   * pois a codificação delta-of-delta exige timestamps não decrescentes.
+   */
+  synchronized boolean append(long timestamp, long latencyMs, int status, long blockSpanMs, long horizon) {
+    if (open != null && timestamp < open.lastTimestamp()) {
+      return false;
+    }
+
+    if (open == null || timestamp - open.firstTimestamp() >= blockSpanMs) {
+      if (open != null) {
+        open.seal();
+        sealed.addLast(open);
+      }
+      open = new GorillaBlock();
+    }
+    open.append(timestamp, latencyMs, status);
+
+    evict(horizon);
+    return true;
+  }
+
+  synchronized void forEach(long from, long to, GorillaBlock.PointVisitor visitor) {
+    for (GorillaBlock block : sealed) {
+      block.forEach(from, to, visitor);
+    }
+    if (open != null) {
+      open.forEach(from, to, visitor);
+    }
+  }
+
+  /**
+   * Descarta blocos cujo último ponto é anterior ao horizonte.
+   */
+  synchronized void evict(long horizon) {
+    while (!sealed.isEmpty() && sealed.peekFirst().lastTimestamp() < horizon) {
+      sealed.removeFirst();
+    }
+    if (sealed.isEmpty() && open != null && open.lastTimestamp() < horizon) {
+      open = null;
+    }
+  }
+
+  synchronized boolean isEmpty() {
+    return sealed.isEmpty() && open == null;
+  }
+
+  synchronized long sizeInBytes() {
+    long bytes = open != null ? open.sizeInBytes() : 0;
+    for (GorillaBlock block : sealed) {
+      bytes += block.sizeInBytes();
+    }
+    return bytes;
+  }
+
+  synchronized int pointCount() {
+    int points = open != null ? open.count() : 0;
+    for (GorillaBlock block : sealed) {
+      points += block.count();
+    }
+    return points;
+  }
+}
@@ -0,0 +1,18 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+/**
+ * Estatísticas de uma API em uma janela do histórico recente.
+ */
+public record RecentSummary(
+    long count,
+    long down,
+    long degraded,
+    double successRate,
+    double avgLatencyMs,
+    long minLatencyMs,
+    long maxLatencyMs) {
+
+  static RecentSummary empty() {
+    return new RecentSummary(0, 0, 0, 0, 0, 0, 0);
+  }
+}
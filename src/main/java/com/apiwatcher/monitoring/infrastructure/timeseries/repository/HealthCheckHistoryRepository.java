@@ -1,6 +1,5 @@
 package com.apiwatcher.monitoring.infrastructure.timeseries.repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -9,6 +8,11 @@ import org.springframework.stereotype.Repository;
 
 import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckHistory;
 
+/**
+ * Repositório MongoDB para histórico de health checks.
+ *
+ * Timestamps em epoch millis (ver HealthCheckHistory).
+ */
 @Repository
 public interface HealthCheckHistoryRepository extends MongoRepository<HealthCheckHistory, String> {
   /**
@@ -21,8 +25,8 @@ public interface HealthCheckHistoryRepository extends MongoRepository<HealthChec
    */
   List<HealthCheckHistory> findByApiIdAndCheckedAtBetweenOrderByCheckedAtDesc(
       String apiId,
-      LocalDateTime start,
-      LocalDateTime end);
+      long start,
+      long end);
 
   /**
    * Busca apenas checks que falharam
@@ -42,12 +46,12 @@ public interface HealthCheckHistoryRepository extends MongoRepository<HealthChec
   /**
    * Conta quantos checks falharam no período
    */
-  @Query(value = "{'apiId': ?0, 'success': false, 'checkedAt': {$gte: ?1, $lte: ?2}}", count = true)
-  long countFailuresByApiIdInPeriod(String apiId, LocalDateTime start, LocalDateTime end);
+  @Query(value = "{'a': ?0, 's': false, 't': {$gte: ?1, $lte: ?2}}", count = true)
+  long countFailuresByApiIdInPeriod(String apiId, long start, long end);
 
   /**
    * Calcula latência média no período
    */
-  @Query(value = "{'apiId': ?0, 'checkedAt': {$gte: ?1, $lte: ?2}}")
-  List<HealthCheckHistory> findByApiIdInPeriod(String apiId, LocalDateTime start, LocalDateTime end);
+  @Query(value = "{'a': ?0, 't': {$gte: ?1, $lte: ?2}}")
+  List<HealthCheckHistory> findByApiIdInPeriod(String apiId, long start, long end);
 }
@@ -0,0 +1,348 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.retention;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckHistory;
+import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckRollup;
+import com.apiwatcher.monitoring.infrastructure.timeseries.retention.RetentionProperties.Tier;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Job de retenção em camadas do histórico de health checks.
+ *
+ * Para cada camada (ex.: raw → 1m → 1h):
+ * 1. Downsampling incremental: agrega a camada anterior em blocos ("chunks")
+ * alinhados à resolução, a partir de um watermark salvo em
+ * {@code retention_progress}. Cada chunk é um range no índice de timestamp e
+ * grava via $merge (replace), então reprocessar um chunk é idempotente e o
+ * job pode ser interrompido a qualquer momento.
+ * 2. Prune: remove dados mais antigos que a retenção da camada, em fatias
+ * limitadas, e nunca além do que a camada seguinte já agregou.
+ *
+ * Progresso e backlog ficam expostos como métricas
+ * (apiwatcher.history.retention.*).
+ */
+@Component
+public class HistoryRetentionJob {
+
+  private static final Logger logger = LoggerFactory.getLogger(HistoryRetentionJob.class);
+
+  static final String PROGRESS_COLLECTION = "retention_progress";
+
+  private static final String FIELD_T = HealthCheckHistory.FIELD_CHECKED_AT;
+
+  // Fatia de prune da camada raw quando não há camadas configuradas
+  private static final long RAW_PRUNE_SLICE_MS = 3_600_000;
+
+  private final MongoTemplate mongoTemplate;
+  private final RetentionProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  // Estado exposto via métricas (por camada)
+  private final Map<String, AtomicLong> watermarks = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> pendingChunks = new ConcurrentHashMap<>();
+
+  private final Timer runTimer;
+  private volatile boolean indexesReady;
+
+  public HistoryRetentionJob(MongoTemplate mongoTemplate, RetentionProperties properties,
+      MeterRegistry meterRegistry) {
+    this.mongoTemplate = mongoTemplate;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.runTimer = Timer.builder("apiwatcher.history.retention.run")
+        .description("Duracao de cada execucao do job de retencao")
+        .register(meterRegistry);
+
+    for (Tier tier : properties.tiers()) {
+      AtomicLong watermark = watermarks.computeIfAbsent(tier.name(), k -> new AtomicLong(-1));
+      AtomicLong pending = pendingChunks.computeIfAbsent(tier.name(), k -> new AtomicLong());
+
+      Gauge.builder("apiwatcher.history.retention.watermark.lag", watermark,
+          w -> w.get() < 0 ? Double.NaN : (System.currentTimeMillis() - w.get()) / 1000.0)
+          .description("Atraso do watermark de downsampling em relacao ao relogio")
+          .baseUnit("seconds")
+          .tag("tier", tier.name())
+          .register(meterRegistry);
+      Gauge.builder("apiwatcher.history.retention.backlog", pending, AtomicLong::get)
+          .description("Chunks completos ainda nao agregados")
+          .baseUnit("chunks")
+          .tag("tier", tier.name())
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * Executa uma rodada limitada (max-chunks-per-run) de downsampling e prune.
+   */
+  @Scheduled(fixedDelayString = "${history.retention.fixed-delay:60000}", initialDelayString = "${history.retention.initial-delay:30000}")
+  public void run() {
+    if (!properties.enabled()) {
+      return;
+    }
+
+    runTimer.record(() -> {
+      try {
+        ensureIndexes();
+        long now = System.currentTimeMillis();
+
+        // A camada raw está completa até "agora - atraso tolerado"
+        String source = HealthCheckHistory.COLLECTION;
+        boolean rawSource = true;
+        long sourceCompleteUntil = now - properties.lateArrival().toMillis();
+
+        for (Tier tier : properties.tiers()) {
+          downsample(tier, source, rawSource, sourceCompleteUntil);
+          source = tier.collection();
+          rawSource = false;
+          sourceCompleteUntil = watermarks.get(tier.name()).get();
+        }
+
+        prune(now);
+      } catch (Exception e) {
+        logger.error("[RETENTION-ERROR] Erro ao executar retencao do historico: {}", e.getMessage(), e);
+      }
+    });
+  }
+
+  // ==================== Downsampling ====================
+
+  private void downsample(Tier tier, String source, boolean rawSource, long sourceCompleteUntil) {
+    long chunk = chunkMillis(tier);
+    AtomicLong watermarkRef = watermarks.get(tier.name());
+    long watermark = loadWatermark(tier, source, chunk);
+    if (watermark < 0) {
+      pendingChunks.get(tier.name()).set(0);
+      return;
+    }
+
+    int processed = 0;
+    while (processed < properties.maxChunksPerRun() && watermark + chunk <= sourceCompleteUntil) {
+      // Pula intervalos sem dados (ex.: aplicação parada) com um seek no índice
+      long next = firstTimestampAtOrAfter(source, watermark);
+      if (next < 0 || next >= watermark + chunk) {
+        watermark = skipEmpty(watermark, chunk, next, sourceCompleteUntil);
+        saveWatermark(tier, watermark);
+        continue;
+      }
+
+      aggregateChunk(tier, source, rawSource, watermark, watermark + chunk);
+      watermark += chunk;
+      saveWatermark(tier, watermark);
+      processed++;
+      meterRegistry.counter("apiwatcher.history.retention.chunks", "tier", tier.name()).increment();
+    }
+
+    watermarkRef.set(watermark);
+    pendingChunks.get(tier.name()).set(Math.max(0, (sourceCompleteUntil - watermark) / chunk));
+
+    if (processed > 0) {
+      logger.info("[RETENTION] Camada {}: {} chunks agregados (watermark={})", tier.name(), processed, watermark);
+    }
+  }
+
+  /**
+   * Agrega [from, to) da coleção de origem em buckets da camada, via $merge.
+   */
+  private void aggregateChunk(Tier tier, String source, boolean rawSource, long from, long to) {
+    long resolution = tier.resolution().toMillis();
+
+    // Normaliza origem (raw ou camada anterior) para o formato de rollup
+    Document projection = new Document(HealthCheckRollup.FIELD_API_ID, 1)
+        .append("b", new Document("$subtract", List.of("$" + FIELD_T,
+            new Document("$mod", List.of("$" + FIELD_T, resolution)))));
+    if (rawSource) {
+      projection
+          .append("n", new Document("$literal", 1))
+          .append("f", new Document("$cond", List.of("$" + HealthCheckHistory.FIELD_SUCCESS, 0, 1)))
+          .append("x", new Document("$cond", List.of("$" + HealthCheckHistory.FIELD_EXCEEDED_THRESHOLD, 1, 0)))
+          .append("sum", "$" + HealthCheckHistory.FIELD_LATENCY_MS)
+          .append("min", "$" + HealthCheckHistory.FIELD_LATENCY_MS)
+          .append("max", "$" + HealthCheckHistory.FIELD_LATENCY_MS);
+    } else {
+      projection
+          .append("n", "$" + HealthCheckRollup.FIELD_COUNT)
+          .append("f", "$" + HealthCheckRollup.FIELD_FAILURES)
+          .append("x", "$" + HealthCheckRollup.FIELD_EXCEEDED)
+          .append("sum", "$" + HealthCheckRollup.FIELD_LATENCY_SUM)
+          .append("min", "$" + HealthCheckRollup.FIELD_LATENCY_MIN)
+          .append("max", "$" + HealthCheckRollup.FIELD_LATENCY_MAX);
+    }
+
+    List<Document> pipeline = List.of(
+        new Document("$match", new Document(FIELD_T, new Document("$gte", from).append("$lt", to))),
+        new Document("$project", projection),
+        new Document("$group", new Document("_id", new Document("a", "$a").append("b", "$b"))
+            .append(HealthCheckRollup.FIELD_COUNT, new Document("$sum", "$n"))
+            .append(HealthCheckRollup.FIELD_FAILURES, new Document("$sum", "$f"))
+            .append(HealthCheckRollup.FIELD_EXCEEDED, new Document("$sum", "$x"))
+            .append(HealthCheckRollup.FIELD_LATENCY_SUM, new Document("$sum", "$sum"))
+            .append(HealthCheckRollup.FIELD_LATENCY_MIN, new Document("$min", "$min"))
+            .append(HealthCheckRollup.FIELD_LATENCY_MAX, new Document("$max", "$max"))),
+        new Document("$addFields", new Document(HealthCheckRollup.FIELD_API_ID, "$_id.a")
+            .append(HealthCheckRollup.FIELD_BUCKET_START, "$_id.b")),
+        new Document("$merge", new Document("into", tier.collection())
+            .append("on", "_id")
+            .append("whenMatched", "replace")
+            .append("whenNotMatched", "insert")));
+
+    mongoTemplate.getCollection(source).aggregate(pipeline).allowDiskUse(true).toCollection();
+  }
+
+  // ==================== Prune ====================
+
+  private void prune(long now) {
+    for (PruneTarget target : pruneTargets(properties, now, name -> watermarks.get(name).get())) {
+      pruneCollection(target.collection(), target.cutoff(), target.slice());
+    }
+  }
+
+  /**
+   * Limite de prune de cada coleção (remove t < cutoff): a retenção da
+   * camada, mas nunca além do watermark da camada seguinte, ou seja, só o
+   * que já foi agregado. A raw é limitada pela primeira camada; a última
+   * camada, só pela retenção. Watermark desconhecido (-1) não libera nada.
+   */
+  static List<PruneTarget> pruneTargets(RetentionProperties properties, long now, ToLongFunction<String> watermarkOf) {
+    List<Tier> tiers = properties.tiers();
+    List<PruneTarget> targets = new ArrayList<>(tiers.size() + 1);
+
+    long rawLimit = tiers.isEmpty() ? Long.MAX_VALUE : watermarkOf.applyAsLong(tiers.get(0).name());
+    long rawSlice = tiers.isEmpty() ? RAW_PRUNE_SLICE_MS : chunkMillis(properties, tiers.get(0));
+    targets.add(new PruneTarget(HealthCheckHistory.COLLECTION,
+        Math.min(now - properties.raw().toMillis(), rawLimit), rawSlice));
+
+    for (int i = 0; i < tiers.size(); i++) {
+      Tier tier = tiers.get(i);
+      long limit = i + 1 < tiers.size() ? watermarkOf.applyAsLong(tiers.get(i + 1).name()) : Long.MAX_VALUE;
+      targets.add(new PruneTarget(tier.collection(),
+          Math.min(now - tier.retention().toMillis(), limit), chunkMillis(properties, tier)));
+    }
+    return targets;
+  }
+
+  /**
+   * Remove documentos com t < cutoff em fatias de {@code slice} ms a partir do
+   * mais antigo, para não gerar um único delete longo.
+   */
+  private void pruneCollection(String collection, long cutoff, long slice) {
+    long deleted = 0;
+    for (int i = 0; i < properties.maxChunksPerRun(); i++) {
+      long oldest = firstTimestampAtOrAfter(collection, Long.MIN_VALUE);
+      if (oldest < 0 || oldest >= cutoff) {
+        break;
+      }
+      long end = Math.min(cutoff, oldest + slice);
+      deleted += mongoTemplate.remove(new Query(Criteria.where(FIELD_T).lt(end)), collection).getDeletedCount();
+    }
+
+    if (deleted > 0) {
+      meterRegistry.counter("apiwatcher.history.retention.pruned", "collection", collection).increment(deleted);
+      logger.info("[RETENTION] {} documentos expirados removidos de {}", deleted, collection);
+    }
+  }
+
+  // ==================== Progresso ====================
+
+  private long loadWatermark(Tier tier, String source, long chunk) {
+    Document progress = mongoTemplate.findById(tier.name(), Document.class, PROGRESS_COLLECTION);
+    if (progress != null) {
+      return ((Number) progress.get("w")).longValue();
+    }
+
+    // Primeira execução: começa no chunk do documento mais antigo da origem
+    long oldest = firstTimestampAtOrAfter(source, Long.MIN_VALUE);
+    if (oldest < 0) {
+      return -1;
+    }
+    long watermark = align(oldest, chunk);
+    saveWatermark(tier, watermark);
+    return watermark;
+  }
+
+  private void saveWatermark(Tier tier, long watermark) {
+    mongoTemplate.upsert(
+        new Query(Criteria.where("_id").is(tier.name())),
+        new Update().set("w", watermark).set("updatedAt", System.currentTimeMillis()),
+        PROGRESS_COLLECTION);
+  }
+
+  /**
+   * Menor timestamp >= from na coleção (seek no índice de t), ou -1.
+   */
+  private long firstTimestampAtOrAfter(String collection, long from) {
+    Query query = new Query(Criteria.where(FIELD_T).gte(from))
+        .with(Sort.by(Sort.Direction.ASC, FIELD_T))
+        .limit(1);
+    query.fields().include(FIELD_T);
+
+    Document first = mongoTemplate.findOne(query, Document.class, collection);
+    return first == null ? -1 : ((Number) first.get(FIELD_T)).longValue();
+  }
+
+  private void ensureIndexes() {
+    if (indexesReady) {
+      return;
+    }
+    for (Tier tier : properties.tiers()) {
+      IndexOperations indexOps = mongoTemplate.indexOps(tier.collection());
+      indexOps.ensureIndex(new Index()
+          .on(HealthCheckRollup.FIELD_API_ID, Sort.Direction.ASC)
+          .on(HealthCheckRollup.FIELD_BUCKET_START, Sort.Direction.ASC)
+          .named("api_t_idx"));
+      indexOps.ensureIndex(new Index()
+          .on(HealthCheckRollup.FIELD_BUCKET_START, Sort.Direction.ASC)
+          .named("t_idx"));
+    }
+    indexesReady = true;
+  }
+
+  private long chunkMillis(Tier tier) {
+    return chunkMillis(properties, tier);
+  }
+
+  private static long chunkMillis(RetentionProperties properties, Tier tier) {
+    return tier.resolution().toMillis() * properties.chunkBuckets();
+  }
+
+  /**
+   * Watermark após um chunk sem dados: avança até o chunk do próximo dado
+   * da origem (next, ou -1 se não há), sem passar do chunk que contém
+   * completeUntil e sem voltar.
+   */
+  static long skipEmpty(long watermark, long chunk, long next, long completeUntil) {
+    long target = next < 0 ? completeUntil : Math.min(next, completeUntil);
+    return Math.max(watermark, align(target, chunk));
+  }
+
+  static long align(long timestamp, long chunk) {
+    return Math.floorDiv(timestamp, chunk) * chunk;
+  }
+
+  /**
+   * Coleção a podar: remove t < cutoff, em fatias de slice ms.
+   */
+  record PruneTarget(String collection, long cutoff, long slice) {
+  }
+}
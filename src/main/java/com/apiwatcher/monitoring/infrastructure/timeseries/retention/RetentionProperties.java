@@ -0,0 +1,55 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.retention;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da retenção em camadas do histórico de health checks.
+ *
+ * Exemplo (application.yml):
+ *
+ * <pre>
+ * history:
+ *   retention:
+ *     raw: 7d
+ *     tiers:
+ *       - name: 1m
+ *         resolution: 1m
+ *         retention: 30d
+ * </pre>
+ *
+ * Cada camada é gerada a partir da anterior (raw → 1m → 1h ...) e grava em
+ * {@code health_checks_<name>}.
+ */
+@ConfigurationProperties(prefix = "history.retention")
+public record RetentionProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("7d") Duration raw,
+    @DefaultValue("2m") Duration lateArrival,
+    @DefaultValue("60") int chunkBuckets,
+    @DefaultValue("24") int maxChunksPerRun,
+    List<Tier> tiers) {
+
+  public RetentionProperties {
+    tiers = tiers == null ? List.of() : List.copyOf(tiers);
+    for (Tier tier : tiers) {
+      if (!tier.name().matches("[A-Za-z0-9_]+")) {
+        throw new IllegalArgumentException("Nome de camada invalido: " + tier.name());
+      }
+    }
+  }
+
+  /**
+   * Camada de downsampling: buckets de {@code resolution} mantidos por
+   * {@code retention}.
+   */
+  public record Tier(String name, Duration resolution, Duration retention) {
+
+    public String collection() {
+      return "health_checks_" + name;
+    }
+  }
+}
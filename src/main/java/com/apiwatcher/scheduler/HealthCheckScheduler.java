@@ -2,10 +2,13 @@ package com.apiwatcher.scheduler;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.apiwatcher.monitoring.application.usecase.ExecuteHealthCheckUseCase;
+import com.apiwatcher.shared.jfr.CycleEvent;
+import com.apiwatcher.shared.metrics.PipelineMetrics;
 
 @Component
 public class HealthCheckScheduler {
@@ -13,25 +16,51 @@ public class HealthCheckScheduler {
   private static final Logger logger = LoggerFactory.getLogger(HealthCheckScheduler.class);
 
   private final ExecuteHealthCheckUseCase executeHealthCheckUseCase;
+  private final PipelineMetrics pipelineMetrics;
+  private final long fixedRateMs;
+  private long expectedStartMs;
 
-  public HealthCheckScheduler(ExecuteHealthCheckUseCase executeHealthCheckUseCase) {
+  public HealthCheckScheduler(ExecuteHealthCheckUseCase executeHealthCheckUseCase,
+      PipelineMetrics pipelineMetrics,
+      @Value("${scheduler.health-check.fixed-rate}") long fixedRateMs) {
     this.executeHealthCheckUseCase = executeHealthCheckUseCase;
+    this.pipelineMetrics = pipelineMetrics;
+    this.fixedRateMs = fixedRateMs;
   }
 
   /**
    * Executa health check periódico nas APIs monitoradas.
    * Intervalo configurável via application.yml
    * (scheduler.health-check.fixed-rate)
+   *
+   * O lag é o atraso do início em relação ao horário agendado (com
+   * fixed-rate, o agendado anterior + intervalo): cresce enquanto os ciclos
+   * durarem mais que o intervalo.
    */
   @Scheduled(fixedRateString = "${scheduler.health-check.fixed-rate}", initialDelayString = "${scheduler.health-check.initial-delay}")
   public void executeHealthCheck() {
     logger.info("[SCHEDULER] Iniciando health check periodico das APIs...");
 
+    long startMs = System.currentTimeMillis();
+    long lagMs = expectedStartMs > 0 ? startMs - expectedStartMs : 0;
+    expectedStartMs = (expectedStartMs > 0 ? expectedStartMs : startMs) + fixedRateMs;
+    long start = System.nanoTime();
+    CycleEvent cycleEvent = new CycleEvent();
+    cycleEvent.begin();
     try {
-      executeHealthCheckUseCase.execute();
+      int apis = executeHealthCheckUseCase.execute().size();
       logger.info("[SCHEDULER] Health check periodico concluido");
+
+      cycleEvent.end();
+      if (cycleEvent.shouldCommit()) {
+        cycleEvent.apis = apis;
+        cycleEvent.lag = Math.max(0, lagMs);
+        cycleEvent.commit();
+      }
     } catch (Exception e) {
       logger.error("[SCHEDULER-ERROR] Erro ao executar health check periodico: {}", e.getMessage(), e);
+    } finally {
+      pipelineMetrics.recordCycle(lagMs, System.nanoTime() - start);
     }
   }
 }
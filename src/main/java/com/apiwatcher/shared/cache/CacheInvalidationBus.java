@@ -0,0 +1,88 @@
+package com.apiwatcher.shared.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Barramento de invalidação de caches locais via Redis pub/sub.
+ *
+ * Cada instância publica "nodeId|cache|chave" (chave "*" = limpar tudo) após
+ * alterar o Redis; as demais instâncias descartam a entrada do seu cache
+ * local. Mensagens da própria instância são ignoradas.
+ */
+public class CacheInvalidationBus implements MessageListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+  public static final String CHANNEL = "api-watcher:cache-invalidation";
+  private static final String ALL_KEYS = "*";
+
+  private final String nodeId = UUID.randomUUID().toString();
+  private final StringRedisTemplate redisTemplate;
+  private final Map<String, Consumer<String>> keyHandlers = new ConcurrentHashMap<>();
+  private final Map<String, Runnable> clearHandlers = new ConcurrentHashMap<>();
+
+  public CacheInvalidationBus(StringRedisTemplate redisTemplate, RedisMessageListenerContainer container) {
+    this.redisTemplate = redisTemplate;
+    container.addMessageListener(this, new ChannelTopic(CHANNEL));
+  }
+
+  /**
+   * Registra os callbacks locais de um cache.
+   */
+  public void register(String cacheName, Consumer<String> onKeyInvalidated, Runnable onCleared) {
+    keyHandlers.put(cacheName, onKeyInvalidated);
+    clearHandlers.put(cacheName, onCleared);
+  }
+
+  public void publishEvict(String cacheName, Object key) {
+    publish(cacheName, String.valueOf(key));
+  }
+
+  public void publishClear(String cacheName) {
+    publish(cacheName, ALL_KEYS);
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+    if (parts.length != 3 || nodeId.equals(parts[0])) {
+      return;
+    }
+
+    String cacheName = parts[1];
+    String key = parts[2];
+    if (ALL_KEYS.equals(key)) {
+      Runnable handler = clearHandlers.get(cacheName);
+      if (handler != null) {
+        handler.run();
+      }
+    } else {
+      Consumer<String> handler = keyHandlers.get(cacheName);
+      if (handler != null) {
+        handler.accept(key);
+      }
+    }
+    logger.debug("[CACHE-INVALIDATION] {} invalidado por {}: {}", cacheName, parts[0], key);
+  }
+
+  private void publish(String cacheName, String key) {
+    try {
+      redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + cacheName + "|" + key);
+    } catch (Exception e) {
+      // O TTL do cache local limita o tempo de dados desatualizados
+      logger.warn("[CACHE-INVALIDATION] Falha ao publicar invalidacao de {}: {}", cacheName, e.getMessage());
+    }
+  }
+}
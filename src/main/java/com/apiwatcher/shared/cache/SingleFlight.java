@@ -0,0 +1,78 @@
+package com.apiwatcher.shared.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Coalesce cargas concorrentes da mesma chave: enquanto uma carga está em
+ * andamento, as demais chamadas aguardam o mesmo resultado em vez de
+ * repetir a consulta na origem.
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Executa o loader na thread chamadora, ou aguarda a carga em andamento.
+   */
+  public V execute(K key, Supplier<V> loader) {
+    CompletableFuture<V> call = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+    if (existing != null) {
+      return join(existing);
+    }
+    run(key, call, loader);
+    return join(call);
+  }
+
+  /**
+   * Dispara a carga no executor, a menos que já exista uma em andamento.
+   */
+  public CompletableFuture<V> executeAsync(K key, Supplier<V> loader, Executor executor) {
+    CompletableFuture<V> call = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+    if (existing != null) {
+      return existing;
+    }
+    try {
+      executor.execute(() -> run(key, call, loader));
+    } catch (RuntimeException e) {
+      inFlight.remove(key, call);
+      call.completeExceptionally(e);
+    }
+    return call;
+  }
+
+  public boolean isInFlight(K key) {
+    return inFlight.containsKey(key);
+  }
+
+  private void run(K key, CompletableFuture<V> call, Supplier<V> loader) {
+    try {
+      call.complete(loader.get());
+    } catch (Throwable t) {
+      call.completeExceptionally(t);
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  private static <V> V join(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.apiwatcher.shared.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Cache de dois níveis: L1 local (Caffeine) na frente do L2 (Redis).
+ *
+ * Leituras consultam o L1 e, em caso de miss, o Redis (populando o L1).
+ * Escritas e remoções vão primeiro ao Redis, depois ao L1, e só então são
+ * publicadas no CacheInvalidationBus, para que outra instância não recarregue
+ * do Redis um valor antigo. Valores nulos não são armazenados em nenhum
+ * nível. Misses concorrentes da mesma chave executam uma única carga.
+ *
+ * Valores do L1 são compartilhados entre chamadas: não devem ser alterados
+ * sem uma escrita correspondente no cache.
+ */
+public class TwoLevelCache implements Cache {
+
+  private final String name;
+  private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+  private final Cache remote;
+  private final CacheInvalidationBus bus;
+  private final SingleFlight<Object, Object> loads = new SingleFlight<>();
+
+  final LongAdder localHits = new LongAdder();
+  final LongAdder localMisses = new LongAdder();
+  final LongAdder remoteHits = new LongAdder();
+  final LongAdder remoteMisses = new LongAdder();
+  final LongAdder loadCount = new LongAdder();
+  final LongAdder loadNanos = new LongAdder();
+
+  public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache remote,
+      CacheInvalidationBus bus) {
+    this.name = name;
+    this.local = local;
+    this.remote = remote;
+    this.bus = bus;
+    bus.register(name, local::invalidate, local::invalidateAll);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return remote.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    Object value = local.getIfPresent(key);
+    if (value != null) {
+      localHits.increment();
+      return new SimpleValueWrapper(value);
+    }
+    localMisses.increment();
+
+    ValueWrapper wrapper = remote.get(key);
+    if (wrapper == null || wrapper.get() == null) {
+      remoteMisses.increment();
+      return null;
+    }
+    remoteHits.increment();
+    local.put(key, wrapper.get());
+    return wrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper != null ? wrapper.get() : null;
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper wrapper = get(key);
+    if (wrapper != null) {
+      return (T) wrapper.get();
+    }
+    return (T) loads.execute(key, () -> load(key, valueLoader));
+  }
+
+  private Object load(Object key, Callable<?> valueLoader) {
+    long start = System.nanoTime();
+    Object value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    } finally {
+      loadCount.increment();
+      loadNanos.add(System.nanoTime() - start);
+    }
+    if (value != null) {
+      put(key, value);
+    }
+    return value;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    if (value == null) {
+      evict(key);
+      return;
+    }
+    remote.put(key, value);
+    local.put(key, value);
+    bus.publishEvict(name, key);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    if (value == null) {
+      return get(key);
+    }
+    ValueWrapper existing = remote.putIfAbsent(key, value);
+    if (existing != null && existing.get() != null) {
+      local.put(key, existing.get());
+      return existing;
+    }
+    local.put(key, value);
+    bus.publishEvict(name, key);
+    return null;
+  }
+
+  @Override
+  public void evict(Object key) {
+    remote.evict(key);
+    local.invalidate(key);
+    bus.publishEvict(name, key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    boolean present = remote.evictIfPresent(key);
+    local.invalidate(key);
+    bus.publishEvict(name, key);
+    return present;
+  }
+
+  @Override
+  public void clear() {
+    remote.clear();
+    local.invalidateAll();
+    bus.publishClear(name);
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean present = remote.invalidate();
+    local.invalidateAll();
+    bus.publishClear(name);
+    return present;
+  }
+
+  long localSize() {
+    return local.estimatedSize();
+  }
+
+  double loadSeconds() {
+    return loadNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+}
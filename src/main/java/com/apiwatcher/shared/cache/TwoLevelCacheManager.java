@@ -0,0 +1,109 @@
+package com.apiwatcher.shared.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * CacheManager que coloca um cache local (Caffeine) na frente de cada cache
+ * do CacheManager remoto (Redis).
+ *
+ * O L1 é limitado em tamanho e TTL; o TTL curto é a rede de segurança caso
+ * uma mensagem de invalidação se perca. Escritas feitas dentro de uma
+ * transação são aplicadas após o commit.
+ *
+ * Métricas (Micrometer), por cache:
+ * - apiwatcher.cache.requests{cache, level=l1|l2, result=hit|miss}
+ * - apiwatcher.cache.load{cache} (tempo de carga da origem em misses)
+ * - apiwatcher.cache.l1.size{cache}
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+  private final CacheManager remote;
+  private final CacheInvalidationBus bus;
+  private final MeterRegistry meterRegistry;
+  private final long localMaximumSize;
+  private final Duration localTtl;
+  private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+  public TwoLevelCacheManager(CacheManager remote, CacheInvalidationBus bus, MeterRegistry meterRegistry,
+      long localMaximumSize, Duration localTtl) {
+    this.remote = remote;
+    this.bus = bus;
+    this.meterRegistry = meterRegistry;
+    this.localMaximumSize = localMaximumSize;
+    this.localTtl = localTtl;
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    Cache cache = caches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+    Cache remoteCache = remote.getCache(name);
+    if (remoteCache == null) {
+      return null;
+    }
+    return caches.computeIfAbsent(name, n -> createCache(n, remoteCache));
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return remote.getCacheNames();
+  }
+
+  private Cache createCache(String name, Cache remoteCache) {
+    TwoLevelCache cache = new TwoLevelCache(name,
+        Caffeine.newBuilder()
+            .maximumSize(localMaximumSize)
+            .expireAfterWrite(localTtl)
+            .build(),
+        remoteCache, bus);
+    registerMeters(cache);
+    return new TransactionAwareCacheDecorator(cache);
+  }
+
+  private void registerMeters(TwoLevelCache cache) {
+    String name = cache.getName();
+    registerCounter(name, "l1", "hit", cache, c -> c.localHits.sum());
+    registerCounter(name, "l1", "miss", cache, c -> c.localMisses.sum());
+    registerCounter(name, "l2", "hit", cache, c -> c.remoteHits.sum());
+    registerCounter(name, "l2", "miss", cache, c -> c.remoteMisses.sum());
+
+    FunctionTimer.builder("apiwatcher.cache.load", cache,
+        c -> c.loadCount.sum(), TwoLevelCache::loadSeconds, TimeUnit.SECONDS)
+        .description("Tempo de carga da origem em misses dos dois niveis")
+        .tag("cache", name)
+        .register(meterRegistry);
+
+    Gauge.builder("apiwatcher.cache.l1.size", cache, TwoLevelCache::localSize)
+        .description("Entradas no cache local")
+        .tag("cache", name)
+        .register(meterRegistry);
+  }
+
+  private void registerCounter(String name, String level, String result, TwoLevelCache cache,
+      ToDoubleFunction<TwoLevelCache> count) {
+    FunctionCounter.builder("apiwatcher.cache.requests", cache, count)
+        .description("Consultas ao cache por nivel e resultado")
+        .tag("cache", name)
+        .tag("level", level)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
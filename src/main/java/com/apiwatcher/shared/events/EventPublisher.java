@@ -1,5 +1,7 @@
 package com.apiwatcher.shared.events;
 
+import java.util.List;
+
 /**
  * Interface para publicação de eventos de domínio.
  * Desacopla o domínio da infraestrutura de mensageria (Kafka).
@@ -12,4 +14,13 @@ public interface EventPublisher {
    * @param event O evento a ser publicado
    */
   void publish(DomainEvent event);
+
+  /**
+   * Publica vários eventos de uma vez.
+   * 
+   * @param events Os eventos a serem publicados
+   */
+  default void publishAll(List<? extends DomainEvent> events) {
+    events.forEach(this::publish);
+  }
 }
@@ -2,14 +2,19 @@ package com.apiwatcher.shared.exceptions;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 /**
  * Tratador global de exceções da aplicação.
@@ -32,6 +37,31 @@ public class GlobalExceptionHandler {
     return ResponseEntity.badRequest().body(body);
   }
 
+  /**
+   * Corpo inválido (@Valid): 400 com as mensagens das restrições violadas.
+   * HandlerMethodValidationException cobre listas validadas no parâmetro
+   * (ex.: List&lt;@Valid Item&gt;).
+   */
+  @ExceptionHandler({ MethodArgumentNotValidException.class, HandlerMethodValidationException.class })
+  public ResponseEntity<Map<String, Object>> handleValidationException(Exception ex) {
+    List<? extends MessageSourceResolvable> errors = ex instanceof MethodArgumentNotValidException invalid
+        ? invalid.getAllErrors()
+        : ((HandlerMethodValidationException) ex).getAllErrors();
+    String message = errors.stream()
+        .map(MessageSourceResolvable::getDefaultMessage)
+        .distinct()
+        .collect(Collectors.joining("; "));
+    logger.warn("Requisicao invalida: {}", message);
+
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", "Validation Error");
+    body.put("message", message);
+
+    return ResponseEntity.badRequest().body(body);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
     logger.error("Erro inesperado: ", ex);
@@ -0,0 +1,93 @@
+package com.apiwatcher.shared.http;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Decorador do gerenciador de conexões que acumula, por thread, o tempo de
+ * espera por uma conexão do pool (lease).
+ *
+ * O cliente clássico faz o lease na thread da requisição: quem mede
+ * latência chama reset() antes da requisição e desconta leaseNanos() do
+ * tempo total, ficando só com o tempo de rede do alvo.
+ */
+public final class LeaseTimingConnectionManager implements HttpClientConnectionManager {
+
+  private static final ThreadLocal<long[]> LEASE_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+  private final HttpClientConnectionManager delegate;
+
+  public LeaseTimingConnectionManager(HttpClientConnectionManager delegate) {
+    this.delegate = delegate;
+  }
+
+  public static void reset() {
+    LEASE_NANOS.get()[0] = 0;
+  }
+
+  /**
+   * Tempo esperando conexões do pool nesta thread desde o último reset()
+   * (soma de todos os leases, ex.: redirecionamentos).
+   */
+  public static long leaseNanos() {
+    return LEASE_NANOS.get()[0];
+  }
+
+  @Override
+  public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+    LeaseRequest lease = delegate.lease(id, route, requestTimeout, state);
+    return new LeaseRequest() {
+      @Override
+      public ConnectionEndpoint get(Timeout timeout)
+          throws InterruptedException, ExecutionException, TimeoutException {
+        long start = System.nanoTime();
+        try {
+          return lease.get(timeout);
+        } finally {
+          LEASE_NANOS.get()[0] += System.nanoTime() - start;
+        }
+      }
+
+      @Override
+      public boolean cancel() {
+        return lease.cancel();
+      }
+    };
+  }
+
+  @Override
+  public void release(ConnectionEndpoint endpoint, Object newState, TimeValue validDuration) {
+    delegate.release(endpoint, newState, validDuration);
+  }
+
+  @Override
+  public void connect(ConnectionEndpoint endpoint, TimeValue connectTimeout, HttpContext context)
+      throws IOException {
+    delegate.connect(endpoint, connectTimeout, context);
+  }
+
+  @Override
+  public void upgrade(ConnectionEndpoint endpoint, HttpContext context) throws IOException {
+    delegate.upgrade(endpoint, context);
+  }
+
+  @Override
+  public void close(CloseMode closeMode) {
+    delegate.close(closeMode);
+  }
+
+  @Override
+  public void close() throws IOException {
+    delegate.close();
+  }
+}
@@ -0,0 +1,29 @@
+package com.apiwatcher.shared.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de um ciclo periódico do scheduler (início e fim do ciclo).
+ */
+@Name("com.apiwatcher.Cycle")
+@Label("Health Check Cycle")
+@Category({ "API Watcher", "Scheduler" })
+@Description("Ciclo periódico de health check sobre todas as APIs ativas")
+@Enabled(false)
+@StackTrace(false)
+public class CycleEvent extends jdk.jfr.Event {
+
+  @Label("APIs")
+  public int apis;
+
+  @Label("Lag")
+  @Description("Atraso do início em relação ao horário agendado")
+  @Timespan(Timespan.MILLISECONDS)
+  public long lag;
+}
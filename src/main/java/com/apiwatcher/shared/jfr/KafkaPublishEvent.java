@@ -0,0 +1,30 @@
+package com.apiwatcher.shared.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de um envio ao Kafka, do send() ao ack do broker. É gravado na
+ * thread do callback do producer.
+ */
+@Name("com.apiwatcher.KafkaPublish")
+@Label("Kafka Publish")
+@Category({ "API Watcher", "Kafka" })
+@Description("Envio de um evento de domínio ao Kafka, até o ack do broker")
+@Enabled(false)
+@StackTrace(false)
+public class KafkaPublishEvent extends jdk.jfr.Event {
+
+  @Label("Topic")
+  public String topic;
+
+  @Label("Event Type")
+  public String eventType;
+
+  @Label("Success")
+  public boolean success;
+}
@@ -0,0 +1,26 @@
+package com.apiwatcher.shared.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma escrita de histórico no MongoDB.
+ */
+@Name("com.apiwatcher.MongoWrite")
+@Label("MongoDB Write")
+@Category({ "API Watcher", "MongoDB" })
+@Description("Escrita de documentos de histórico no MongoDB")
+@Enabled(false)
+@StackTrace(false)
+public class MongoWriteEvent extends jdk.jfr.Event {
+
+  @Label("Collection")
+  public String collection;
+
+  @Label("Batch Size")
+  public int batchSize;
+}
@@ -0,0 +1,44 @@
+package com.apiwatcher.shared.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de um health check: o início e a duração do evento são o
+ * início e o fim do probe; requestTime e publishTime separam as fases.
+ */
+@Name("com.apiwatcher.Probe")
+@Label("Health Check Probe")
+@Category({ "API Watcher", "Probe" })
+@Description("Health check de uma API, da requisição HTTP à publicação do resultado")
+@Enabled(false)
+@StackTrace(false)
+public class ProbeEvent extends jdk.jfr.Event {
+
+  @Label("API Id")
+  public String apiId;
+
+  @Label("Host")
+  public String host;
+
+  @Label("Outcome")
+  @Description("success, failure (status inesperado) ou error")
+  public String outcome;
+
+  @Label("Status Code")
+  public int statusCode;
+
+  @Label("Request Time")
+  @Timespan(Timespan.NANOSECONDS)
+  public long requestTime;
+
+  @Label("Publish Time")
+  @Description("Publicação no Kafka e notificação dos listeners locais")
+  @Timespan(Timespan.NANOSECONDS)
+  public long publishTime;
+}
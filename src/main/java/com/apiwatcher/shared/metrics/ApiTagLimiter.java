@@ -0,0 +1,60 @@
+package com.apiwatcher.shared.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guarda de cardinalidade da tag "api".
+ *
+ * As primeiras maxApis APIs vistas recebem o próprio id como tag; as demais
+ * caem em OTHER. Remover uma API libera a vaga para a próxima.
+ *
+ * Uma única instância (metrics.probe.max-apis) atende todas as métricas por
+ * API, para que o limite valha para o conjunto de séries e as mesmas APIs
+ * tenham séries próprias em todas elas.
+ */
+@Component
+public class ApiTagLimiter {
+
+  public static final String OTHER = "other";
+
+  private final int maxApis;
+  private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger size = new AtomicInteger();
+
+  public ApiTagLimiter(@Value("${metrics.probe.max-apis:500}") int maxApis) {
+    this.maxApis = maxApis;
+  }
+
+  /**
+   * Valor da tag para a API (o próprio id ou OTHER).
+   */
+  public String tag(String apiId) {
+    if (admitted.contains(apiId)) {
+      return apiId;
+    }
+    // Reserva a vaga antes de admitir: o limite vale mesmo com chamadas concorrentes
+    if (size.incrementAndGet() > maxApis) {
+      size.decrementAndGet();
+      return OTHER;
+    }
+    if (!admitted.add(apiId)) {
+      size.decrementAndGet();
+    }
+    return apiId;
+  }
+
+  public void release(String apiId) {
+    if (admitted.remove(apiId)) {
+      size.decrementAndGet();
+    }
+  }
+
+  public int size() {
+    return size.get();
+  }
+}
@@ -0,0 +1,115 @@
+package com.apiwatcher.shared.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas internas do pipeline probe → Kafka → MongoDB.
+ *
+ * - apiwatcher.pipeline.cycle.duration / cycle.lag: duração do ciclo do
+ * scheduler e atraso do início em relação ao agendado
+ * - apiwatcher.pipeline.probe.queue: checks aguardando execução (ciclo
+ * periódico + jobs manuais)
+ * - apiwatcher.pipeline.kafka.send{topic, result}: envio até o ack do broker
+ * - apiwatcher.pipeline.consumer.poll.records: registros por poll
+ * - apiwatcher.pipeline.consumer.process{topic}: processamento por registro
+ * - apiwatcher.pipeline.mongo.write{collection} / mongo.batch.size
+ * - apiwatcher.pipeline.end.to.end: do fim do probe até a gravação no
+ * MongoDB (histograma)
+ */
+@Component
+public class PipelineMetrics {
+
+  private final MeterRegistry meterRegistry;
+  private final AtomicInteger probeQueue = new AtomicInteger();
+  private final Timer cycleDuration;
+  private final Timer cycleLag;
+  private final DistributionSummary pollRecords;
+  private final Timer endToEnd;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, DistributionSummary> batchSizes = new ConcurrentHashMap<>();
+
+  public PipelineMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.cycleDuration = Timer.builder("apiwatcher.pipeline.cycle.duration")
+        .description("Duração do ciclo periódico de health check")
+        .register(meterRegistry);
+    this.cycleLag = Timer.builder("apiwatcher.pipeline.cycle.lag")
+        .description("Atraso do início do ciclo em relação ao agendado")
+        .register(meterRegistry);
+    Gauge.builder("apiwatcher.pipeline.probe.queue", probeQueue, AtomicInteger::get)
+        .description("Health checks aguardando execução")
+        .register(meterRegistry);
+    this.pollRecords = DistributionSummary.builder("apiwatcher.pipeline.consumer.poll.records")
+        .description("Registros retornados por poll do consumer")
+        .register(meterRegistry);
+    this.endToEnd = Timer.builder("apiwatcher.pipeline.end.to.end")
+        .description("Tempo entre o fim do probe e a gravação do histórico")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  public void recordCycle(long lagMillis, long durationNanos) {
+    cycleLag.record(Math.max(0, lagMillis), TimeUnit.MILLISECONDS);
+    cycleDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void probesQueued(int count) {
+    probeQueue.addAndGet(count);
+  }
+
+  public void probesDequeued(int count) {
+    probeQueue.addAndGet(-count);
+  }
+
+  public void recordKafkaSend(String topic, boolean success, long nanos) {
+    String result = success ? "success" : "failure";
+    timers.computeIfAbsent("kafka|" + topic + "|" + result, key -> Timer.builder("apiwatcher.pipeline.kafka.send")
+        .description("Envio de eventos ao Kafka, até o ack do broker")
+        .tag("topic", topic)
+        .tag("result", result)
+        .register(meterRegistry))
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordConsumerPoll(int records) {
+    pollRecords.record(records);
+  }
+
+  public void recordConsumerProcessing(String topic, long nanos) {
+    timers.computeIfAbsent("consumer|" + topic, key -> Timer.builder("apiwatcher.pipeline.consumer.process")
+        .description("Processamento de um registro consumido")
+        .tag("topic", topic)
+        .register(meterRegistry))
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordMongoWrite(String collection, int batchSize, long nanos) {
+    timers.computeIfAbsent("mongo|" + collection, key -> Timer.builder("apiwatcher.pipeline.mongo.write")
+        .description("Escrita no MongoDB")
+        .tag("collection", collection)
+        .register(meterRegistry))
+        .record(nanos, TimeUnit.NANOSECONDS);
+    batchSizes.computeIfAbsent(collection, key -> DistributionSummary.builder("apiwatcher.pipeline.mongo.batch.size")
+        .description("Documentos por escrita no MongoDB")
+        .tag("collection", collection)
+        .register(meterRegistry))
+        .record(batchSize);
+  }
+
+  /**
+   * @param checkedAtMillis fim do probe (epoch millis)
+   */
+  public void recordEndToEnd(long checkedAtMillis) {
+    endToEnd.record(Math.max(0, System.currentTimeMillis() - checkedAtMillis), TimeUnit.MILLISECONDS);
+  }
+}
@@ -0,0 +1,110 @@
+package com.apiwatcher.shared.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Grava os spans em um arquivo NDJSON (um span por linha), para análise
+ * offline sem coletor externo.
+ *
+ * export() só enfileira: é chamado em threads do pipeline (inclusive a
+ * thread de rede do producer Kafka), que não podem esperar pelo disco. Uma
+ * thread própria grava em lotes, com um flush por lote; com a fila cheia, o
+ * span é descartado (continua disponível em memória pelo Tracer).
+ */
+class FileSpanExporter implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(FileSpanExporter.class);
+
+  private static final int BATCH_SIZE = 512;
+
+  private final ObjectMapper objectMapper;
+  private final BufferedWriter writer;
+  private final BlockingQueue<Span> queue;
+  private final AtomicLong dropped = new AtomicLong();
+  private final Thread thread;
+
+  FileSpanExporter(Path file, ObjectMapper objectMapper, int queueSize) throws IOException {
+    this.objectMapper = objectMapper;
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.thread = Thread.ofPlatform().name("span-exporter").daemon().start(this::run);
+    logger.info("[TRACING] Spans gravados em {}", file.toAbsolutePath());
+  }
+
+  void export(Span span) {
+    if (!queue.offer(span)) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    thread.interrupt();
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    List<Span> batch = new ArrayList<>(BATCH_SIZE);
+    try {
+      while (true) {
+        batch.add(queue.take());
+        queue.drainTo(batch, BATCH_SIZE - 1);
+        write(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      // close(): grava o que ainda está na fila e fecha o arquivo
+    }
+    queue.drainTo(batch);
+    write(batch);
+    try {
+      writer.close();
+    } catch (IOException e) {
+      logger.warn("[TRACING] Falha ao fechar arquivo de spans: {}", e.getMessage());
+    }
+  }
+
+  private void write(List<Span> batch) {
+    long discarded = dropped.getAndSet(0);
+    if (discarded > 0) {
+      logger.warn("[TRACING] {} spans descartados (fila do arquivo cheia)", discarded);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      for (Span span : batch) {
+        writer.write(objectMapper.writeValueAsString(span));
+        writer.newLine();
+      }
+      writer.flush();
+    } catch (IOException e) {
+      logger.warn("[TRACING] Falha ao gravar {} spans: {}", batch.size(), e.getMessage());
+    }
+  }
+}
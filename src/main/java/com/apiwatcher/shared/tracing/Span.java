@@ -0,0 +1,18 @@
+package com.apiwatcher.shared.tracing;
+
+import java.util.Map;
+
+/**
+ * Trecho cronometrado de um trace: uma etapa do pipeline (probe, envio ao
+ * Kafka, consumo, gravação no MongoDB).
+ *
+ * startedAt em epoch millis; duration em microssegundos.
+ */
+public record Span(
+    String traceId,
+    String name,
+    long startedAt,
+    long durationMicros,
+    String thread,
+    Map<String, String> attributes) {
+}
@@ -0,0 +1,119 @@
+package com.apiwatcher.shared.tracing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tracing mínimo do pipeline probe → Kafka → MongoDB, sem coletor externo.
+ *
+ * Cada probe abre um trace (start) na thread que o executa; o trace id
+ * corrente segue para o Kafka como header (HEADER) e o consumer o grava no
+ * histórico. Cada etapa registra um span (record), que fica em memória
+ * (find) e, opcionalmente, em arquivo NDJSON (tracing.file).
+ */
+@Component
+public class Tracer {
+
+  /** Header Kafka com o trace id. */
+  public static final String HEADER = "trace-id";
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  private final boolean enabled;
+  private final Cache<String, List<Span>> traces;
+  private final FileSpanExporter fileExporter;
+
+  public Tracer(TracingProperties properties, ObjectMapper objectMapper) {
+    this.enabled = properties.enabled();
+    this.traces = Caffeine.newBuilder()
+        .maximumSize(properties.maxTraces())
+        .expireAfterWrite(properties.retention())
+        .build();
+    try {
+      this.fileExporter = enabled && properties.file() != null
+          ? new FileSpanExporter(properties.file(), objectMapper, properties.fileQueueSize())
+          : null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Arquivo de spans inválido: " + properties.file(), e);
+    }
+  }
+
+  /**
+   * Abre um trace na thread atual e retorna o id (null se desabilitado).
+   */
+  public String start() {
+    if (!enabled) {
+      return null;
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String traceId = String.format("%016x%016x", random.nextLong(), random.nextLong());
+    CURRENT.set(traceId);
+    return traceId;
+  }
+
+  /**
+   * Trace id aberto na thread atual, ou null.
+   */
+  public String current() {
+    return CURRENT.get();
+  }
+
+  public void end() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Registra um span. Ignorado sem trace id (evento publicado fora de um
+   * probe, ou header ausente).
+   */
+  public void record(String traceId, String name, long startedAt, long durationNanos,
+      Map<String, String> attributes) {
+    if (!enabled || traceId == null) {
+      return;
+    }
+    Span span = new Span(traceId, name, startedAt, durationNanos / 1000,
+        Thread.currentThread().getName(), attributes);
+    List<Span> spans = traces.get(traceId, id -> new ArrayList<>());
+    synchronized (spans) {
+      spans.add(span);
+    }
+    if (fileExporter != null) {
+      fileExporter.export(span);
+    }
+  }
+
+  /**
+   * Spans de um trace em ordem de início (vazio se desconhecido ou expirado).
+   */
+  public List<Span> find(String traceId) {
+    List<Span> spans = traces.getIfPresent(traceId);
+    if (spans == null) {
+      return List.of();
+    }
+    synchronized (spans) {
+      List<Span> copy = new ArrayList<>(spans);
+      copy.sort(Comparator.comparingLong(Span::startedAt));
+      return copy;
+    }
+  }
+
+  @PreDestroy
+  void close() throws IOException {
+    if (fileExporter != null) {
+      fileExporter.close();
+    }
+  }
+}
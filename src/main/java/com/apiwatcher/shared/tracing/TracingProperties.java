@@ -0,0 +1,26 @@
+package com.apiwatcher.shared.tracing;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do tracing do pipeline.
+ *
+ * - enabled: gera trace id por probe e registra os spans
+ * - maxTraces / retention: traces mantidos em memória (GET /traces/{id})
+ * - file: se definido, os spans também são gravados nesse arquivo, um JSON
+ * por linha
+ * - fileQueueSize: spans aguardando gravação no arquivo (acima disso, são
+ * descartados)
+ */
+@ConfigurationProperties(prefix = "tracing")
+public record TracingProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10000") long maxTraces,
+    @DefaultValue("15m") Duration retention,
+    Path file,
+    @DefaultValue("10000") int fileQueueSize) {
+}
@@ -0,0 +1,43 @@
+-- Atualiza o status ao vivo de uma API (hash) de forma atômica.
+-- KEYS[1] = api-watcher:status:{apiId}
+-- ARGV = state, checkedAt (ms), success (0/1), statusCode, latencyMs,
+--        errorMessage, alpha (EWMA), ttlSeconds
+-- Retorna 1 se o estado mudou, 0 se não mudou, -1 se o check é mais antigo
+-- que o último registrado.
+local key = KEYS[1]
+local state = ARGV[1]
+local checkedAt = tonumber(ARGV[2])
+local success = tonumber(ARGV[3])
+local latency = tonumber(ARGV[5])
+local alpha = tonumber(ARGV[7])
+
+local current = redis.call('HMGET', key, 'checkedAt', 'state', 'successEwma', 'latencyEwma')
+if current[1] and tonumber(current[1]) > checkedAt then
+  return -1
+end
+
+local successEwma = success
+local latencyEwma = latency
+if current[3] then
+  successEwma = alpha * success + (1 - alpha) * tonumber(current[3])
+  latencyEwma = alpha * latency + (1 - alpha) * tonumber(current[4])
+end
+
+local changed = 0
+if current[2] ~= state then
+  changed = 1
+  redis.call('HSET', key, 'lastChangeAt', ARGV[2], 'previousState', current[2] or '')
+end
+
+redis.call('HSET', key,
+  'state', state,
+  'checkedAt', ARGV[2],
+  'success', ARGV[3],
+  'statusCode', ARGV[4],
+  'latencyMs', ARGV[5],
+  'errorMessage', ARGV[6],
+  'successEwma', tostring(successEwma),
+  'latencyEwma', tostring(latencyEwma))
+redis.call('HINCRBY', key, 'checks', 1)
+redis.call('EXPIRE', key, tonumber(ARGV[8]))
+return changed
@@ -0,0 +1,133 @@
+package com.apiwatcher.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.apiwatcher.monitoring.application.registry.CompactApiRegistry;
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+
+/**
+ * Benchmark do registro em memória do probe: List<MonitoredApi> x
+ * CompactApiRegistry (colunar).
+ *
+ * Mede a varredura do registro (o que o health check faz a cada ciclo) e
+ * imprime, via JOL, o footprint retido por API em cada representação.
+ *
+ * Execução: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.apiwatcher.benchmark.CompactRegistryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactRegistryBenchmark {
+
+  @Param({ "100000" })
+  public int size;
+
+  private List<MonitoredApi> list;
+  private CompactApiRegistry compact;
+
+  @Setup
+  public void setup() {
+    list = sampleApis(size);
+    compact = CompactApiRegistry.of(list);
+  }
+
+  @Benchmark
+  public long scanList() {
+    long sum = 0;
+    for (MonitoredApi api : list) {
+      sum += api.getLatencyThresholdMs() + api.getExpectedStatusCode();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long scanCompact() {
+    long sum = 0;
+    for (int i = 0; i < compact.size(); i++) {
+      sum += compact.latencyThresholdMs(i) + compact.expectedStatusCode(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long urlsList() {
+    long length = 0;
+    for (MonitoredApi api : list) {
+      length += api.getUrl().length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  public long urlsCompact() {
+    long length = 0;
+    for (int i = 0; i < compact.size(); i++) {
+      length += compact.url(i).length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  public CompactApiRegistry build() {
+    return CompactApiRegistry.of(list);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    int size = 100_000;
+    List<MonitoredApi> sample = sampleApis(size);
+    CompactApiRegistry compact = CompactApiRegistry.of(sample);
+    System.out.printf("List<MonitoredApi>  bytes/API: %.1f%n",
+        GraphLayout.parseInstance(sample).totalSize() / (double) size);
+    System.out.printf("CompactApiRegistry  bytes/API: %.1f (%d origens)%n",
+        GraphLayout.parseInstance(compact).totalSize() / (double) size, compact.originCount());
+
+    new Runner(new OptionsBuilder()
+        .include(CompactRegistryBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  private static List<MonitoredApi> sampleApis(int size) {
+    String[] methods = { "GET", "POST", "GET", "HEAD" };
+    LocalDateTime now = LocalDateTime.now();
+    List<MonitoredApi> apis = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      apis.add(new MonitoredApi(
+          UUID.randomUUID().toString(),
+          "Servico " + i,
+          "https://api" + (i % 500) + ".example.com/v1/health/" + i,
+          methods[i % methods.length],
+          200,
+          500 + (i % 1000),
+          true,
+          i % 3 == 0 ? 0.999 : null,
+          now.minusDays(i % 365),
+          now.minusHours(i % 24)));
+    }
+    return apis;
+  }
+}
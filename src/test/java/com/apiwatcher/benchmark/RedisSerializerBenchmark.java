@@ -0,0 +1,125 @@
+package com.apiwatcher.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.apiwatcher.config.RedisConfig;
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+
+/**
+ * Benchmark dos serializers de valores do Redis: JSON (GenericJackson2Json
+ * com default typing) x binário versionado.
+ *
+ * Mede tempo de serialização/desserialização de uma API e de uma lista
+ * (formato do registro) e imprime bytes por entrada.
+ *
+ * Execução: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.apiwatcher.benchmark.RedisSerializerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+  @Param({ "json", "binary" })
+  public String format;
+
+  @Param({ "100" })
+  public int listSize;
+
+  private RedisSerializer<Object> serializer;
+  private MonitoredApi api;
+  private List<MonitoredApi> apis;
+  private byte[] apiBytes;
+  private byte[] listBytes;
+
+  @Setup
+  public void setup() {
+    serializer = serializer(format);
+    apis = sampleApis(listSize);
+    api = apis.get(0);
+    apiBytes = serializer.serialize(api);
+    listBytes = serializer.serialize(apis);
+  }
+
+  @Benchmark
+  public byte[] serializeApi() {
+    return serializer.serialize(api);
+  }
+
+  @Benchmark
+  public Object deserializeApi() {
+    return serializer.deserialize(apiBytes);
+  }
+
+  @Benchmark
+  public byte[] serializeList() {
+    return serializer.serialize(apis);
+  }
+
+  @Benchmark
+  public Object deserializeList() {
+    return serializer.deserialize(listBytes);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    List<MonitoredApi> sample = sampleApis(100);
+    for (String format : List.of("json", "binary")) {
+      RedisSerializer<Object> serializer = serializer(format);
+      System.out.printf("%-6s bytes/API: %d | bytes/entrada em lista de %d: %.1f%n", format,
+          serializer.serialize(sample.get(0)).length, sample.size(),
+          serializer.serialize(sample).length / (double) sample.size());
+    }
+
+    new Runner(new OptionsBuilder()
+        .include(RedisSerializerBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  private static RedisSerializer<Object> serializer(String format) {
+    return "json".equals(format) ? RedisConfig.createJsonSerializer() : RedisConfig.createValueSerializer();
+  }
+
+  private static List<MonitoredApi> sampleApis(int size) {
+    String[] methods = { "GET", "POST", "GET", "HEAD" };
+    LocalDateTime now = LocalDateTime.now();
+    List<MonitoredApi> apis = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      apis.add(new MonitoredApi(
+          UUID.randomUUID().toString(),
+          "Servico " + i,
+          "https://api" + (i % 10) + ".example.com/v1/health/" + i,
+          methods[i % methods.length],
+          200,
+          500 + i,
+          i % 7 != 0,
+          i % 3 == 0 ? 0.999 : null,
+          now.minusDays(i),
+          now.minusHours(i)));
+    }
+    return apis;
+  }
+}
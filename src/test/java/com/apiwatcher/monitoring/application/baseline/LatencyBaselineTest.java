@@ -0,0 +1,89 @@
+package com.apiwatcher.monitoring.application.baseline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyBaselineTest {
+
+  @Test
+  void computesNearestRankPercentiles() {
+    // 1..100ms fora de ordem: p50 = 50, p95 = 95, p99 = 99
+    long[] latencies = LongStream.rangeClosed(1, 100).map(i -> (i * 37) % 100 + 1).toArray();
+
+    LatencyBaseline baseline = LatencyBaseline.of(latencies, 2);
+
+    assertThat(baseline.samples()).isEqualTo(100);
+    assertThat(baseline.failedSamples()).isEqualTo(2);
+    assertThat(baseline.minMs()).isEqualTo(1);
+    assertThat(baseline.p50Ms()).isEqualTo(50);
+    assertThat(baseline.p95Ms()).isEqualTo(95);
+    assertThat(baseline.p99Ms()).isEqualTo(99);
+    assertThat(baseline.maxMs()).isEqualTo(100);
+  }
+
+  @Test
+  void smallSampleUsesUpperRanks() {
+    LatencyBaseline baseline = LatencyBaseline.of(new long[] { 40, 10, 30, 20 }, 0);
+
+    // ceil(0.5 * 4) = 2º menor; ceil(0.95 * 4) = 4º menor
+    assertThat(baseline.p50Ms()).isEqualTo(20);
+    assertThat(baseline.p95Ms()).isEqualTo(40);
+    assertThat(baseline.p99Ms()).isEqualTo(40);
+  }
+
+  @Test
+  void singleSampleIsEveryPercentileWithoutJitter() {
+    LatencyBaseline baseline = LatencyBaseline.of(new long[] { 120 }, 0);
+
+    assertThat(baseline.minMs()).isEqualTo(120);
+    assertThat(baseline.p50Ms()).isEqualTo(120);
+    assertThat(baseline.p99Ms()).isEqualTo(120);
+    assertThat(baseline.maxMs()).isEqualTo(120);
+    assertThat(baseline.jitterMs()).isZero();
+  }
+
+  @Test
+  void jitterIsMeanAbsoluteDifferenceInSendOrder() {
+    // |20-10| + |15-20| + |40-15| = 40, em 3 pares
+    LatencyBaseline baseline = LatencyBaseline.of(new long[] { 10, 20, 15, 40 }, 0);
+
+    assertThat(baseline.jitterMs()).isEqualTo(13.3);
+    // Mesmas amostras ordenadas: mesma distribuição, jitter menor
+    assertThat(LatencyBaseline.of(new long[] { 10, 15, 20, 40 }, 0).jitterMs()).isEqualTo(10.0);
+  }
+
+  @Test
+  void doesNotMutateInput() {
+    long[] latencies = { 30, 10, 20 };
+
+    LatencyBaseline.of(latencies, 0);
+
+    assertThat(latencies).containsExactly(30, 10, 20);
+  }
+
+  @Test
+  void rejectsEmptySamples() {
+    assertThatThrownBy(() -> LatencyBaseline.of(new long[0], 3))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void suggestedThresholdIsP95WithMarginButNotBelowP99() {
+    assertThat(baseline(400, 700).suggestedThresholdMs()).isEqualTo(700);
+    assertThat(baseline(600, 650).suggestedThresholdMs()).isEqualTo(900);
+  }
+
+  @Test
+  void suggestedThresholdIsClamped() {
+    assertThat(baseline(50, 80).suggestedThresholdMs()).isEqualTo(500);
+    assertThat(baseline(25_000, 40_000).suggestedThresholdMs()).isEqualTo(30_000);
+  }
+
+  private static LatencyBaseline baseline(long p95Ms, long p99Ms) {
+    return new LatencyBaseline(10, 0, 1, p95Ms / 2, p95Ms, p99Ms, p99Ms, 0);
+  }
+}
@@ -0,0 +1,185 @@
+package com.apiwatcher.monitoring.application.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.domain.repository.RegistryDelta;
+import com.apiwatcher.monitoring.domain.repository.RegistryDeltaSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ActiveApiRegistryTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+  private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+  private final FakeDeltaSource source = new FakeDeltaSource();
+
+  @Test
+  void firstCallLoadsSnapshotAndStartsWatermarkAtNewestRow() {
+    source.snapshots.add(delta(List.of(api("a", true, T0.minusMinutes(1)), api("b", true, T0)), List.of(), T0));
+    ActiveApiRegistry registry = registry(Duration.ofHours(1));
+
+    CompactApiRegistry apis = registry.activeApis();
+    source.deltas.add(empty());
+    registry.activeApis();
+
+    assertThat(ids(apis)).containsExactlyInAnyOrder("a", "b");
+    assertThat(source.since).containsExactly(T0.minus(OVERLAP));
+  }
+
+  @Test
+  void deactivatedRowLeavesRegistry() {
+    source.snapshots.add(delta(List.of(api("a", true, T0), api("b", true, T0)), List.of(), T0));
+    ActiveApiRegistry registry = registry(Duration.ofHours(1));
+    registry.activeApis();
+
+    source.deltas.add(delta(List.of(api("b", false, T0.plusSeconds(10))), List.of(), T0.plusSeconds(10)));
+
+    assertThat(ids(registry.activeApis())).containsExactly("a");
+  }
+
+  @Test
+  void tombstoneRemovesId() {
+    source.snapshots.add(delta(List.of(api("a", true, T0), api("b", true, T0)), List.of(), T0));
+    ActiveApiRegistry registry = registry(Duration.ofHours(1));
+    registry.activeApis();
+
+    source.deltas.add(delta(List.of(), List.of("a"), T0.plusSeconds(3)));
+
+    assertThat(ids(registry.activeApis())).containsExactly("b");
+  }
+
+  @Test
+  void watermarkOnlyMovesForward() {
+    source.snapshots.add(delta(List.of(api("a", true, T0)), List.of(), T0));
+    ActiveApiRegistry registry = registry(Duration.ofHours(1));
+    registry.activeApis();
+
+    // Delta sem nada novo devolve o próprio "since" (anterior ao watermark)
+    source.deltas.add(delta(List.of(), List.of(), T0.minus(OVERLAP)));
+    source.deltas.add(delta(List.of(api("b", true, T0.plusSeconds(30))), List.of(), T0.plusSeconds(30)));
+    source.deltas.add(delta(List.of(), List.of("x"), T0.plusSeconds(20)));
+    source.deltas.add(empty());
+    for (int i = 0; i < 4; i++) {
+      registry.activeApis();
+    }
+
+    assertThat(source.since).containsExactly(
+        T0.minus(OVERLAP),
+        T0.minus(OVERLAP),
+        T0.plusSeconds(30).minus(OVERLAP),
+        T0.plusSeconds(30).minus(OVERLAP));
+  }
+
+  @Test
+  void rowInsideOverlapWindowIsReappliedIdempotently() {
+    source.snapshots.add(delta(List.of(api("a", true, T0)), List.of(), T0));
+    ActiveApiRegistry registry = registry(Duration.ofHours(1));
+    registry.activeApis();
+
+    MonitoredApi changed = new MonitoredApi("a", "API a", "http://a2.local", "GET", 200, 300, true, null, null,
+        T0.plusSeconds(2));
+    source.deltas.add(delta(List.of(changed), List.of(), T0.plusSeconds(2)));
+    CompactApiRegistry first = registry.activeApis();
+    // Mesma linha relida na margem de sobreposição
+    source.deltas.add(delta(List.of(changed), List.of(), T0.plusSeconds(2)));
+    CompactApiRegistry second = registry.activeApis();
+
+    for (CompactApiRegistry apis : List.of(first, second)) {
+      assertThat(apis.size()).isEqualTo(1);
+      assertThat(apis.url(apis.indexOf("a"))).isEqualTo("http://a2.local");
+      assertThat(apis.latencyThresholdMs(apis.indexOf("a"))).isEqualTo(300);
+    }
+  }
+
+  @Test
+  void fullResyncReplacesStateAndPurgesTombstones() {
+    source.snapshots.add(delta(List.of(api("a", true, T0), api("b", true, T0)), List.of(), T0));
+    source.snapshots.add(delta(List.of(api("c", true, T0.plusMinutes(1))), List.of(), T0.plusMinutes(1)));
+    ActiveApiRegistry registry = registry(Duration.ZERO);
+
+    registry.activeApis();
+    CompactApiRegistry apis = registry.activeApis();
+
+    assertThat(ids(apis)).containsExactly("c");
+    assertThat(source.since).isEmpty();
+    assertThat(source.purges).isEqualTo(2);
+  }
+
+  @Test
+  void emptySnapshotStartsWatermarkNow() {
+    source.snapshots.add(delta(List.of(), List.of(), null));
+    ActiveApiRegistry registry = registry(Duration.ofHours(1));
+    LocalDateTime before = LocalDateTime.now();
+
+    registry.activeApis();
+    source.deltas.add(empty());
+    registry.activeApis();
+
+    assertThat(source.since.get(0)).isAfterOrEqualTo(before.minus(OVERLAP));
+  }
+
+  private ActiveApiRegistry registry(Duration fullResync) {
+    return new ActiveApiRegistry(source, new RegistrySyncProperties(OVERLAP, fullResync, Duration.ofDays(1)),
+        new SimpleMeterRegistry());
+  }
+
+  private static List<String> ids(CompactApiRegistry apis) {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < apis.size(); i++) {
+      ids.add(apis.id(i));
+    }
+    return ids;
+  }
+
+  private static MonitoredApi api(String id, boolean active, LocalDateTime updatedAt) {
+    return new MonitoredApi(id, "API " + id, "http://" + id + ".local", "GET", 200, 100, active, null, null,
+        updatedAt);
+  }
+
+  private static RegistryDelta delta(List<MonitoredApi> changed, List<String> deletedIds, LocalDateTime watermark) {
+    return new RegistryDelta(changed, deletedIds, watermark);
+  }
+
+  private static RegistryDelta empty() {
+    return new RegistryDelta(List.of(), List.of(), null);
+  }
+
+  /**
+   * Devolve os snapshots e deltas enfileirados e registra o "since" pedido.
+   */
+  private static class FakeDeltaSource implements RegistryDeltaSource {
+
+    private final Deque<RegistryDelta> snapshots = new ArrayDeque<>();
+    private final Deque<RegistryDelta> deltas = new ArrayDeque<>();
+    private final List<LocalDateTime> since = new ArrayList<>();
+    private int purges;
+
+    @Override
+    public RegistryDelta activeSnapshot() {
+      return snapshots.remove();
+    }
+
+    @Override
+    public RegistryDelta changesSince(LocalDateTime since) {
+      this.since.add(since);
+      return deltas.remove();
+    }
+
+    @Override
+    public int purgeTombstones(LocalDateTime before) {
+      purges++;
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.apiwatcher.monitoring.application.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+
+class CompactApiRegistryTest {
+
+  @Test
+  void buildsColumnsFromApis() {
+    MonitoredApi pay = api("pay", "https://pay.example.com:8443/v1/health?full=true", "POST", 201, 750, 0.995);
+    MonitoredApi search = api("search", "http://search.local/ping", "head", 204, 100, null);
+
+    CompactApiRegistry registry = CompactApiRegistry.of(List.of(pay, search));
+
+    assertThat(registry.size()).isEqualTo(2);
+    int i = registry.indexOf("pay");
+    assertThat(registry.id(i)).isEqualTo("pay");
+    assertThat(registry.name(i)).isEqualTo("API pay");
+    assertThat(registry.httpMethod(i)).isEqualTo("POST");
+    assertThat(registry.expectedStatusCode(i)).isEqualTo(201);
+    assertThat(registry.latencyThresholdMs(i)).isEqualTo(750);
+    assertThat(registry.sloTarget(i)).isEqualTo(0.995);
+    assertThat(registry.url(i)).isEqualTo("https://pay.example.com:8443/v1/health?full=true");
+    assertThat(registry.uri(i).getHost()).isEqualTo("pay.example.com");
+
+    int j = registry.indexOf("search");
+    assertThat(registry.httpMethod(j)).isEqualTo("HEAD");
+    assertThat(registry.sloTarget(j)).isNull();
+    assertThat(registry.url(j)).isEqualTo("http://search.local/ping");
+  }
+
+  @Test
+  void deduplicatesOrigins() {
+    CompactApiRegistry registry = CompactApiRegistry.of(List.of(
+        api("a", "https://shared.example.com/a", "GET", 200, 100, null),
+        api("b", "https://shared.example.com/b", "GET", 200, 100, null),
+        api("c", "https://other.example.com", "GET", 200, 100, null)));
+
+    assertThat(registry.originCount()).isEqualTo(2);
+    assertThat(registry.url(registry.indexOf("c"))).isEqualTo("https://other.example.com");
+  }
+
+  @Test
+  void keepsUnparseableUrlIntact() {
+    String url = "http://bad host/with spaces";
+    CompactApiRegistry registry = CompactApiRegistry.of(List.of(api("x", url, "GET", 200, 100, null)));
+
+    assertThat(registry.url(registry.indexOf("x"))).isEqualTo(url);
+  }
+
+  @Test
+  void indexOfReturnsMinusOneForUnknownIds() {
+    CompactApiRegistry registry = CompactApiRegistry.of(List.of(api("a", "http://a.local", "GET", 200, 100, null)));
+
+    assertThat(registry.indexOf("b")).isEqualTo(-1);
+    assertThat(CompactApiRegistry.EMPTY.size()).isZero();
+    assertThat(CompactApiRegistry.EMPTY.indexOf("a")).isEqualTo(-1);
+  }
+
+  @Test
+  void growsPastInitialCapacityAndIndexesEveryId() {
+    List<MonitoredApi> apis = new ArrayList<>();
+    for (int n = 0; n < 1_000; n++) {
+      apis.add(api("id-" + n, "http://host" + (n % 10) + ".local/p/" + n, "GET", 200, n, null));
+    }
+    CompactApiRegistry registry = CompactApiRegistry.of(List.of()).apply(apis, Set.of());
+
+    assertThat(registry.size()).isEqualTo(1_000);
+    assertThat(registry.originCount()).isEqualTo(10);
+    for (int n = 0; n < 1_000; n++) {
+      int i = registry.indexOf("id-" + n);
+      assertThat(i).isNotNegative();
+      assertThat(registry.latencyThresholdMs(i)).isEqualTo(n);
+      assertThat(registry.url(i)).isEqualTo("http://host" + (n % 10) + ".local/p/" + n);
+    }
+  }
+
+  @Test
+  void applyReplacesChangedRemovesDeletedAndInactive() {
+    CompactApiRegistry original = CompactApiRegistry.of(List.of(
+        api("a", "http://a.local", "GET", 200, 100, null),
+        api("b", "http://b.local", "GET", 200, 100, null),
+        api("c", "http://c.local", "GET", 200, 100, null)));
+
+    MonitoredApi changedA = api("a", "http://a2.local/novo", "PUT", 202, 300, 0.99);
+    MonitoredApi inactiveB = new MonitoredApi("b", "API b", "http://b.local", "GET", 200, 100, false, null,
+        null, null);
+    MonitoredApi newD = api("d", "http://d.local", "DELETE", 204, 50, null);
+
+    CompactApiRegistry updated = original.apply(List.of(changedA, inactiveB, newD), Set.of("c"));
+
+    assertThat(updated.size()).isEqualTo(2);
+    assertThat(updated.indexOf("b")).isEqualTo(-1);
+    assertThat(updated.indexOf("c")).isEqualTo(-1);
+    int a = updated.indexOf("a");
+    assertThat(updated.url(a)).isEqualTo("http://a2.local/novo");
+    assertThat(updated.httpMethod(a)).isEqualTo("PUT");
+    assertThat(updated.latencyThresholdMs(a)).isEqualTo(300);
+    assertThat(updated.sloTarget(a)).isEqualTo(0.99);
+    assertThat(updated.httpMethod(updated.indexOf("d"))).isEqualTo("DELETE");
+    // Origens que deixaram de ser usadas não são copiadas
+    assertThat(updated.originCount()).isEqualTo(2);
+
+    // O registro original é imutável
+    assertThat(original.size()).isEqualTo(3);
+    assertThat(original.url(original.indexOf("a"))).isEqualTo("http://a.local");
+  }
+
+  @Test
+  void applyWithoutChangesReturnsSameInstance() {
+    CompactApiRegistry registry = CompactApiRegistry.of(List.of(api("a", "http://a.local", "GET", 200, 100, null)));
+
+    assertThat(registry.apply(List.of(), Set.of())).isSameAs(registry);
+  }
+
+  private static MonitoredApi api(String id, String url, String method, int status, int thresholdMs,
+      Double sloTarget) {
+    return new MonitoredApi(id, "API " + id, url, method, status, thresholdMs, true, sloTarget, null, null);
+  }
+}
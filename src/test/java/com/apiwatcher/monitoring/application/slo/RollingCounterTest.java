@@ -0,0 +1,56 @@
+package com.apiwatcher.monitoring.application.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RollingCounterTest {
+
+  // Janela de 60s em 6 slots de 10s
+  private final RollingCounter counter = new RollingCounter(60_000, 6);
+
+  @Test
+  void sumsChecksInsideTheWindow() {
+    counter.record(0, true);
+    counter.record(5_000, false);
+    counter.record(25_000, true);
+
+    assertThat(counter.sum(59_999)).containsExactly(3, 1);
+  }
+
+  @Test
+  void dropsSlotsThatLeftTheWindow() {
+    counter.record(0, false);
+    counter.record(10_000, true);
+    counter.record(55_000, true);
+
+    // Em 60s o slot [0, 10s) sai da janela
+    assertThat(counter.sum(60_000)).containsExactly(2, 0);
+    // Em 120s, todos saíram
+    assertThat(counter.sum(120_000)).containsExactly(0, 0);
+  }
+
+  @Test
+  void reusesExpiredSlotsOnRollover() {
+    counter.record(0, false);
+    // Mesmo índice do anel, uma volta depois: o slot é zerado antes de contar
+    counter.record(60_000, true);
+
+    assertThat(counter.sum(60_000)).containsExactly(1, 0);
+  }
+
+  @Test
+  void ignoresPointsOlderThanTheSlotAlreadyInUse() {
+    counter.record(60_000, true);
+    counter.record(0, false);
+
+    assertThat(counter.sum(60_000)).containsExactly(1, 0);
+  }
+
+  @Test
+  void ignoresFutureSlots() {
+    counter.record(100_000, false);
+
+    assertThat(counter.sum(50_000)).containsExactly(0, 0);
+  }
+}
@@ -0,0 +1,51 @@
+package com.apiwatcher.monitoring.application.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.model.CheckResult;
+import com.apiwatcher.shared.metrics.ApiTagLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SloEngineTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final SloEngine engine = new SloEngine(
+      new SloProperties(0.99, List.of(Duration.ofMinutes(5), Duration.ofHours(1)), Duration.ofDays(30), 12),
+      registry, new ApiTagLimiter(1));
+
+  @Test
+  void exportsGaugesOnlyForApisWithinTheTagLimit() {
+    engine.onHealthCheck(event("a", true));
+    engine.onHealthCheck(event("b", false));
+
+    assertThat(registry.find("apiwatcher.slo.burn.rate").gauges()).hasSize(2)
+        .allMatch(gauge -> "a".equals(gauge.getId().getTag("api")));
+    assertThat(registry.find("apiwatcher.slo.error.budget.remaining").gauges()).hasSize(1);
+    // O status continua disponível para todas as APIs
+    assertThat(engine.statuses()).extracting(SloStatus::apiId).containsExactly("a", "b");
+  }
+
+  @Test
+  void removingAnApiReleasesItsSlot() {
+    engine.onHealthCheck(event("a", true));
+    engine.remove("a");
+    engine.onHealthCheck(event("b", false));
+
+    assertThat(registry.find("apiwatcher.slo.error.budget.remaining").gauge().getId().getTag("api")).isEqualTo("b");
+    assertThat(registry.get("apiwatcher.slo.burn.rate").tag("api", "b").tag("window", "5m").gauge().value())
+        .isCloseTo(100.0, within(1e-6));
+  }
+
+  private static HealthCheckEvent event(String apiId, boolean success) {
+    CheckResult result = success ? CheckResult.success(apiId, 200, 50) : CheckResult.error(apiId, "timeout");
+    return HealthCheckEvent.from(result, apiId, "https://" + apiId + ".example.com", 1_000, null);
+  }
+}
@@ -0,0 +1,76 @@
+package com.apiwatcher.monitoring.application.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SloTrackerTest {
+
+  private static final long MINUTE = 60_000;
+
+  private final SloTracker tracker = new SloTracker("api", 0.99,
+      List.of(Duration.ofMinutes(5), Duration.ofHours(1)), Duration.ofDays(1), 12);
+
+  @Test
+  void computesBurnRatePerWindowAndRemainingBudget() {
+    long now = 10 * 60 * MINUTE;
+    // 100 checks no último minuto, 2 ruins: error rate 2%, meta permite 1%
+    for (int i = 0; i < 100; i++) {
+      tracker.record(now - 30_000, i >= 2, 0.99);
+    }
+
+    SloStatus status = tracker.status(now);
+
+    assertThat(status.windows()).extracting(SloStatus.WindowBurn::window).containsExactly("5m", "1h");
+    assertThat(status.windows().get(0).burnRate()).isCloseTo(2.0, within(1e-9));
+    assertThat(status.windows().get(1).burnRate()).isCloseTo(2.0, within(1e-9));
+    assertThat(status.budget().consumed()).isCloseTo(2.0, within(1e-9));
+    assertThat(status.budget().remaining()).isCloseTo(-1.0, within(1e-9));
+  }
+
+  @Test
+  void shortWindowRollsOverBeforeLongWindow() {
+    long start = 10 * 60 * MINUTE;
+    tracker.record(start, false, 0.99);
+
+    long later = start + 10 * MINUTE;
+    tracker.record(later, true, 0.99);
+    SloStatus status = tracker.status(later);
+
+    // A falha saiu da janela de 5m, mas continua na de 1h
+    assertThat(status.windows().get(0).bad()).isZero();
+    assertThat(status.windows().get(0).total()).isEqualTo(1);
+    assertThat(status.windows().get(1).bad()).isEqualTo(1);
+    assertThat(status.windows().get(1).total()).isEqualTo(2);
+  }
+
+  @Test
+  void emptyTrackerHasFullBudgetAndNoExportedValues() {
+    SloStatus status = tracker.status(System.currentTimeMillis());
+
+    assertThat(status.budget().remaining()).isEqualTo(1.0);
+    assertThat(tracker.lastBurnRate(0)).isNaN();
+    assertThat(tracker.lastRemainingBudget()).isNaN();
+  }
+
+  @Test
+  void exportedValuesFollowTheLastCheck() {
+    long now = System.currentTimeMillis();
+    tracker.record(now, false, 0.99);
+
+    assertThat(tracker.lastBurnRate(0)).isCloseTo(100.0, within(1e-6));
+    assertThat(tracker.lastRemainingBudget()).isCloseTo(-99.0, within(1e-6));
+  }
+
+  @Test
+  void formatsWindows() {
+    assertThat(SloTracker.format(Duration.ofDays(30))).isEqualTo("30d");
+    assertThat(SloTracker.format(Duration.ofHours(6))).isEqualTo("6h");
+    assertThat(SloTracker.format(Duration.ofMinutes(90))).isEqualTo("90m");
+    assertThat(SloTracker.format(Duration.ofSeconds(45))).isEqualTo("45s");
+  }
+}
@@ -0,0 +1,184 @@
+package com.apiwatcher.monitoring.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.application.usecase.ListApisUseCase.Page;
+import com.apiwatcher.monitoring.application.usecase.ListApisUseCase.Query;
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.domain.repository.MonitoredApiRepository;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+class ListApisUseCaseTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+  private final List<MonitoredApi> stored = new ArrayList<>();
+  private final ListApisUseCase useCase = new ListApisUseCase(repository(stored));
+
+  @Test
+  void cursorWalksEveryApiOnce() {
+    for (int i = 0; i < 7; i++) {
+      stored.add(api("api-" + i, T0.plusMinutes(i)));
+    }
+
+    assertThat(ids(walk(3))).containsExactly("api-0", "api-1", "api-2", "api-3", "api-4", "api-5", "api-6");
+  }
+
+  @Test
+  void lastPageHasNoCursor() {
+    stored.add(api("a", T0));
+    stored.add(api("b", T0.plusMinutes(1)));
+
+    Page page = useCase.list(cursorQuery(2, null));
+
+    assertThat(page.items()).hasSize(2);
+    assertThat(page.total()).isEqualTo(2);
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  void insertsBetweenPagesAreNeitherRepeatedNorSkippedAfterCursor() {
+    for (int i = 0; i < 4; i++) {
+      stored.add(api("api-" + i, T0.plusMinutes(i * 10)));
+    }
+    Page first = useCase.list(cursorQuery(2, null));
+
+    // Antes do cursor (não aparece mais) e depois dele (aparece uma vez)
+    stored.add(api("early", T0.plusMinutes(5)));
+    stored.add(api("late", T0.plusMinutes(15)));
+    Page second = useCase.list(cursorQuery(10, first.nextCursor()));
+
+    assertThat(ids(first.items())).containsExactly("api-0", "api-1");
+    assertThat(ids(second.items())).containsExactly("late", "api-2", "api-3");
+  }
+
+  @Test
+  void deletingCursorItemDoesNotShiftNextPage() {
+    for (int i = 0; i < 6; i++) {
+      stored.add(api("api-" + i, T0.plusMinutes(i)));
+    }
+    Page first = useCase.list(cursorQuery(3, null));
+
+    // Remove o item do cursor e um anterior a ele
+    stored.removeIf(api -> api.getId().equals("api-2") || api.getId().equals("api-0"));
+    Page second = useCase.list(cursorQuery(3, first.nextCursor()));
+
+    assertThat(ids(second.items())).containsExactly("api-3", "api-4", "api-5");
+    assertThat(second.nextCursor()).isNull();
+  }
+
+  @Test
+  void equalCreatedAtIsOrderedById() {
+    stored.add(api("c", T0));
+    stored.add(api("a", T0));
+    stored.add(api("b", T0));
+
+    Page first = useCase.list(cursorQuery(1, null));
+    Page rest = useCase.list(cursorQuery(5, first.nextCursor()));
+
+    assertThat(ids(first.items())).containsExactly("a");
+    assertThat(ids(rest.items())).containsExactly("b", "c");
+  }
+
+  @Test
+  void apisWithoutCreatedAtComeLastAndCanBeCursor() {
+    stored.add(api("legacy-b", null));
+    stored.add(api("legacy-a", null));
+    stored.add(api("new", T0));
+
+    assertThat(ids(walk(1))).containsExactly("new", "legacy-a", "legacy-b");
+  }
+
+  @Test
+  void pageAndSizeUseOffsets() {
+    for (int i = 0; i < 5; i++) {
+      stored.add(api("api-" + i, T0.plusMinutes(i)));
+    }
+
+    Page page = useCase.list(new Query(null, null, null, 1, 2, null));
+    Page beyond = useCase.list(new Query(null, null, null, 9, 2, null));
+
+    assertThat(ids(page.items())).containsExactly("api-2", "api-3");
+    assertThat(page.nextCursor()).isNotNull();
+    assertThat(beyond.items()).isEmpty();
+    assertThat(beyond.total()).isEqualTo(5);
+  }
+
+  @Test
+  void rejectsPageTogetherWithCursor() {
+    stored.add(api("a", T0));
+    stored.add(api("b", T0.plusMinutes(1)));
+    String cursor = useCase.list(new Query(null, null, null, null, 1, null)).nextCursor();
+    assertThat(cursor).isNotNull();
+
+    assertThatThrownBy(() -> useCase.list(new Query(null, null, null, 0, 1, cursor)))
+        .isInstanceOf(DomainException.class)
+        .hasMessageContaining("não ambos");
+  }
+
+  @Test
+  void rejectsInvalidCursors() {
+    stored.add(api("a", T0));
+
+    for (String cursor : List.of("%%%", encode("sem-separador"), encode("ontem|a"))) {
+      assertThatThrownBy(() -> useCase.list(cursorQuery(1, cursor)))
+          .isInstanceOf(DomainException.class)
+          .hasMessage("Cursor inválido");
+    }
+  }
+
+  private List<MonitoredApi> walk(int size) {
+    List<MonitoredApi> seen = new ArrayList<>();
+    String cursor = null;
+    do {
+      Page page = useCase.list(cursorQuery(size, cursor));
+      seen.addAll(page.items());
+      cursor = page.nextCursor();
+    } while (cursor != null);
+    return seen;
+  }
+
+  private static Query cursorQuery(int size, String cursor) {
+    return new Query(null, null, null, null, size, cursor);
+  }
+
+  private static String encode(String position) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<String> ids(List<MonitoredApi> apis) {
+    return apis.stream().map(MonitoredApi::getId).toList();
+  }
+
+  private static MonitoredApi api(String id, LocalDateTime createdAt) {
+    return new MonitoredApi(id, "API " + id, "http://" + id + ".local", "GET", 200, 100, true, null, createdAt,
+        createdAt);
+  }
+
+  /**
+   * findAll() na ordem do registro (createdAt, id), como o repositório real.
+   */
+  private static MonitoredApiRepository repository(List<MonitoredApi> stored) {
+    Comparator<MonitoredApi> order = Comparator
+        .comparing(MonitoredApi::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(MonitoredApi::getId);
+    return (MonitoredApiRepository) Proxy.newProxyInstance(MonitoredApiRepository.class.getClassLoader(),
+        new Class<?>[] { MonitoredApiRepository.class }, (proxy, method, args) -> {
+          if (method.getName().equals("findAll")) {
+            return stored.stream().sorted(order).toList();
+          }
+          throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
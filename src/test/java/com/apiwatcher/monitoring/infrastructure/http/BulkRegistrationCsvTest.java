@@ -0,0 +1,113 @@
+package com.apiwatcher.monitoring.infrastructure.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.application.usecase.BulkRegisterApisUseCase.BulkItem;
+import com.apiwatcher.shared.exceptions.DomainException;
+
+class BulkRegistrationCsvTest {
+
+  @Test
+  void parsesRowsWithAndWithoutMethod() throws IOException {
+    List<BulkItem> items = parse("""
+        Pagamentos,https://pay.example.com/health,POST
+        Catalogo, https://catalog.example.com/ping ,
+        Busca,https://search.example.com
+        """);
+
+    assertThat(items).containsExactly(
+        new BulkItem("Pagamentos", "https://pay.example.com/health", "POST"),
+        new BulkItem("Catalogo", "https://catalog.example.com/ping", "GET"),
+        new BulkItem("Busca", "https://search.example.com", "GET"));
+  }
+
+  @Test
+  void skipsHeaderAndBlankLines() throws IOException {
+    List<BulkItem> items = parse("""
+
+        Name,URL,httpMethod
+
+        A,http://a.local,GET
+        """);
+
+    assertThat(items).containsExactly(new BulkItem("A", "http://a.local", "GET"));
+  }
+
+  @Test
+  void skipsHeaderAfterUtf8Bom() throws IOException {
+    List<BulkItem> items = parse("\uFEFFname,url\nA,http://a.local\n");
+
+    assertThat(items).containsExactly(new BulkItem("A", "http://a.local", "GET"));
+  }
+
+  @Test
+  void treatsNameOnlyInFirstRowAsHeader() throws IOException {
+    List<BulkItem> items = parse("A,http://a.local\nname,http://name.local\n");
+
+    assertThat(items).extracting(BulkItem::name).containsExactly("A", "name");
+  }
+
+  @Test
+  void handlesQuotedFieldsWithCommasAndEscapedQuotes() throws IOException {
+    List<BulkItem> items = parse(
+        "\"Busca, v2\",\"https://search.example.com/q?a=1,2\"\n"
+            + "\"API \"\"legada\"\"\",http://legacy.local,\"DELETE\"\n");
+
+    assertThat(items).containsExactly(
+        new BulkItem("Busca, v2", "https://search.example.com/q?a=1,2", "GET"),
+        new BulkItem("API \"legada\"", "http://legacy.local", "DELETE"));
+  }
+
+  @Test
+  void handlesCrLfLineEndings() throws IOException {
+    List<BulkItem> items = parse("name,url\r\nA,http://a.local\r\nB,http://b.local,PUT\r\n");
+
+    assertThat(items).containsExactly(
+        new BulkItem("A", "http://a.local", "GET"),
+        new BulkItem("B", "http://b.local", "PUT"));
+  }
+
+  @Test
+  void rejectsRowWithoutUrlReportingLineNumber() {
+    assertThatThrownBy(() -> parse("name,url\nA,http://a.local\nsem-url\n"))
+        .isInstanceOf(DomainException.class)
+        .hasMessageContaining("linha 3");
+  }
+
+  @Test
+  void rejectsUnterminatedQuote() {
+    assertThatThrownBy(() -> parse("\"A,http://a.local\n"))
+        .isInstanceOf(DomainException.class)
+        .hasMessageContaining("linha 1")
+        .hasMessageContaining("aspas");
+  }
+
+  @Test
+  void rejectsMoreRowsThanLimit() {
+    assertThatThrownBy(() -> BulkRegistrationCsv.parse(stream("A,http://a\nB,http://b\nC,http://c\n"), 2))
+        .isInstanceOf(DomainException.class)
+        .hasMessageContaining("limite de 2");
+  }
+
+  @Test
+  void emptyBodyYieldsNoItems() throws IOException {
+    assertThat(parse("")).isEmpty();
+    assertThat(parse("name,url,httpMethod\n")).isEmpty();
+  }
+
+  private static List<BulkItem> parse(String csv) throws IOException {
+    return BulkRegistrationCsv.parse(stream(csv), 100);
+  }
+
+  private static ByteArrayInputStream stream(String csv) {
+    return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,96 @@
+package com.apiwatcher.monitoring.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent;
+import com.apiwatcher.monitoring.domain.model.CheckResult;
+import com.apiwatcher.shared.metrics.ApiTagLimiter;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProbeMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ProbeMetrics metrics = new ProbeMetrics(registry,
+      new ProbeMetricsProperties(List.of(Duration.ofMillis(100), Duration.ofSeconds(1))), new ApiTagLimiter(1));
+
+  @Test
+  void addsApiThresholdAsLatencyBucket() {
+    metrics.onHealthCheck(event("a", 300));
+
+    assertThat(bucketsMs(latency("a"))).containsExactly(100.0, 300.0, 1000.0);
+  }
+
+  @Test
+  void reRegistersLatencyTimerWhenThresholdChanges() {
+    metrics.onHealthCheck(event("a", 300));
+    Timer before = latency("a");
+
+    metrics.onHealthCheck(event("a", 700));
+
+    Timer after = latency("a");
+    assertThat(after).isNotSameAs(before);
+    assertThat(bucketsMs(after)).containsExactly(100.0, 700.0, 1000.0);
+    assertThat(after.count()).isEqualTo(1);
+    assertThat(registry.find("apiwatcher.probe.latency").timers()).hasSize(1);
+    // Contadores de resultado seguem acumulando
+    assertThat(registry.get("apiwatcher.probe.results").tag("api", "a").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void sameThresholdKeepsTimer() {
+    metrics.onHealthCheck(event("a", 300));
+    Timer before = latency("a");
+
+    metrics.onHealthCheck(event("a", 300));
+
+    assertThat(latency("a")).isSameAs(before);
+    assertThat(before.count()).isEqualTo(2);
+  }
+
+  @Test
+  void overflowApisShareOtherSeriesWithConfiguredBucketsOnly() {
+    metrics.onHealthCheck(event("a", 300));
+    metrics.onHealthCheck(event("b", 400));
+    metrics.onHealthCheck(event("c", 900));
+    metrics.onHealthCheck(event("b", 450));
+
+    Timer other = latency(ApiTagLimiter.OTHER);
+    assertThat(bucketsMs(other)).containsExactly(100.0, 1000.0);
+    assertThat(other.count()).isEqualTo(3);
+  }
+
+  @Test
+  void removeDropsApiSeriesAndReleasesSlot() {
+    metrics.onHealthCheck(event("a", 300));
+
+    metrics.remove("a");
+    metrics.onHealthCheck(event("b", 300));
+
+    assertThat(registry.find("apiwatcher.probe.latency").tag("api", "a").timer()).isNull();
+    assertThat(latency("b").count()).isEqualTo(1);
+  }
+
+  private Timer latency(String api) {
+    return registry.get("apiwatcher.probe.latency").tag("api", api).timer();
+  }
+
+  private static double[] bucketsMs(Timer timer) {
+    return Arrays.stream(timer.takeSnapshot().histogramCounts())
+        .mapToDouble(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+        .toArray();
+  }
+
+  private static HealthCheckEvent event(String apiId, int thresholdMs) {
+    return HealthCheckEvent.from(CheckResult.success(apiId, 200, 50), apiId,
+        "https://" + apiId + ".example.com", thresholdMs, null);
+  }
+}
@@ -0,0 +1,96 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.apiwatcher.config.RedisConfig;
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+
+class MonitoredApiRedisSerializerTest {
+
+  private final MonitoredApiRedisSerializer serializer =
+      new MonitoredApiRedisSerializer(RedisConfig.createJsonSerializer());
+
+  @Test
+  void roundTripsApiWithAllFields() {
+    MonitoredApi api = new MonitoredApi("0f8fad5b-d9cb-469f-a165-70867728950e", "Pagamentos",
+        "https://pay.example.com/health", "POST", 201, 750, true, 99.5,
+        LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000),
+        LocalDateTime.of(2024, 3, 2, 8, 0));
+
+    byte[] bytes = serializer.serialize(api);
+
+    assertThat(bytes[0]).isEqualTo(MonitoredApiRedisSerializer.MAGIC);
+    assertThat(bytes[1]).isEqualTo(MonitoredApiRedisSerializer.VERSION);
+    assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(api);
+  }
+
+  @Test
+  void roundTripsNullFieldsCustomMethodAndNonUuidId() {
+    MonitoredApi api = new MonitoredApi("api-legado-1", "Legado", "http://legado.local/ping", "TRACE",
+        null, null, false, null, null, null);
+
+    assertThat(serializer.deserialize(serializer.serialize(api))).usingRecursiveComparison().isEqualTo(api);
+  }
+
+  @Test
+  void keepsUppercaseUuidTextIntact() {
+    // Forma compacta só vale se UUID.toString() reproduz o texto original
+    MonitoredApi api = new MonitoredApi("0F8FAD5B-D9CB-469F-A165-70867728950E", "Maiusculas",
+        "http://x.local", "GET", 200, null, true, null, null, null);
+
+    MonitoredApi decoded = (MonitoredApi) serializer.deserialize(serializer.serialize(api));
+
+    assertThat(decoded.getId()).isEqualTo(api.getId());
+  }
+
+  @Test
+  void roundTripsApiList() {
+    List<MonitoredApi> apis = List.of(
+        new MonitoredApi("a", "A", "http://a.local", "GET", 200, 100, true, null, null, null),
+        new MonitoredApi("b", "B", "http://b.local", "DELETE", 204, 200, false, 99.9, null, null));
+
+    Object decoded = serializer.deserialize(serializer.serialize(apis));
+
+    assertThat(decoded).asList().usingRecursiveFieldByFieldElementComparator().isEqualTo(apis);
+  }
+
+  @Test
+  void delegatesOtherValuesAndLegacyJsonToFallback() {
+    Map<String, Object> value = new HashMap<>(Map.of("chave", "valor"));
+
+    byte[] bytes = serializer.serialize(value);
+
+    assertThat(bytes[0]).isNotEqualTo(MonitoredApiRedisSerializer.MAGIC);
+    assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+  }
+
+  @Test
+  void treatsUnknownVersionAsCacheMiss() {
+    byte[] bytes = serializer.serialize(
+        new MonitoredApi("a", "A", "http://a.local", "GET", 200, 100, true, null, null, null));
+    bytes[1] = MonitoredApiRedisSerializer.VERSION + 1;
+
+    assertThat(serializer.deserialize(bytes)).isNull();
+  }
+
+  @Test
+  void rejectsTruncatedPayload() {
+    byte[] bytes = serializer.serialize(
+        new MonitoredApi("a", "A", "http://a.local", "GET", 200, 100, true, null, null, null));
+
+    assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 2)))
+        .isInstanceOf(SerializationException.class);
+    assertThatThrownBy(() -> serializer.deserialize(new byte[] { MonitoredApiRedisSerializer.MAGIC, 1 }))
+        .isInstanceOf(SerializationException.class);
+  }
+}
@@ -0,0 +1,109 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.apiwatcher.config.RedisConfig;
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.shared.cache.CacheInvalidationBus;
+
+class MonitoredApiRegistryCacheTest {
+
+  private final MonitoredApiRedisSerializer serializer =
+      new MonitoredApiRedisSerializer(RedisConfig.createJsonSerializer());
+  private final FakeRedisTemplate redis = new FakeRedisTemplate(serializer);
+  private final MonitoredApiRegistryCache cache = new MonitoredApiRegistryCache(redis, new StringRedisTemplate(),
+      new CacheInvalidationBus(new StringRedisTemplate(), new RedisMessageListenerContainer()),
+      600, 30, 60, true, 10);
+
+  @Test
+  void returnsEveryEntryWhenAllDecode() {
+    redis.store("a", serializer.serialize(api("a")));
+    redis.store("b", serializer.serialize(api("b")));
+
+    Collection<MonitoredApi> apis = cache.all();
+
+    assertThat(apis).extracting(MonitoredApi::getId).containsExactlyInAnyOrder("a", "b");
+  }
+
+  @Test
+  void unknownFormatVersionIsMissOfWholeRegistry() {
+    byte[] newer = serializer.serialize(api("b"));
+    newer[1] = MonitoredApiRedisSerializer.VERSION + 1;
+    redis.store("a", serializer.serialize(api("a")));
+    redis.store("b", newer);
+
+    assertThat(cache.all()).isNull();
+  }
+
+  @Test
+  void corruptEntryIsMissInsteadOfError() {
+    byte[] valid = serializer.serialize(api("b"));
+    redis.store("a", serializer.serialize(api("a")));
+    redis.store("b", Arrays.copyOf(valid, valid.length - 2));
+
+    assertThat(cache.all()).isNull();
+  }
+
+  @Test
+  void missingMarkerIsMiss() {
+    redis.store("a", serializer.serialize(api("a")));
+    redis.markerTtl = -2L;
+
+    assertThat(cache.all()).isNull();
+  }
+
+  private static MonitoredApi api(String id) {
+    return new MonitoredApi(id, "API " + id, "http://" + id + ".local", "GET", 200, 100, true, null, null, null);
+  }
+
+  /**
+   * Hash do registro em memória, desserializado a cada leitura como o
+   * RedisTemplate faz (e lançando as mesmas exceções).
+   */
+  private static class FakeRedisTemplate extends RedisTemplate<String, Object> {
+
+    private final MonitoredApiRedisSerializer serializer;
+    private final Map<String, byte[]> hash = new LinkedHashMap<>();
+    private Long markerTtl = 60_000L;
+
+    FakeRedisTemplate(MonitoredApiRedisSerializer serializer) {
+      this.serializer = serializer;
+    }
+
+    void store(String id, byte[] value) {
+      hash.put(id, value);
+    }
+
+    @Override
+    public Long getExpire(String key, TimeUnit timeUnit) {
+      return markerTtl;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+      return (HashOperations<String, HK, HV>) Proxy.newProxyInstance(getClass().getClassLoader(),
+          new Class<?>[] { HashOperations.class }, (proxy, method, args) -> {
+            if (!method.getName().equals("entries")) {
+              throw new UnsupportedOperationException(method.getName());
+            }
+            Map<Object, Object> entries = new LinkedHashMap<>();
+            hash.forEach((id, bytes) -> entries.put(id, serializer.deserialize(bytes)));
+            return entries;
+          });
+    }
+  }
+}
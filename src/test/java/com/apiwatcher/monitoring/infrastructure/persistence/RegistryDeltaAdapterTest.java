@@ -0,0 +1,87 @@
+package com.apiwatcher.monitoring.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.domain.model.MonitoredApi;
+import com.apiwatcher.monitoring.domain.repository.RegistryDelta;
+
+class RegistryDeltaAdapterTest {
+
+  private static final LocalDateTime SINCE = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+  private final List<ProbeTargetRow> rows = new ArrayList<>();
+  private final List<MonitoredApiTombstoneEntity> tombstones = new ArrayList<>();
+  private final RegistryDeltaAdapter adapter = new RegistryDeltaAdapter(
+      fake(MonitoredApiJpaRepository.class, "findProbeTargetsUpdatedAfter", "findActiveProbeTargets", rows),
+      fake(MonitoredApiTombstoneJpaRepository.class, "findDeletedAfter", null, tombstones));
+
+  @Test
+  void watermarkIsNewestRowOrTombstone() {
+    rows.add(row("a", true, SINCE.plusSeconds(4)));
+    rows.add(row("b", false, SINCE.plusSeconds(9)));
+    tombstones.add(new MonitoredApiTombstoneEntity("c", SINCE.plusSeconds(7)));
+
+    RegistryDelta delta = adapter.changesSince(SINCE);
+
+    assertThat(delta.watermark()).isEqualTo(SINCE.plusSeconds(9));
+    assertThat(delta.changed()).extracting(MonitoredApi::getId).containsExactly("a", "b");
+    assertThat(delta.changed()).extracting(MonitoredApi::isActive).containsExactly(true, false);
+    assertThat(delta.deletedIds()).containsExactly("c");
+
+    tombstones.add(new MonitoredApiTombstoneEntity("d", SINCE.plusSeconds(12)));
+    assertThat(adapter.changesSince(SINCE).watermark()).isEqualTo(SINCE.plusSeconds(12));
+  }
+
+  @Test
+  void emptyDeltaKeepsSinceAsWatermark() {
+    RegistryDelta delta = adapter.changesSince(SINCE);
+
+    assertThat(delta.changed()).isEmpty();
+    assertThat(delta.deletedIds()).isEmpty();
+    assertThat(delta.watermark()).isEqualTo(SINCE);
+  }
+
+  @Test
+  void rowWithoutUpdatedAtDoesNotMoveWatermark() {
+    rows.add(row("a", true, null));
+
+    assertThat(adapter.changesSince(SINCE).watermark()).isEqualTo(SINCE);
+  }
+
+  @Test
+  void snapshotWatermarkIsNewestRowOrNullWhenEmpty() {
+    assertThat(adapter.activeSnapshot().watermark()).isNull();
+
+    rows.add(row("a", true, SINCE));
+    rows.add(row("b", true, SINCE.plusMinutes(2)));
+
+    RegistryDelta snapshot = adapter.activeSnapshot();
+    assertThat(snapshot.watermark()).isEqualTo(SINCE.plusMinutes(2));
+    assertThat(snapshot.deletedIds()).isEmpty();
+  }
+
+  private static ProbeTargetRow row(String id, boolean active, LocalDateTime updatedAt) {
+    return new ProbeTargetRow(id, "API " + id, "http://" + id + ".local", "GET", 200, 100, active, null, updatedAt);
+  }
+
+  /**
+   * Repositório JPA que responde só aos métodos de consulta usados pelo
+   * adapter, devolvendo a lista informada.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T fake(Class<T> type, String deltaQuery, String snapshotQuery, List<?> result) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+      if (method.getName().equals(deltaQuery) || method.getName().equals(snapshotQuery)) {
+        return List.copyOf(result);
+      }
+      throw new UnsupportedOperationException(method.getName());
+    });
+  }
+}
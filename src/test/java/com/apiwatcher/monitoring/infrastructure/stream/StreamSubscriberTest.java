@@ -0,0 +1,198 @@
+package com.apiwatcher.monitoring.infrastructure.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+
+class StreamSubscriberTest {
+
+  private final RecordingEmitter emitter = new RecordingEmitter();
+  private final StreamSubscriber subscriber = new StreamSubscriber(emitter, new StreamFilter(null, null, null), 3);
+
+  @Test
+  void firstOfferClaimsDrainAndLaterOffersDoNot() throws IOException {
+    assertThat(subscriber.offer(1, check("a"))).isTrue();
+    assertThat(subscriber.offer(2, check("b"))).isFalse();
+
+    subscriber.drain();
+
+    assertThat(emitter.sent()).containsExactly("check:a", "check:b");
+    // Drain terminou: a próxima mensagem agenda outro
+    assertThat(subscriber.offer(3, check("c"))).isTrue();
+  }
+
+  @Test
+  void coalescesSameTypeAndApiKeepingLatest() throws IOException {
+    subscriber.offer(1, check("a"));
+    subscriber.offer(2, state("a"));
+    subscriber.offer(3, check("b"));
+    subscriber.offer(4, check("a"));
+
+    subscriber.drain();
+
+    // A substituta vai para o fim, mantendo os ids em ordem
+    assertThat(emitter.ids()).containsExactly("2", "3", "4");
+    assertThat(emitter.sent()).containsExactly("state:a", "check:b", "check:a");
+    assertThat(subscriber.takeCoalesced()).isEqualTo(1);
+    assertThat(subscriber.takeCoalesced()).isZero();
+  }
+
+  @Test
+  void overflowDropsOldest() throws IOException {
+    for (int i = 1; i <= 5; i++) {
+      subscriber.offer(i, check("api-" + i));
+    }
+
+    subscriber.drain();
+
+    assertThat(emitter.sent()).containsExactly("check:api-3", "check:api-4", "check:api-5");
+    assertThat(subscriber.takeDropped()).isEqualTo(2);
+    assertThat(subscriber.takeDropped()).isZero();
+  }
+
+  @Test
+  void offersDuringSendAreHandedToRunningDrain() throws Exception {
+    CountDownLatch sending = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    emitter.blockOnFirstSend(sending, release);
+
+    assertThat(subscriber.offer(1, check("a"))).isTrue();
+    CompletableFuture<Void> drain = CompletableFuture.runAsync(() -> {
+      try {
+        subscriber.drain();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // Drain em andamento: ninguém agenda outro, o atual envia
+    assertThat(subscriber.offer(2, check("b"))).isFalse();
+    assertThat(subscriber.offerHeartbeat()).isFalse();
+    release.countDown();
+    drain.get(5, TimeUnit.SECONDS);
+
+    assertThat(emitter.sent()).containsExactly("check:a", "check:b");
+    assertThat(subscriber.offer(3, check("c"))).isTrue();
+  }
+
+  @Test
+  void heartbeatIsSentOnlyWhenNoMessagesArePending() throws IOException {
+    assertThat(subscriber.offerHeartbeat()).isTrue();
+    subscriber.drain();
+    assertThat(emitter.sent()).containsExactly("heartbeat");
+
+    assertThat(subscriber.offerHeartbeat()).isTrue();
+    subscriber.offer(1, check("a"));
+    subscriber.drain();
+    assertThat(emitter.sent()).containsExactly("heartbeat", "check:a");
+  }
+
+  @Test
+  void abortDrainClearsBufferAndReleasesDrain() {
+    emitter.failSends();
+    subscriber.offer(1, check("a"));
+
+    assertThatThrownBy(subscriber::drain).isInstanceOf(IOException.class);
+    subscriber.abortDrain();
+
+    assertThat(subscriber.offer(2, check("b"))).isTrue();
+  }
+
+  @Test
+  void transitionMatchesPreviousOrNewStatus() {
+    StreamFilter downOnly = new StreamFilter(null, null, Set.of(HealthStatus.DOWN));
+
+    assertThat(downOnly.matchesTransition("a", "h", HealthStatus.UP, HealthStatus.DOWN)).isTrue();
+    assertThat(downOnly.matchesTransition("a", "h", HealthStatus.DOWN, HealthStatus.UP)).isTrue();
+    assertThat(downOnly.matchesTransition("a", "h", HealthStatus.UP, HealthStatus.DEGRADED)).isFalse();
+    assertThat(downOnly.matchesTransition("a", "h", null, HealthStatus.UP)).isFalse();
+    assertThat(downOnly.matches("a", "h", HealthStatus.UP)).isFalse();
+  }
+
+  private static StreamMessage check(String apiId) {
+    return message(StreamMessage.CHECK, apiId);
+  }
+
+  private static StreamMessage state(String apiId) {
+    return message(StreamMessage.STATE, apiId);
+  }
+
+  private static StreamMessage message(String type, String apiId) {
+    return new StreamMessage(type, apiId, apiId, "http://" + apiId + ".local", HealthStatus.UP, null, 200, 10,
+        null, null);
+  }
+
+  /**
+   * Emitter que registra "tipo:api" de cada evento e "heartbeat" para comentários.
+   */
+  private static class RecordingEmitter extends SseEmitter {
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final List<String> ids = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch sending;
+    private volatile CountDownLatch release;
+    private volatile boolean fail;
+
+    void blockOnFirstSend(CountDownLatch sending, CountDownLatch release) {
+      this.sending = sending;
+      this.release = release;
+    }
+
+    void failSends() {
+      fail = true;
+    }
+
+    List<String> sent() {
+      return sent;
+    }
+
+    List<String> ids() {
+      return ids;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      if (fail) {
+        throw new IOException("Broken pipe");
+      }
+      StreamMessage message = null;
+      String text = "";
+      for (var data : builder.build()) {
+        if (data.getData() instanceof StreamMessage m) {
+          message = m;
+        } else {
+          text += data.getData();
+        }
+      }
+      if (message == null) {
+        sent.add("heartbeat");
+      } else {
+        ids.add(text.substring(text.indexOf("id:") + 3, text.indexOf('\n')));
+        sent.add(message.type() + ":" + message.apiId());
+      }
+      CountDownLatch block = release;
+      if (block != null) {
+        release = null;
+        sending.countDown();
+        try {
+          block.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+
+class LttbDownsamplerTest {
+
+  @Test
+  void returnsInputWhenThresholdIsNotSmallerOrBelowThree() {
+    List<HistoryPoint> points = series(10);
+
+    assertThat(LttbDownsampler.downsample(points, 10)).isSameAs(points);
+    assertThat(LttbDownsampler.downsample(points, 50)).isSameAs(points);
+    assertThat(LttbDownsampler.downsample(points, 2)).isSameAs(points);
+    assertThat(LttbDownsampler.downsample(List.of(), 5)).isEmpty();
+  }
+
+  @Test
+  void keepsEndpointsAndReturnsThresholdPointsInOrder() {
+    List<HistoryPoint> points = series(1_000);
+
+    List<HistoryPoint> sampled = LttbDownsampler.downsample(points, 100);
+
+    assertThat(sampled).hasSize(100);
+    assertThat(sampled.get(0)).isSameAs(points.get(0));
+    assertThat(sampled.get(99)).isSameAs(points.get(999));
+    assertThat(sampled).extracting(HistoryPoint::timestamp).isSorted().doesNotHaveDuplicates();
+    assertThat(points).containsAll(sampled);
+  }
+
+  @Test
+  void preservesSpikes() {
+    List<HistoryPoint> points = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      double latency = i == 437 ? 5_000 : i == 812 ? 0 : 100;
+      points.add(new HistoryPoint(i * 1_000L, latency, HealthStatus.UP));
+    }
+
+    List<HistoryPoint> sampled = LttbDownsampler.downsample(points, 20);
+
+    assertThat(sampled).contains(points.get(437), points.get(812));
+  }
+
+  @Test
+  void thresholdOfThreeKeepsEndpointsAndTheMostSignificantPoint() {
+    List<HistoryPoint> points = List.of(
+        point(0, 10), point(1, 10), point(2, 90), point(3, 10), point(4, 10));
+
+    assertThat(LttbDownsampler.downsample(points, 3))
+        .containsExactly(points.get(0), points.get(2), points.get(4));
+  }
+
+  private static List<HistoryPoint> series(int size) {
+    List<HistoryPoint> points = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      points.add(point(i, 100 + 50 * Math.sin(i / 10.0)));
+    }
+    return points;
+  }
+
+  private static HistoryPoint point(long second, double latencyMs) {
+    return new HistoryPoint(second * 1_000, latencyMs, HealthStatus.UP);
+  }
+}
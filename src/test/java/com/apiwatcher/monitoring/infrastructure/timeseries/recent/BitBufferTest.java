@@ -0,0 +1,69 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BitBufferTest {
+
+  @Test
+  void readsBackValuesAcrossWordBoundaries() {
+    BitBuffer buffer = new BitBuffer(1);
+    int[] widths = { 1, 5, 12, 63, 64, 7, 20, 64, 2 };
+    long[] values = { 1, 0b10110, 0xABC, Long.MAX_VALUE, -1L, 0, 0xFFFFF, Long.MIN_VALUE, 0b11 };
+
+    for (int i = 0; i < widths.length; i++) {
+      buffer.write(values[i], widths[i]);
+    }
+
+    int position = 0;
+    for (int i = 0; i < widths.length; i++) {
+      assertThat(buffer.read(position, widths[i])).as("campo %d", i).isEqualTo(values[i]);
+      position += widths[i];
+    }
+    assertThat(buffer.size()).isEqualTo(position);
+  }
+
+  @Test
+  void writeKeepsOnlyTheLowBits() {
+    BitBuffer buffer = new BitBuffer(1);
+    buffer.write(-1L, 3);
+    buffer.write(0, 3);
+
+    assertThat(buffer.read(0, 3)).isEqualTo(0b111);
+    assertThat(buffer.read(3, 3)).isZero();
+  }
+
+  @Test
+  void zeroWidthWritesNothing() {
+    BitBuffer buffer = new BitBuffer(1);
+    buffer.write(42, 0);
+
+    assertThat(buffer.size()).isZero();
+    assertThat(buffer.read(0, 0)).isZero();
+  }
+
+  @Test
+  void randomRoundTripSurvivesGrowAndTrim() {
+    Random random = new Random(7);
+    int n = 2_000;
+    int[] widths = new int[n];
+    long[] values = new long[n];
+    BitBuffer buffer = new BitBuffer(1);
+    for (int i = 0; i < n; i++) {
+      widths[i] = 1 + random.nextInt(64);
+      values[i] = widths[i] == 64 ? random.nextLong() : random.nextLong() & ((1L << widths[i]) - 1);
+      buffer.write(values[i], widths[i]);
+    }
+    buffer.trim();
+
+    int position = 0;
+    for (int i = 0; i < n; i++) {
+      assertThat(buffer.read(position, widths[i])).isEqualTo(values[i]);
+      position += widths[i];
+    }
+    assertThat(buffer.capacityBytes()).isEqualTo((long) ((position + 63) / 64) * Long.BYTES);
+  }
+}
@@ -0,0 +1,96 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GorillaBlockTest {
+
+  private record Point(long timestamp, long latencyMs, int status) {
+  }
+
+  @Test
+  void roundTripsRegularSeries() {
+    List<Point> points = new ArrayList<>();
+    long t = 1_700_000_000_000L;
+    for (int i = 0; i < 500; i++) {
+      points.add(new Point(t, 120 + (i % 7), i % 3));
+      t += 60_000;
+    }
+
+    assertThat(decode(encode(points), Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(points);
+  }
+
+  @Test
+  void roundTripsEveryDeltaOfDeltaBucketAndExtremeLatencies() {
+    long t = 1_700_000_000_000L;
+    // Deltas que exercitam os prefixos 0, 10, 110, 1110 e 1111 (64 bits)
+    long[] deltas = { 1_000, 1_000, 1_500, 20_000, 300_000, 300_000, 1L << 40, 0, 0, 3 };
+    long[] latencies = { 0, 0, 1, Long.MAX_VALUE >> 12, 30_000, 7, 0, 123_456_789, 5, 5 };
+
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < deltas.length; i++) {
+      t += deltas[i];
+      points.add(new Point(t, latencies[i], i % 4));
+    }
+
+    assertThat(decode(encode(points), Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(points);
+  }
+
+  @Test
+  void roundTripsRandomSeries() {
+    Random random = new Random(42);
+    List<Point> points = new ArrayList<>();
+    long t = 0;
+    for (int i = 0; i < 5_000; i++) {
+      t += random.nextInt(5) == 0 ? random.nextInt(2_000_000) : 60_000;
+      points.add(new Point(t, random.nextInt(10_000), random.nextInt(3)));
+    }
+
+    assertThat(decode(encode(points), Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(points);
+  }
+
+  @Test
+  void filtersByInclusiveRange() {
+    List<Point> points = List.of(new Point(10, 1, 0), new Point(20, 2, 1), new Point(30, 3, 2), new Point(40, 4, 0));
+    GorillaBlock block = encode(points);
+
+    assertThat(decode(block, 20, 30)).containsExactly(points.get(1), points.get(2));
+    assertThat(decode(block, 41, 100)).isEmpty();
+    assertThat(decode(block, 0, 9)).isEmpty();
+    assertThat(block.firstTimestamp()).isEqualTo(10);
+    assertThat(block.lastTimestamp()).isEqualTo(40);
+    assertThat(block.count()).isEqualTo(4);
+  }
+
+  @Test
+  void sealKeepsContent() {
+    List<Point> points = List.of(new Point(1, 100, 0), new Point(2, 200, 1));
+    GorillaBlock block = encode(points);
+    block.seal();
+
+    assertThat(decode(block, Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(points);
+    assertThat(block.sizeInBytes()).isEqualTo(Long.BYTES * 3);
+  }
+
+  @Test
+  void emptyBlockVisitsNothing() {
+    assertThat(decode(new GorillaBlock(), Long.MIN_VALUE, Long.MAX_VALUE)).isEmpty();
+  }
+
+  private static GorillaBlock encode(List<Point> points) {
+    GorillaBlock block = new GorillaBlock();
+    points.forEach(p -> block.append(p.timestamp(), p.latencyMs(), p.status()));
+    return block;
+  }
+
+  private static List<Point> decode(GorillaBlock block, long from, long to) {
+    List<Point> decoded = new ArrayList<>();
+    block.forEach(from, to, (timestamp, latencyMs, status) -> decoded.add(new Point(timestamp, latencyMs, status)));
+    return decoded;
+  }
+}
@@ -0,0 +1,63 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.recent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.domain.events.HealthCheckEvent.HealthStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RecentHistoryStoreTest {
+
+  private final RecentHistoryStore store = new RecentHistoryStore(
+      new RecentHistoryProperties(true, Duration.ofHours(1), Duration.ofMinutes(10)), new SimpleMeterRegistry());
+
+  @Test
+  void evictsExpiredSeriesAndAcceptsNewPointsAfterwards() {
+    long now = System.currentTimeMillis();
+    store.record("old", now - Duration.ofHours(2).toMillis(), 10, HealthStatus.UP);
+    store.record("live", now, 20, HealthStatus.DOWN);
+
+    store.evictExpired();
+
+    assertThat(store.query("old", 0, Long.MAX_VALUE)).isEmpty();
+    assertThat(store.query("live", 0, Long.MAX_VALUE)).hasSize(1);
+
+    store.record("old", now, 30, HealthStatus.UP);
+    assertThat(store.query("old", 0, Long.MAX_VALUE)).extracting(RecentPoint::latencyMs).containsExactly(30L);
+  }
+
+  @Test
+  void concurrentEvictionDoesNotDropRecordedPoints() throws Exception {
+    long start = System.currentTimeMillis();
+    int points = 20_000;
+    try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+      executor.submit(() -> {
+        for (int i = 0; i < points; i++) {
+          store.record("api", start + i, i, HealthStatus.UP);
+        }
+      });
+      executor.submit(() -> {
+        for (int i = 0; i < 2_000; i++) {
+          store.evictExpired();
+        }
+      });
+    }
+
+    assertThat(store.query("api", 0, Long.MAX_VALUE)).hasSize(points);
+  }
+
+  @Test
+  void outOfOrderPointsAreDiscarded() {
+    long now = System.currentTimeMillis();
+    store.record("api", now, 1, HealthStatus.UP);
+    store.record("api", now - 1, 2, HealthStatus.UP);
+
+    assertThat(store.query("api", 0, Long.MAX_VALUE)).extracting(RecentPoint::latencyMs).containsExactly(1L);
+  }
+}
@@ -0,0 +1,137 @@
+package com.apiwatcher.monitoring.infrastructure.timeseries.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.Test;
+
+import com.apiwatcher.monitoring.infrastructure.timeseries.document.HealthCheckHistory;
+import com.apiwatcher.monitoring.infrastructure.timeseries.retention.HistoryRetentionJob.PruneTarget;
+import com.apiwatcher.monitoring.infrastructure.timeseries.retention.RetentionProperties.Tier;
+
+class HistoryRetentionJobTest {
+
+  private static final long MINUTE = 60_000;
+  private static final long HOUR = 60 * MINUTE;
+  private static final long DAY = 24 * HOUR;
+  // 1m x 60 buckets = chunks de 1h; 1h x 60 buckets = chunks de 60h
+  private static final long CHUNK_1M = HOUR;
+  private static final long CHUNK_1H = 60 * HOUR;
+
+  private static final long NOW = 400 * DAY + 17 * MINUTE;
+
+  private final RetentionProperties properties = properties(List.of(
+      new Tier("1m", Duration.ofMinutes(1), Duration.ofDays(30)),
+      new Tier("1h", Duration.ofHours(1), Duration.ofDays(365))));
+
+  @Test
+  void rawIsNeverPrunedPastFirstTierWatermark() {
+    // Rollup de 1m parado há 10 dias: raw com 7d de retenção espera por ele
+    long lagging = NOW - 10 * DAY;
+
+    List<PruneTarget> targets = HistoryRetentionJob.pruneTargets(properties, NOW,
+        watermarks(Map.of("1m", lagging, "1h", NOW)));
+
+    assertThat(targets.get(0).collection()).isEqualTo(HealthCheckHistory.COLLECTION);
+    assertThat(targets.get(0).cutoff()).isEqualTo(lagging);
+  }
+
+  @Test
+  void retentionBoundsPruneWhenRollupsAreCurrent() {
+    List<PruneTarget> targets = HistoryRetentionJob.pruneTargets(properties, NOW,
+        watermarks(Map.of("1m", NOW - MINUTE, "1h", NOW - HOUR)));
+
+    assertThat(targets).extracting(PruneTarget::collection)
+        .containsExactly(HealthCheckHistory.COLLECTION, "health_checks_1m", "health_checks_1h");
+    assertThat(targets).extracting(PruneTarget::cutoff)
+        .containsExactly(NOW - 7 * DAY, NOW - 30 * DAY, NOW - 365 * DAY);
+  }
+
+  @Test
+  void middleTierIsBoundedByNextTierWatermark() {
+    long lagging = NOW - 45 * DAY;
+
+    List<PruneTarget> targets = HistoryRetentionJob.pruneTargets(properties, NOW,
+        watermarks(Map.of("1m", NOW, "1h", lagging)));
+
+    assertThat(targets.get(1).cutoff()).isEqualTo(lagging);
+    // Última camada: só a retenção
+    assertThat(targets.get(2).cutoff()).isEqualTo(NOW - 365 * DAY);
+  }
+
+  @Test
+  void unknownWatermarkPrunesNothing() {
+    List<PruneTarget> targets = HistoryRetentionJob.pruneTargets(properties, NOW,
+        watermarks(Map.of("1m", -1L, "1h", -1L)));
+
+    // t >= 0 em todos os documentos: remover t < -1 não apaga nada
+    assertThat(targets.get(0).cutoff()).isEqualTo(-1);
+    assertThat(targets.get(1).cutoff()).isEqualTo(-1);
+  }
+
+  @Test
+  void slicesFollowChunkSizeOfEachTier() {
+    List<PruneTarget> targets = HistoryRetentionJob.pruneTargets(properties, NOW,
+        watermarks(Map.of("1m", NOW, "1h", NOW)));
+
+    assertThat(targets).extracting(PruneTarget::slice).containsExactly(CHUNK_1M, CHUNK_1M, CHUNK_1H);
+  }
+
+  @Test
+  void withoutTiersRawIsBoundedOnlyByRetention() {
+    List<PruneTarget> targets = HistoryRetentionJob.pruneTargets(properties(List.of()), NOW, name -> {
+      throw new AssertionError("sem camadas, nenhum watermark deve ser lido");
+    });
+
+    assertThat(targets).singleElement().satisfies(target -> {
+      assertThat(target.cutoff()).isEqualTo(NOW - 7 * DAY);
+      assertThat(target.slice()).isEqualTo(HOUR);
+    });
+  }
+
+  @Test
+  void alignFloorsToChunkStart() {
+    assertThat(HistoryRetentionJob.align(5 * HOUR, CHUNK_1M)).isEqualTo(5 * HOUR);
+    assertThat(HistoryRetentionJob.align(5 * HOUR + 59 * MINUTE, CHUNK_1M)).isEqualTo(5 * HOUR);
+    assertThat(HistoryRetentionJob.align(130 * HOUR, CHUNK_1H)).isEqualTo(120 * HOUR);
+  }
+
+  @Test
+  void skipEmptyJumpsToChunkOfNextData() {
+    long watermark = 10 * HOUR;
+
+    assertThat(HistoryRetentionJob.skipEmpty(watermark, CHUNK_1M, 13 * HOUR + 25 * MINUTE, 20 * HOUR))
+        .isEqualTo(13 * HOUR);
+  }
+
+  @Test
+  void skipEmptyStopsAtCompleteChunks() {
+    long watermark = 10 * HOUR;
+    long completeUntil = 15 * HOUR + 40 * MINUTE;
+
+    // Próximo dado ainda não completo, ou origem sem dados: para no chunk de completeUntil
+    assertThat(HistoryRetentionJob.skipEmpty(watermark, CHUNK_1M, 18 * HOUR, completeUntil)).isEqualTo(15 * HOUR);
+    assertThat(HistoryRetentionJob.skipEmpty(watermark, CHUNK_1M, -1, completeUntil)).isEqualTo(15 * HOUR);
+  }
+
+  @Test
+  void skipEmptyNeverMovesBackwards() {
+    long watermark = 10 * HOUR;
+
+    assertThat(HistoryRetentionJob.skipEmpty(watermark, CHUNK_1M, -1, 9 * HOUR)).isEqualTo(watermark);
+    assertThat(HistoryRetentionJob.skipEmpty(watermark, CHUNK_1M, 10 * HOUR + MINUTE, 20 * HOUR))
+        .isEqualTo(watermark);
+  }
+
+  private static RetentionProperties properties(List<Tier> tiers) {
+    return new RetentionProperties(true, Duration.ofDays(7), Duration.ofMinutes(2), 60, 24, tiers);
+  }
+
+  private static ToLongFunction<String> watermarks(Map<String, Long> values) {
+    return values::get;
+  }
+}
@@ -0,0 +1,181 @@
+package com.apiwatcher.shared.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private final SingleFlight<String, String> flight = new SingleFlight<>();
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void concurrentCallsShareOneLoad() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<String> first = executor.submit(() -> flight.execute("k", () -> {
+      loads.incrementAndGet();
+      started.countDown();
+      await(release);
+      return "valor";
+    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    List<Future<String>> waiters = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      waiters.add(executor.submit(() -> {
+        threads.add(Thread.currentThread());
+        return flight.execute("k", () -> {
+          loads.incrementAndGet();
+          return "outra carga";
+        });
+      }));
+    }
+    awaitParked(threads, 5);
+    assertThat(flight.isInFlight("k")).isTrue();
+    release.countDown();
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("valor");
+    for (Future<String> waiter : waiters) {
+      assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("valor");
+    }
+    assertThat(loads).hasValue(1);
+    assertThat(flight.isInFlight("k")).isFalse();
+  }
+
+  @Test
+  void distinctKeysLoadIndependently() {
+    assertThat(flight.execute("a", () -> "A")).isEqualTo("A");
+    assertThat(flight.execute("b", () -> "B")).isEqualTo("B");
+  }
+
+  @Test
+  void nextCallAfterCompletionLoadsAgain() {
+    AtomicInteger loads = new AtomicInteger();
+
+    flight.execute("k", () -> "v" + loads.incrementAndGet());
+
+    assertThat(flight.execute("k", () -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+  }
+
+  @Test
+  void propagatesRuntimeExceptionToCallerAndWaiters() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<String> first = executor.submit(() -> flight.execute("k", () -> {
+      started.countDown();
+      await(release);
+      throw new IllegalStateException("banco fora");
+    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    Future<String> waiter = executor.submit(() -> {
+      threads.add(Thread.currentThread());
+      return flight.execute("k", () -> "nao usado");
+    });
+    awaitParked(threads, 1);
+    release.countDown();
+
+    for (Future<String> call : List.of(first, waiter)) {
+      assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .cause()
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("banco fora");
+    }
+    // Falha não fica em cache
+    assertThat(flight.isInFlight("k")).isFalse();
+    assertThat(flight.execute("k", () -> "recuperado")).isEqualTo("recuperado");
+  }
+
+  @Test
+  void propagatesErrorUnwrapped() {
+    assertThatThrownBy(() -> flight.execute("k", () -> {
+      throw new OutOfMemoryError("simulado");
+    })).isInstanceOf(OutOfMemoryError.class);
+  }
+
+  @Test
+  void asyncLoadIsSharedWithSyncCallers() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+
+    CompletableFuture<String> async = flight.executeAsync("k", () -> {
+      loads.incrementAndGet();
+      await(release);
+      return "async";
+    }, executor);
+    CompletableFuture<String> second = flight.executeAsync("k", () -> "outra", executor);
+    List<Thread> threads = new CopyOnWriteArrayList<>();
+    Future<String> sync = executor.submit(() -> {
+      threads.add(Thread.currentThread());
+      return flight.execute("k", () -> "sync");
+    });
+    awaitParked(threads, 1);
+    release.countDown();
+
+    assertThat(second).isSameAs(async);
+    assertThat(async.get(5, TimeUnit.SECONDS)).isEqualTo("async");
+    assertThat(sync.get(5, TimeUnit.SECONDS)).isEqualTo("async");
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void rejectedAsyncLoadFailsAndReleasesKey() {
+    ExecutorService closed = Executors.newSingleThreadExecutor();
+    closed.shutdown();
+
+    CompletableFuture<String> call = flight.executeAsync("k", () -> "v", closed);
+
+    assertThat(call).isCompletedExceptionally();
+    assertThatThrownBy(call::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    assertThat(flight.isInFlight("k")).isFalse();
+  }
+
+  /**
+   * Aguarda as threads chegarem ao join() da carga em andamento.
+   */
+  private static void awaitParked(List<Thread> threads, int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (System.currentTimeMillis() < deadline) {
+      if (threads.size() == expected
+          && threads.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+        return;
+      }
+      Thread.sleep(5);
+    }
+    throw new AssertionError("Threads nao aguardaram a carga em andamento");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
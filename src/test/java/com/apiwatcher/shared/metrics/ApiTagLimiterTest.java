@@ -0,0 +1,108 @@
+package com.apiwatcher.shared.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class ApiTagLimiterTest {
+
+  @Test
+  void admitsUpToLimitThenOverflowsToOther() {
+    ApiTagLimiter limiter = new ApiTagLimiter(2);
+
+    assertThat(limiter.tag("a")).isEqualTo("a");
+    assertThat(limiter.tag("b")).isEqualTo("b");
+    assertThat(limiter.tag("c")).isEqualTo(ApiTagLimiter.OTHER);
+    assertThat(limiter.tag("d")).isEqualTo(ApiTagLimiter.OTHER);
+    assertThat(limiter.size()).isEqualTo(2);
+  }
+
+  @Test
+  void admittedApiKeepsItsTag() {
+    ApiTagLimiter limiter = new ApiTagLimiter(1);
+    limiter.tag("a");
+
+    assertThat(limiter.tag("a")).isEqualTo("a");
+    assertThat(limiter.tag("b")).isEqualTo(ApiTagLimiter.OTHER);
+    assertThat(limiter.tag("a")).isEqualTo("a");
+    assertThat(limiter.size()).isEqualTo(1);
+  }
+
+  @Test
+  void releaseFreesSlotForNextApi() {
+    ApiTagLimiter limiter = new ApiTagLimiter(1);
+    limiter.tag("a");
+
+    limiter.release("a");
+
+    assertThat(limiter.size()).isZero();
+    assertThat(limiter.tag("b")).isEqualTo("b");
+  }
+
+  @Test
+  void releasingUnknownOrOverflowedApiDoesNotFreeSlot() {
+    ApiTagLimiter limiter = new ApiTagLimiter(1);
+    limiter.tag("a");
+    limiter.tag("b");
+
+    limiter.release("b");
+    limiter.release("nunca-vista");
+    limiter.release("a");
+    limiter.release("a");
+
+    assertThat(limiter.size()).isZero();
+    assertThat(limiter.tag("c")).isEqualTo("c");
+    assertThat(limiter.tag("d")).isEqualTo(ApiTagLimiter.OTHER);
+  }
+
+  @Test
+  void zeroLimitSendsEveryApiToOther() {
+    ApiTagLimiter limiter = new ApiTagLimiter(0);
+
+    assertThat(limiter.tag("a")).isEqualTo(ApiTagLimiter.OTHER);
+    assertThat(limiter.size()).isZero();
+  }
+
+  @Test
+  void concurrentCallsNeverExceedLimit() throws Exception {
+    ApiTagLimiter limiter = new ApiTagLimiter(50);
+    Set<String> admitted = ConcurrentHashMap.newKeySet();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> calls = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        calls.add(executor.submit(() -> {
+          start.await();
+          // Ids repetidos entre threads: a mesma API não ocupa duas vagas
+          for (int i = 0; i < 200; i++) {
+            String tag = limiter.tag("api-" + i);
+            if (!ApiTagLimiter.OTHER.equals(tag)) {
+              admitted.add(tag);
+            }
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> call : calls) {
+        call.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(admitted).hasSize(50);
+    assertThat(limiter.size()).isEqualTo(50);
+  }
+}
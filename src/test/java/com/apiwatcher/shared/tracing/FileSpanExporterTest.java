@@ -0,0 +1,53 @@
+package com.apiwatcher.shared.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class FileSpanExporterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void writesEverySpanQueuedBeforeClose() throws IOException {
+    Path file = dir.resolve("traces/spans.ndjson");
+    FileSpanExporter exporter = new FileSpanExporter(file, objectMapper, 1_000);
+
+    for (int i = 0; i < 600; i++) {
+      exporter.export(span("trace-" + i));
+    }
+    exporter.close();
+
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(600);
+    assertThat(objectMapper.readValue(lines.get(599), Span.class).traceId()).isEqualTo("trace-599");
+  }
+
+  @Test
+  void appendsToExistingFile() throws IOException {
+    Path file = dir.resolve("spans.ndjson");
+    Files.writeString(file, "{}\n");
+    FileSpanExporter exporter = new FileSpanExporter(file, objectMapper, 10);
+
+    exporter.export(span("t"));
+    exporter.close();
+
+    assertThat(Files.readAllLines(file)).hasSize(2).first().isEqualTo("{}");
+  }
+
+  private static Span span(String traceId) {
+    return new Span(traceId, "probe", 1_700_000_000_000L, 1_500, "probe-1", Map.of("api", "a"));
+  }
+}